@@ -0,0 +1,130 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Compares the servlet stack (port 8080) with the reactive stack (port 8081) under heavy fan-in:
+// many clients posting single deals, plus a few clients streaming NDJSON bulk imports.
+//   docker-compose --profile reactive up --build -d
+//   k6 run -e STACK=servlet  k6/stack-comparison.js
+//   k6 run -e STACK=reactive k6/stack-comparison.js
+// Each run writes k6/stack-<STACK>.json; the reactive run prints the change against the servlet run.
+
+const STACK = __ENV.STACK || 'servlet';
+const BASE_URL = __ENV.BASE_URL || (STACK === 'reactive' ? 'http://localhost:8081' : 'http://localhost:8080');
+const DURATION = __ENV.DURATION || '1m';
+const FAN_IN_USERS = Number(__ENV.FAN_IN_USERS || 1000);
+const BULK_USERS = Number(__ENV.BULK_USERS || 5);
+const BULK_SIZE = Number(__ENV.BULK_SIZE || 5000);
+const CURRENCIES = ['USD', 'EUR', 'GBP', 'JPY', 'CHF', 'CAD', 'AUD'];
+
+let baseline = null;
+if (STACK !== 'servlet') {
+    try {
+        baseline = JSON.parse(open('./stack-servlet.json'));
+    } catch (e) {
+        baseline = null;
+    }
+}
+
+export const options = {
+    scenarios: {
+        fan_in: {
+            executor: 'constant-vus',
+            vus: FAN_IN_USERS,
+            duration: DURATION,
+            exec: 'singleDeal',
+        },
+        bulk: {
+            executor: 'constant-vus',
+            vus: BULK_USERS,
+            duration: DURATION,
+            exec: 'ndjsonBulk',
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:fan_in}': ['p(99)>=0'],
+        'http_reqs{scenario:fan_in}': ['count>=0'],
+        'http_req_failed{scenario:fan_in}': ['rate>=0'],
+        'http_req_duration{scenario:bulk}': ['p(99)>=0'],
+        'http_reqs{scenario:bulk}': ['count>=0'],
+    },
+    summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
+};
+
+function deal(id) {
+    const from = CURRENCIES[Math.floor(Math.random() * CURRENCIES.length)];
+    let to = from;
+    while (to === from) {
+        to = CURRENCIES[Math.floor(Math.random() * CURRENCIES.length)];
+    }
+    return JSON.stringify({
+        dealUniqueId: id,
+        fromCurrencyIsoCode: from,
+        toCurrencyIsoCode: to,
+        dealTimestamp: new Date(Date.now() - 60000).toISOString().replace('Z', ''),
+        dealAmount: Number((Math.random() * 100000 + 1).toFixed(4)),
+    });
+}
+
+export function singleDeal() {
+    const res = http.post(`${BASE_URL}/api/v1/deals`, deal(`ST-${STACK}-${__VU}-${__ITER}-${Date.now()}`), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'single import is 201': (r) => r.status === 201 });
+}
+
+export function ndjsonBulk() {
+    const prefix = `SB-${STACK}-${__VU}-${__ITER}-${Date.now()}`;
+    const lines = [];
+    for (let i = 0; i < BULK_SIZE; i++) {
+        lines.push(deal(`${prefix}-${i}`));
+    }
+    const res = http.post(`${BASE_URL}/api/v1/deals/bulk`, lines.join('\n'), {
+        headers: { 'Content-Type': 'application/x-ndjson', Accept: 'application/x-ndjson' },
+        timeout: '10m',
+    });
+    check(res, { 'bulk import is 201': (r) => r.status === 201 && r.body.includes('"summary"') });
+}
+
+export function handleSummary(data) {
+    const seconds = parseDuration(DURATION);
+    const result = {
+        stack: STACK,
+        fanInDealsPerSecond: metric(data, 'http_reqs{scenario:fan_in}', 'count') / seconds,
+        fanInP99Ms: metric(data, 'http_req_duration{scenario:fan_in}', 'p(99)'),
+        fanInErrorRate: metric(data, 'http_req_failed{scenario:fan_in}', 'rate'),
+        bulkDealsPerSecond: (metric(data, 'http_reqs{scenario:bulk}', 'count') * BULK_SIZE) / seconds,
+        bulkP99Ms: metric(data, 'http_req_duration{scenario:bulk}', 'p(99)'),
+    };
+    let out = `\nStack: ${STACK} (${FAN_IN_USERS} single-deal users, ${BULK_USERS} x ${BULK_SIZE}-deal bulk users)\n`;
+    [
+        ['fan-in deals/s', 'fanInDealsPerSecond'],
+        ['fan-in p99 ms', 'fanInP99Ms'],
+        ['fan-in errors', 'fanInErrorRate'],
+        ['bulk deals/s', 'bulkDealsPerSecond'],
+        ['bulk p99 ms', 'bulkP99Ms'],
+    ].forEach(([label, key]) => {
+        out += `${label.padEnd(16)} ${result[key].toFixed(2).padStart(12)}`;
+        if (baseline && baseline[key]) {
+            const percent = ((result[key] - baseline[key]) / baseline[key]) * 100;
+            out += `   servlet ${baseline[key].toFixed(2).padStart(12)}   ${percent >= 0 ? '+' : ''}${percent.toFixed(1)}%`;
+        }
+        out += '\n';
+    });
+    return {
+        [`k6/stack-${STACK}.json`]: JSON.stringify(result, null, 2),
+        stdout: out,
+    };
+}
+
+function metric(data, name, stat) {
+    const m = data.metrics[name];
+    return m && m.values[stat] !== undefined ? m.values[stat] : 0;
+}
+
+function parseDuration(duration) {
+    const match = /^(\d+)(s|m)$/.exec(duration);
+    if (!match) {
+        throw new Error(`DURATION must look like 30s or 2m, got ${duration}`);
+    }
+    return Number(match[1]) * (match[2] === 'm' ? 60 : 1);
+}
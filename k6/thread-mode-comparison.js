@@ -0,0 +1,143 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+// Compares platform-thread and virtual-thread request handling at 50, 500 and 5000 concurrent users.
+// Run once per mode against a freshly started application:
+//   k6 run -e MODE=platform k6/thread-mode-comparison.js
+//   k6 run -e MODE=virtual  k6/thread-mode-comparison.js
+// Each run writes k6/thread-mode-<MODE>.json; the virtual run prints a side-by-side table when the
+// platform result exists.
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const STAGE_DURATION = __ENV.STAGE_DURATION || '1m';
+const STAGE_SECONDS = parseDuration(STAGE_DURATION);
+const PAUSE_SECONDS = 15;
+const USER_LEVELS = [50, 500, 5000];
+
+let baseline = null;
+if (MODE !== 'platform') {
+    try {
+        baseline = JSON.parse(open('./thread-mode-platform.json'));
+    } catch (e) {
+        baseline = null;
+    }
+}
+
+const scenarios = {};
+const thresholds = {};
+USER_LEVELS.forEach((users, i) => {
+    const name = `users_${users}`;
+    scenarios[name] = {
+        executor: 'constant-vus',
+        vus: users,
+        duration: STAGE_DURATION,
+        startTime: `${i * (STAGE_SECONDS + PAUSE_SECONDS)}s`,
+        gracefulStop: '10s',
+        tags: { users: String(users) },
+    };
+    // Thresholds on tagged sub-metrics make k6 report them per scenario
+    thresholds[`http_req_duration{scenario:${name}}`] = ['p(99)>=0'];
+    thresholds[`http_reqs{scenario:${name}}`] = ['count>=0'];
+    thresholds[`http_req_failed{scenario:${name}}`] = ['rate>=0'];
+});
+
+export const options = {
+    scenarios,
+    thresholds,
+    summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
+};
+
+const CURRENCIES = ['USD', 'EUR', 'GBP', 'JPY', 'CHF', 'CAD', 'AUD'];
+
+function randomDeal() {
+    const from = CURRENCIES[Math.floor(Math.random() * CURRENCIES.length)];
+    let to = from;
+    while (to === from) {
+        to = CURRENCIES[Math.floor(Math.random() * CURRENCIES.length)];
+    }
+    return {
+        dealUniqueId: `VT-${MODE}-${__VU}-${__ITER}-${Date.now()}`,
+        fromCurrencyIsoCode: from,
+        toCurrencyIsoCode: to,
+        dealTimestamp: new Date(Date.now() - 60000).toISOString().replace('Z', ''),
+        dealAmount: Number((Math.random() * 100000 + 1).toFixed(4)),
+    };
+}
+
+// Both requests spend most of their time waiting on JDBC, which is where the thread model matters
+export default function () {
+    const imported = http.post(`${BASE_URL}/api/v1/deals`, JSON.stringify(randomDeal()), {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { name: 'import' },
+    });
+    check(imported, { 'import status is 201': (r) => r.status === 201 });
+
+    const page = http.get(`${BASE_URL}/api/v1/deals?fromCurrency=USD&toCurrency=EUR&limit=50`, {
+        tags: { name: 'list' },
+    });
+    check(page, { 'list status is 200': (r) => r.status === 200 });
+
+    sleep(0.2);
+}
+
+export function handleSummary(data) {
+    const result = { mode: MODE, stageSeconds: STAGE_SECONDS, levels: {} };
+    USER_LEVELS.forEach((users) => {
+        const name = `users_${users}`;
+        const requests = metric(data, `http_reqs{scenario:${name}}`, 'count');
+        result.levels[users] = {
+            requestsPerSecond: requests / STAGE_SECONDS,
+            p99Ms: metric(data, `http_req_duration{scenario:${name}}`, 'p(99)'),
+            errorRate: metric(data, `http_req_failed{scenario:${name}}`, 'rate'),
+        };
+    });
+    return {
+        [`k6/thread-mode-${MODE}.json`]: JSON.stringify(result, null, 2),
+        stdout: table(result, baseline),
+    };
+}
+
+function metric(data, name, stat) {
+    const m = data.metrics[name];
+    return m && m.values[stat] !== undefined ? m.values[stat] : 0;
+}
+
+function table(result, base) {
+    let out = `\nThread mode: ${result.mode} (${result.stageSeconds}s per level)\n`;
+    out += 'users  |   req/s |  p99 ms | errors';
+    out += base ? ` || ${base.mode} req/s | ${base.mode} p99 ms | req/s change | p99 change\n` : '\n';
+    USER_LEVELS.forEach((users) => {
+        const r = result.levels[users];
+        out += `${pad(users, 6)} | ${pad(r.requestsPerSecond.toFixed(1), 7)} | ${pad(r.p99Ms.toFixed(0), 7)} | `
+            + `${pad((r.errorRate * 100).toFixed(2) + '%', 6)}`;
+        const b = base && base.levels[users];
+        if (b) {
+            out += ` || ${pad(b.requestsPerSecond.toFixed(1), 14)} | ${pad(b.p99Ms.toFixed(0), 15)} | `
+                + `${pad(change(r.requestsPerSecond, b.requestsPerSecond), 12)} | ${pad(change(r.p99Ms, b.p99Ms), 10)}`;
+        }
+        out += '\n';
+    });
+    return out;
+}
+
+function change(value, reference) {
+    if (!reference) {
+        return 'n/a';
+    }
+    const percent = ((value - reference) / reference) * 100;
+    return `${percent >= 0 ? '+' : ''}${percent.toFixed(1)}%`;
+}
+
+function pad(value, width) {
+    const s = String(value);
+    return s.length >= width ? s : ' '.repeat(width - s.length) + s;
+}
+
+function parseDuration(duration) {
+    const match = /^(\d+)(s|m)$/.exec(duration);
+    if (!match) {
+        throw new Error(`STAGE_DURATION must look like 30s or 2m, got ${duration}`);
+    }
+    return Number(match[1]) * (match[2] === 'm' ? 60 : 1);
+}
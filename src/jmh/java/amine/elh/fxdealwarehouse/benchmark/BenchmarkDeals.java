@@ -0,0 +1,40 @@
+package amine.elh.fxdealwarehouse.benchmark;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Valid, distinct deal requests for the benchmarks, cycling through a few currency pairs.
+ */
+public final class BenchmarkDeals {
+
+    private static final String[][] PAIRS = {
+            {"USD", "EUR"}, {"EUR", "GBP"}, {"GBP", "JPY"}, {"USD", "CHF"}, {"AUD", "NZD"}
+    };
+
+    private BenchmarkDeals() {
+    }
+
+    public static FxDealRequest deal(String dealUniqueId, int i) {
+        String[] pair = PAIRS[i % PAIRS.length];
+        return FxDealRequest.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode(pair[0])
+                .toCurrencyIsoCode(pair[1])
+                .dealTimestamp(LocalDateTime.now().minusMinutes(5))
+                .dealAmount(BigDecimal.valueOf(100_000L + i, 2))
+                .build();
+    }
+
+    public static List<FxDealRequest> deals(String idPrefix, int count) {
+        List<FxDealRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(deal(idPrefix + i, i));
+        }
+        return requests;
+    }
+}
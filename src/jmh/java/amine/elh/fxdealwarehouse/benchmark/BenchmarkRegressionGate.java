@@ -0,0 +1,100 @@
+package amine.elh.fxdealwarehouse.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with a baseline result and exits non-zero when any benchmark present
+ * in both lost more than the allowed percentage of throughput. Time-per-operation scores (such as
+ * {@code SingleShotTime}) are compared as their inverse, so a slower run always counts as a drop.
+ * A missing baseline fails the check unless {@code -Dbenchmark.baseline.skip=true} is set, so a run
+ * cannot pass without comparing anything; record one by copying a trusted result over it.
+ * <p>
+ * Usage: {@code BenchmarkRegressionGate <baseline.json> <result.json> <max-drop-percent>}
+ */
+public final class BenchmarkRegressionGate {
+
+    private BenchmarkRegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BenchmarkRegressionGate <baseline.json> <result.json> <max-drop-percent>");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double maxDropPercent = Double.parseDouble(args[2]);
+
+        if (!Files.exists(baselineFile)) {
+            if (Boolean.getBoolean("benchmark.baseline.skip")) {
+                System.out.println("No benchmark baseline at " + baselineFile + "; skipping regression check");
+                return;
+            }
+            System.err.println("No benchmark baseline at " + baselineFile + "; copy a trusted result there,"
+                    + " or pass -Dbenchmark.baseline.skip=true to run without the regression check");
+            System.exit(1);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> result = index(objectMapper.readTree(resultFile.toFile()));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW   %s%n", entry.getKey());
+                continue;
+            }
+            double dropPercent = throughputDropPercent(before, entry.getValue());
+            boolean regressed = dropPercent > maxDropPercent;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%s %s: %+.1f%% throughput%n",
+                    regressed ? "FAIL " : "OK   ", entry.getKey(), -dropPercent);
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) lost more than %.1f%% throughput against %s%n",
+                    regressions, maxDropPercent, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    private static double throughputDropPercent(JsonNode before, JsonNode after) {
+        double baselineScore = before.path("primaryMetric").path("score").asDouble();
+        double score = after.path("primaryMetric").path("score").asDouble();
+        boolean timePerOperation = after.path("primaryMetric").path("scoreUnit").asText().endsWith("/op");
+        double relativeThroughput = timePerOperation ? baselineScore / score : score / baselineScore;
+        return (1 - relativeThroughput) * 100;
+    }
+
+    /**
+     * Keys every run by benchmark method, mode and parameters, e.g.
+     * {@code ...DealImportBenchmark.bulkImport ss {database=h2, size=100}}.
+     */
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            String key = run.path("benchmark").asText() + " " + run.path("mode").asText();
+            byKey.put(params.isEmpty() ? key : key + " " + params, run);
+        }
+        return byKey;
+    }
+}
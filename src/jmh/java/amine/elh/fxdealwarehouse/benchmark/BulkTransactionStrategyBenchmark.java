@@ -0,0 +1,127 @@
+package amine.elh.fxdealwarehouse.benchmark;
+
+import amine.elh.fxdealwarehouse.FxDealWarehouseApplication;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of {@code size} deals under each {@code fxdeal.import.transaction-strategy}. With
+ * {@code conflictPercent > 0} that share of the ids is stored directly through JDBC before the
+ * import, as a concurrent writer would, so the id filter misses them and the write path has to
+ * deal with the constraint violation: chunks are retried under savepoints, per-deal imports report
+ * duplicates, and all-or-nothing imports roll back entirely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BulkTransactionStrategyBenchmark {
+
+    private static final String CONFLICT = "INSERT INTO fx_deals "
+            + "(id, deal_unique_id, from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount, imported_at) "
+            + "SELECT nextval('fx_deals_seq'), ?, ?, ?, ?, ?, ?";
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"PER_DEAL", "CHUNK", "ALL_OR_NOTHING"})
+    public String strategy;
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"0", "1"})
+    public int conflictPercent;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private FxDealService service;
+    private JdbcTemplate jdbcTemplate;
+    private String truncate;
+    private int invocation;
+    private List<FxDealRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(FxDealWarehouseApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "fxdeal.import.transaction-strategy=" + strategy);
+        if (database.equals("postgres")) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgres.start();
+            application.properties(
+                    "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword());
+            truncate = "TRUNCATE fx_deals, fx_deal_ids";
+        } else {
+            application.profiles("test");
+            truncate = "TRUNCATE TABLE fx_deals";
+        }
+        context = application.run();
+        service = context.getBean(FxDealService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareDeals() {
+        jdbcTemplate.execute(truncate);
+        requests = BenchmarkDeals.deals("TXBENCH-" + invocation++ + "-", size);
+        if (conflictPercent > 0) {
+            List<Object[]> conflicts = new ArrayList<>();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < size; i += 100 / conflictPercent) {
+                FxDealRequest request = requests.get(i);
+                conflicts.add(new Object[]{request.getDealUniqueId(), request.getFromCurrencyIsoCode(),
+                        request.getToCurrencyIsoCode(), Timestamp.valueOf(request.getDealTimestamp()),
+                        request.getDealAmount(), now});
+            }
+            jdbcTemplate.batchUpdate(CONFLICT, conflicts);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public BulkImportResult bulkImport() {
+        return service.bulkImport(requests);
+    }
+}
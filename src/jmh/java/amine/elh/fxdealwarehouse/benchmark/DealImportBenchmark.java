@@ -0,0 +1,111 @@
+package amine.elh.fxdealwarehouse.benchmark;
+
+import amine.elh.fxdealwarehouse.FxDealWarehouseApplication;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end import cost through {@link FxDealService}, one deal at a time and as one bulk request,
+ * against the embedded H2 used by the tests and against PostgreSQL in a Testcontainers container.
+ * Each invocation imports {@code size} fresh deals into an emptied table, so the score is the time
+ * for the whole batch. The 1M sizes take minutes per invocation; narrow them with {@code -p size=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DealImportBenchmark {
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"1", "100", "10000", "1000000"})
+    public int size;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private FxDealService service;
+    private JdbcTemplate jdbcTemplate;
+    private String truncate;
+    private int invocation;
+    private List<FxDealRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(FxDealWarehouseApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        if (database.equals("postgres")) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgres.start();
+            application.properties(
+                    "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword());
+            truncate = "TRUNCATE fx_deals, fx_deal_ids";
+        } else {
+            application.profiles("test");
+            truncate = "TRUNCATE TABLE fx_deals";
+        }
+        context = application.run();
+        service = context.getBean(FxDealService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareDeals() {
+        jdbcTemplate.execute(truncate);
+        requests = BenchmarkDeals.deals("BENCH-" + invocation++ + "-", size);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public void importOneByOne(Blackhole blackhole) {
+        for (FxDealRequest request : requests) {
+            FxDeal deal = service.importDeal(request);
+            blackhole.consume(deal);
+        }
+    }
+
+    @Benchmark
+    public BulkImportResult bulkImport() {
+        return service.bulkImport(requests);
+    }
+}
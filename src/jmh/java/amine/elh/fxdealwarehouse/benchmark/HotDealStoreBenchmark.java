@@ -0,0 +1,100 @@
+package amine.elh.fxdealwarehouse.benchmark;
+
+import amine.elh.fxdealwarehouse.FxDealWarehouseApplication;
+import amine.elh.fxdealwarehouse.dto.DealPage;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.service.DealRollupService;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads over {@code size} recent deals on PostgreSQL with the hot store on and off: a 100-deal page
+ * of one currency pair, and its hourly volume over the last six hours (from the rollups when the
+ * store is off). PostgreSQL only, since the rollups do not exist on H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HotDealStoreBenchmark {
+
+    @Param({"true", "false"})
+    public boolean hotStore;
+
+    @Param({"100000"})
+    public int size;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private FxDealService service;
+    private DealRollupService rollupService;
+    private DealQuery pageQuery;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(FxDealWarehouseApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "fxdeal.hot-store.enabled=" + hotStore)
+                .run();
+        service = context.getBean(FxDealService.class);
+        rollupService = context.getBean(DealRollupService.class);
+
+        service.bulkImport(BenchmarkDeals.deals("HOTBENCH-", size));
+        rollupService.foldPending();
+        pageQuery = DealQuery.builder()
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .start(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public DealPage recentPage() {
+        return service.getDeals(pageQuery, null, 100);
+    }
+
+    @Benchmark
+    public List<VolumeBucket> recentHourlyVolume() {
+        LocalDateTime now = LocalDateTime.now();
+        return rollupService.getVolume(Granularity.HOUR, "USD", "EUR", now.minusHours(6), now);
+    }
+}
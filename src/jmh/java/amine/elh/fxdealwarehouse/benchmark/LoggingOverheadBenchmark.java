@@ -0,0 +1,153 @@
+package amine.elh.fxdealwarehouse.benchmark;
+
+import amine.elh.fxdealwarehouse.FxDealWarehouseApplication;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import throughput under each logging setup, against {@code off} as the baseline:
+ * <ul>
+ *     <li>{@code verbose}: the former defaults, every SQL statement and bound parameter plus the
+ *     per-deal lines, written synchronously to console and file</li>
+ *     <li>{@code sync}: the current defaults, SQL tracing off, every single-deal outcome logged</li>
+ *     <li>{@code async}: the {@code async-logging} profile, non-blocking appenders and one
+ *     single-deal line in a thousand</li>
+ * </ul>
+ * Logging settings are passed as command-line arguments so they win over the profile files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoggingOverheadBenchmark {
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"off", "verbose", "sync", "async"})
+    public String logging;
+
+    @Param({"10000"})
+    public int size;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private FxDealService service;
+    private JdbcTemplate jdbcTemplate;
+    private String truncate;
+    private int invocation;
+    private List<FxDealRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(FxDealWarehouseApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off");
+        List<String> profiles = new ArrayList<>();
+        if (database.equals("postgres")) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgres.start();
+            application.properties(
+                    "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword());
+            truncate = "TRUNCATE fx_deals, fx_deal_ids";
+        } else {
+            profiles.add("test");
+            truncate = "TRUNCATE TABLE fx_deals";
+        }
+        if (logging.equals("async")) {
+            profiles.add("async-logging");
+        }
+        context = application.profiles(profiles.toArray(String[]::new)).run(loggingArguments());
+        service = context.getBean(FxDealService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    private String[] loggingArguments() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--logging.file.name=target/benchmark-logs/" + logging + ".log"));
+        switch (logging) {
+            case "off" -> arguments.addAll(List.of(
+                    "--logging.level.root=OFF",
+                    "--logging.level.amine.elh.fxdealwarehouse=OFF",
+                    "--logging.level.org.hibernate.SQL=OFF",
+                    "--logging.level.org.hibernate.orm.jdbc.bind=OFF",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF"));
+            case "verbose" -> arguments.addAll(List.of(
+                    "--logging.level.amine.elh.fxdealwarehouse=INFO",
+                    "--logging.level.org.hibernate.SQL=DEBUG",
+                    "--logging.level.org.hibernate.orm.jdbc.bind=TRACE",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=TRACE",
+                    "--fxdeal.logging.sample-every=1"));
+            case "sync" -> arguments.addAll(List.of(
+                    "--logging.level.amine.elh.fxdealwarehouse=INFO",
+                    "--logging.level.org.hibernate.SQL=INFO",
+                    "--logging.level.org.hibernate.orm.jdbc.bind=INFO",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                    "--fxdeal.logging.sample-every=1"));
+            case "async" -> arguments.addAll(List.of(
+                    "--logging.level.amine.elh.fxdealwarehouse=INFO",
+                    "--logging.level.org.hibernate.SQL=WARN",
+                    "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+            default -> throw new IllegalArgumentException("Unknown logging setup: " + logging);
+        }
+        return arguments.toArray(String[]::new);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareDeals() {
+        jdbcTemplate.execute(truncate);
+        requests = BenchmarkDeals.deals("LOGBENCH-" + invocation++ + "-", size);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public void importOneByOne(Blackhole blackhole) {
+        for (FxDealRequest request : requests) {
+            FxDeal deal = service.importDeal(request);
+            blackhole.consume(deal);
+        }
+    }
+
+    @Benchmark
+    public BulkImportResult bulkImport() {
+        return service.bulkImport(requests);
+    }
+}
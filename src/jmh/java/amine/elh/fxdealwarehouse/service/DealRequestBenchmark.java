@@ -0,0 +1,99 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.benchmark.BenchmarkDeals;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-deal CPU cost of the import path before the database: JSON binding, validation and mapping to
+ * the entity. {@code requestValidation} is the hand-written check the bulk paths use and
+ * {@code beanValidation} the annotation-based one it replaces. Lives in the service package because
+ * {@link FxDealMapper} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealRequestBenchmark {
+
+    private final FxDealValidator validator = new FxDealValidator();
+    private final FxDealRequestValidator requestValidator = new FxDealRequestValidator(validator,
+            new DealImportMetrics(new SimpleMeterRegistry(), validator));
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+
+    private FxDealRequest request;
+    private ObjectReader requestReader;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = BenchmarkDeals.deal("BENCH-1", 1);
+        requestReader = objectMapper.readerFor(FxDealRequest.class);
+        requestJson = objectMapper.writeValueAsBytes(request);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public FxDealRequest deserialize() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public FxDealRequest validate() {
+        validator.validate(request);
+        return request;
+    }
+
+    @Benchmark
+    public String requestValidation() {
+        return requestValidator.rejectionReason(request);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<FxDealRequest>> beanValidation() {
+        return beanValidator.validate(request);
+    }
+
+    @Benchmark
+    public FxDeal map() {
+        return FxDealMapper.toEntity(request);
+    }
+}
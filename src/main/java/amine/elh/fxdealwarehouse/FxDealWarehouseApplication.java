@@ -2,8 +2,13 @@ package amine.elh.fxdealwarehouse;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// A ConnectionFactory bean would make Boot back off the JDBC DataSource that JPA and Flyway need;
+// the reactive profile builds its own pool instead (see ReactiveStackConfig)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class FxDealWarehouseApplication {
 
     public static void main(String[] args) {
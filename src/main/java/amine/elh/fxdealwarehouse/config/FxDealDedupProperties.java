@@ -0,0 +1,24 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.dedup")
+public class FxDealDedupProperties {
+
+    /**
+     * Whether the in-memory id filter is consulted before the duplicate lookup queries.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of deal ids the first filter stage is sized for; the filter grows beyond it.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Target rate of "maybe present" answers for ids that were never stored.
+     */
+    private double falsePositiveRate = 0.01;
+}
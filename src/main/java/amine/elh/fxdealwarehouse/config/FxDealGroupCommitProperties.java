@@ -0,0 +1,41 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.group-commit")
+public class FxDealGroupCommitProperties {
+
+    /**
+     * Whether single-deal imports are buffered and committed in groups instead of one transaction each.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Deals waiting for the flusher at most; further requests wait up to {@code enqueueTimeout} for room.
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * Deals written per transaction at most.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Longest a deal waits for its batch to fill before the batch is written anyway.
+     */
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    /**
+     * How long a request waits for room in a full buffer before it is rejected with 503.
+     */
+    private Duration enqueueTimeout = Duration.ofMillis(100);
+
+    /**
+     * How long a request waits for its batch to commit before it is answered with 503.
+     */
+    private Duration ackTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,35 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.hot-store")
+public class FxDealHotStoreProperties {
+
+    /**
+     * Whether recent deals are kept in memory and listings and volume queries over them are served
+     * without the database. Off by default: only enable it when this is the only instance writing
+     * deals, see {@code HotDealStore}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How far back from now, by deal timestamp, deals are kept in memory.
+     */
+    private Duration window = Duration.ofHours(24);
+
+    /**
+     * Most deals held in memory (roughly 60 bytes each plus the id string). When full, the oldest
+     * deals are dropped and the window covered shrinks accordingly.
+     */
+    private int maxDeals = 2_000_000;
+
+    /**
+     * How often deals that left the window are dropped, and a store that lost track of the
+     * database is reloaded.
+     */
+    private Duration maintenanceInterval = Duration.ofMinutes(1);
+}
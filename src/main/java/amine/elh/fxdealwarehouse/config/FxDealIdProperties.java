@@ -0,0 +1,15 @@
+package amine.elh.fxdealwarehouse.config;
+
+import amine.elh.fxdealwarehouse.model.id.PooledDealIdGenerator;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.id")
+public class FxDealIdProperties {
+
+    /**
+     * Ids handed out per sequence call. Must match the INCREMENT BY of fx_deals_seq.
+     */
+    private int allocationSize = PooledDealIdGenerator.DEFAULT_ALLOCATION_SIZE;
+}
@@ -0,0 +1,27 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.idempotency")
+public class FxDealIdempotencyProperties {
+
+    /**
+     * How long a retry with the same {@code Idempotency-Key} gets the original response back. Older
+     * keys are purged; a retry after that is treated as a new request.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * Most recent keys kept in memory with their deal, so that retries need no database access.
+     */
+    private int cachedKeys = 100_000;
+
+    /**
+     * How often keys past their retention are deleted.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,27 @@
+package amine.elh.fxdealwarehouse.config;
+
+import amine.elh.fxdealwarehouse.service.BulkDealImporter.TransactionStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.import")
+public class FxDealImportProperties {
+
+    /**
+     * Number of deals resolved and written per round trip / transaction by the bulk importer.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Transaction boundaries of bulk, streaming and NDJSON imports: {@code per-deal}, {@code chunk}
+     * (savepoint retry when a chunk fails) or {@code all-or-nothing}.
+     */
+    private TransactionStrategy transactionStrategy = TransactionStrategy.CHUNK;
+
+    /**
+     * Default response of {@code POST /bulk} when the request has no {@code compact} parameter:
+     * {@code false} echoes every persisted deal, {@code true} returns counts and rejections only.
+     */
+    private boolean compactBulkResponse = false;
+}
@@ -0,0 +1,20 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.jobs")
+public class FxDealJobProperties {
+
+    /**
+     * Number of import jobs processed at the same time; further jobs wait in {@code import_jobs}.
+     */
+    private int workers = 2;
+
+    /**
+     * Directory holding the submitted deals of unfinished jobs, one NDJSON file per job. Must survive
+     * restarts for jobs to resume.
+     */
+    private String spoolDir = "data/import-jobs";
+}
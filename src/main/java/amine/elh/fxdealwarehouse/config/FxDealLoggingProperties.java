@@ -0,0 +1,28 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.logging")
+public class FxDealLoggingProperties {
+
+    /**
+     * Log the outcome of one single-deal import in this many; {@code 1} logs every deal.
+     */
+    private int sampleEvery = 1;
+
+    /**
+     * How often the counts of single-deal imports since the last summary are logged as one line.
+     */
+    private Duration summaryInterval = Duration.ofMinutes(1);
+
+    /**
+     * Events the asynchronous appenders of the {@code async-logging} profile hold at most (read by
+     * {@code logback-spring.xml}). Once it is full, further events are dropped rather than blocking
+     * the request thread.
+     */
+    private int asyncQueueSize = 8192;
+}
@@ -0,0 +1,21 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.lookup-cache")
+public class FxDealLookupCacheProperties {
+
+    /**
+     * Whether deals looked up by {@code dealUniqueId} are served from an in-process cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Estimated heap the cached deals may use, roughly 500 bytes per deal. Past it, the deals least
+     * likely to be looked up again are evicted.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+}
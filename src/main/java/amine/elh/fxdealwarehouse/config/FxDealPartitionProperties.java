@@ -0,0 +1,29 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.partitioning")
+public class FxDealPartitionProperties {
+
+    /**
+     * Whether monthly partitions of {@code fx_deals} are maintained. Requires the PostgreSQL schema.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of months beyond the current one that always have a partition.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Months of deals to keep, counting the current month; older partitions expire. 0 keeps everything.
+     */
+    private int retentionMonths = 0;
+
+    /**
+     * Drop expired partitions; when false they are only detached and left as standalone tables.
+     */
+    private boolean dropExpired = true;
+}
@@ -0,0 +1,19 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.query")
+public class FxDealQueryProperties {
+
+    /**
+     * Deals returned by {@code GET /api/v1/deals} when the client does not pass {@code limit}.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Upper bound for {@code limit}; larger reads should use the streaming export.
+     */
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,15 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.reactive")
+public class FxDealReactiveProperties {
+
+    /**
+     * Inserts of one chunk in flight at the same time on the reactive stack. Values above the R2DBC
+     * pool size only queue for connections.
+     */
+    private int insertConcurrency = 10;
+}
@@ -0,0 +1,31 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "fxdeal.rollups")
+public class FxDealRollupProperties {
+
+    /**
+     * Whether pending deltas are folded into {@code fx_deal_rollups}. Requires the PostgreSQL schema (see V6).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Pause between two folds; the endpoint stays exact in between, it only reads more delta rows.
+     */
+    private Duration foldInterval = Duration.ofSeconds(5);
+
+    /**
+     * Delta rows folded per transaction; a fold continues with further transactions until none are left.
+     */
+    private int foldBatchSize = 50_000;
+
+    /**
+     * Buckets one analytics query may span at most; the default covers two weeks of minute buckets.
+     */
+    private int maxBuckets = 20_160;
+}
@@ -0,0 +1,16 @@
+package amine.elh.fxdealwarehouse.config;
+
+import amine.elh.fxdealwarehouse.model.id.PooledDealIdGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer dealIdAllocationSizeCustomizer(FxDealIdProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(
+                PooledDealIdGenerator.ALLOCATION_SIZE_SETTING, properties.getAllocationSize());
+    }
+}
@@ -0,0 +1,60 @@
+package amine.elh.fxdealwarehouse.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Infrastructure of the {@code reactive} profile: Netty instead of Tomcat (both are on the classpath
+ * and Boot would otherwise pick Tomcat's reactive adapter) and an R2DBC pool from
+ * {@code spring.r2dbc.*}. The pool is deliberately not a {@link ConnectionFactory} bean, so the JDBC
+ * DataSource used by Flyway, JPA and the background jobs stays in place next to it.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveStackConfig {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(R2dbcProperties properties) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        if (StringUtils.hasText(properties.getUsername())) {
+            builder = builder.username(properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            builder = builder.password(properties.getPassword());
+        }
+        R2dbcProperties.Pool pool = properties.getPool();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(builder.build())
+                .name("fxdeal-r2dbc-pool")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closePool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package amine.elh.fxdealwarehouse.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs at startup whether requests run on virtual or platform threads, so load test results can be
+ * matched to the mode, and warns when virtual threads were requested on a runtime without them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ThreadingModeReporter {
+
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests on virtual threads; concurrent database work is bounded by the "
+                    + "Hikari pool ({} connections)", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads were requested but need Java 21+ (running {}); serving requests on platform threads",
+                    Runtime.version().feature());
+        } else {
+            log.info("Serving requests on platform threads");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package amine.elh.fxdealwarehouse.controller;
+
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.exception.InvalidQueryException;
+import amine.elh.fxdealwarehouse.service.DealRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deal volume per currency pair and time bucket, read from the pre-aggregated rollups instead of
+ * scanning {@code fx_deals}.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class DealAnalyticsController {
+
+    private final DealRollupService rollupService;
+
+    @GetMapping("/volume")
+    public ResponseEntity<List<VolumeBucket>> getVolume(
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) String fromCurrency,
+            @RequestParam(required = false) String toCurrency,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        Granularity bucket = granularity(granularity);
+        log.debug("Fetching {} volume of {}/{} in [{}, {})", bucket, fromCurrency, toCurrency, start, end);
+        return ResponseEntity.ok(rollupService.getVolume(bucket,
+                fromCurrency != null ? fromCurrency.toUpperCase(Locale.ROOT) : null,
+                toCurrency != null ? toCurrency.toUpperCase(Locale.ROOT) : null,
+                start, end));
+    }
+
+    private static Granularity granularity(String value) {
+        try {
+            return Granularity.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid granularity '" + value + "': expected minute, hour or day");
+        }
+    }
+}
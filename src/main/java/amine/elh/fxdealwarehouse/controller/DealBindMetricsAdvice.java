@@ -0,0 +1,54 @@
+package amine.elh.fxdealwarehouse.controller;
+
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Times the JSON binding of {@code @RequestBody} deals on {@link FxDealController}. The streaming
+ * endpoints read the body themselves and time each element in their readers.
+ */
+@ControllerAdvice(assignableTypes = FxDealController.class)
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class DealBindMetricsAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String BIND_STARTED = DealBindMetricsAdvice.class.getName() + ".started";
+
+    private final DealImportMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(BIND_STARTED, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Object started = RequestContextHolder.currentRequestAttributes()
+                .getAttribute(BIND_STARTED, RequestAttributes.SCOPE_REQUEST);
+        if (started != null) {
+            metrics.record(Stage.BIND, (Long) started);
+        }
+        return body;
+    }
+}
@@ -1,45 +1,214 @@
 package amine.elh.fxdealwarehouse.controller;
 
 
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.config.FxDealQueryProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportReport;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.CopyImportResult;
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealPage;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
 import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.exception.InvalidQueryException;
 import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.DealGroupCommitter;
 import amine.elh.fxdealwarehouse.service.FxDealService;
+import amine.elh.fxdealwarehouse.service.IdempotentDealImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/deals")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class FxDealController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final FxDealService fxDealService;
+    private final DealGroupCommitter groupCommitter;
+    private final ObjectMapper objectMapper;
+    private final FxDealImportProperties importProperties;
+    private final FxDealQueryProperties queryProperties;
+    private final IdempotentDealImporter idempotentImporter;
 
+    /**
+     * With an {@code Idempotency-Key} header, a retry of the same deal returns the original
+     * {@code 201} response with {@code Idempotent-Replayed: true}; the same key with another deal
+     * returns {@code 422}. Keyed requests bypass the group commit.
+     */
     @PostMapping
-    public ResponseEntity<FxDeal> importDeal(@Valid @RequestBody FxDealRequest request) {
-        log.info("Received request to import deal: {}", request.getDealUniqueId());
-        FxDeal deal = fxDealService.importDeal(request);
+    public ResponseEntity<FxDeal> importDeal(
+            @Valid @RequestBody FxDealRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Received request to import deal: {}", request.getDealUniqueId());
+        if (idempotencyKey != null) {
+            IdempotentDealImporter.Result result = idempotentImporter.importDeal(idempotencyKey, request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(result.deal());
+        }
+        FxDeal deal = groupCommitter.isEnabled()
+                ? groupCommitter.importDeal(request)
+                : fxDealService.importDeal(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(deal);
     }
 
+    /**
+     * Imports a JSON array of deals. By default the body is the list of persisted deals; with
+     * {@code compact=true} it is a {@link BulkImportReport} of counts and rejected deals, plus the
+     * accepted ids when {@code includeAccepted=true}.
+     */
     @PostMapping("/bulk")
-    public ResponseEntity<List<FxDeal>> importDeals(
-             @RequestBody List<FxDealRequest> requests) {
+    public ResponseEntity<?> importDeals(
+             @RequestBody List<FxDealRequest> requests,
+             @RequestParam(required = false) Boolean compact,
+             @RequestParam(defaultValue = "false") boolean includeAccepted) {
         log.info("Received bulk import request for {} deals", requests.size());
+        if (compact != null ? compact : importProperties.isCompactBulkResponse()) {
+            BulkImportReport report = fxDealService.bulkImportReport(requests, includeAccepted);
+            return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        }
         List<FxDeal> deals = fxDealService.importDeals(requests);
         return ResponseEntity.status(HttpStatus.CREATED).body(deals);
     }
 
+    @PostMapping(value = "/bulk/copy", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CopyImportResult> copyImportDeals(HttpServletRequest request) throws IOException {
+        log.info("Received COPY import request");
+        CopyImportResult result = fxDealService.copyImport(request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    @PostMapping(value = "/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importNdjsonDeals(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "0") long resumeAfterLine,
+            @RequestParam(required = false) Integer chunkSize,
+            @RequestParam(defaultValue = "false") boolean includeAccepted) throws IOException {
+        log.info("Received NDJSON bulk import request (resuming after line {})", resumeAfterLine);
+        InputStream body = request.getInputStream();
+        int effectiveChunkSize = chunkSize != null ? chunkSize : importProperties.getChunkSize();
+        StreamingResponseBody response = out -> {
+            NdjsonOutcomeWriter writer = new NdjsonOutcomeWriter(objectMapper, out, includeAccepted);
+            BulkImportSummary summary = fxDealService.importNdjsonStream(
+                    body, resumeAfterLine, effectiveChunkSize, writer);
+            writer.writeLine(Map.of("summary", summary));
+            writer.flush();
+        };
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+    @PostMapping(value = "/bulk/stream",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamImportDeals(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean includeAccepted) throws IOException {
+        log.info("Received streaming bulk import request");
+        InputStream body = request.getInputStream();
+        StreamingResponseBody response = out -> {
+            NdjsonOutcomeWriter writer = new NdjsonOutcomeWriter(objectMapper, out, includeAccepted);
+            try {
+                BulkImportSummary summary = fxDealService.importDealStream(body, writer);
+                writer.writeLine(Map.of("summary", summary));
+            } catch (InvalidDealException e) {
+                writer.writeLine(Map.of("error", e.getMessage()));
+            }
+            writer.flush();
+        };
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+    /**
+     * One page of deals in {@code (dealTimestamp, id)} order, optionally restricted to a currency
+     * pair and a half-open {@code [start, end)} time window. The body stays a plain array; when more
+     * deals follow, the cursor for the next page is returned in {@code X-Next-Cursor} and a
+     * {@code Link: rel="next"} header.
+     */
     @GetMapping
-    public ResponseEntity<List<FxDeal>> getAllDeals() {
-        log.info("Fetching all deals");
-        List<FxDeal> deals = fxDealService.getAllDeals();
-        return ResponseEntity.ok(deals);
+    public ResponseEntity<List<FxDeal>> getDeals(
+            @RequestParam(required = false) String fromCurrency,
+            @RequestParam(required = false) String toCurrency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (start != null && end != null && !start.isBefore(end)) {
+            throw new InvalidQueryException("start must be before end");
+        }
+        DealQuery query = DealQuery.builder()
+                .fromCurrencyIsoCode(fromCurrency != null ? fromCurrency.toUpperCase(Locale.ROOT) : null)
+                .toCurrencyIsoCode(toCurrency != null ? toCurrency.toUpperCase(Locale.ROOT) : null)
+                .start(start)
+                .end(end)
+                .build();
+        int pageSize = Math.min(Math.max(1, limit != null ? limit : queryProperties.getDefaultPageSize()),
+                queryProperties.getMaxPageSize());
+        log.info("Fetching {} deals matching {} after cursor {}", pageSize, query, after);
+        DealPage page = fxDealService.getDeals(query, after != null ? DealCursor.decode(after) : null, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String cursor = page.getNextCursor().encode();
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", cursor)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, cursor)
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getDeals());
+    }
+
+    /**
+     * A single deal by its {@code dealUniqueId}; 404 if no such deal was imported.
+     */
+    @GetMapping("/{dealUniqueId}")
+    public ResponseEntity<FxDeal> getDeal(@PathVariable String dealUniqueId) {
+        return ResponseEntity.ok(fxDealService.getDeal(dealUniqueId));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDeals() {
+        log.info("Received deal export request");
+        StreamingResponseBody response = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            fxDealService.exportDeals(writer::writeLine);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
     }
 
     @GetMapping("/health")
@@ -0,0 +1,59 @@
+package amine.elh.fxdealwarehouse.controller;
+
+import amine.elh.fxdealwarehouse.dto.ImportJobStatus;
+import amine.elh.fxdealwarehouse.service.ImportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Asynchronous bulk imports: the body is accepted as a job and processed in the background, so
+ * no HTTP thread or database connection is held for the duration of the import. Poll the
+ * {@code Location} of the job for progress.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobStatus> submitJsonArray(HttpServletRequest request) throws IOException {
+        log.info("Received import job (JSON array)");
+        return accepted(importJobService.submit(request.getInputStream(), false));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportJobStatus> submitNdjson(HttpServletRequest request) throws IOException {
+        log.info("Received import job (NDJSON)");
+        return accepted(importJobService.submit(request.getInputStream(), true));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobStatus> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.getStatus(id));
+    }
+
+    private static ResponseEntity<ImportJobStatus> accepted(ImportJobStatus job) {
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+}
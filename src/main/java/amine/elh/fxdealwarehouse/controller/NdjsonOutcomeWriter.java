@@ -0,0 +1,44 @@
+package amine.elh.fxdealwarehouse.controller;
+
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.DealOutcomeListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes each deal outcome as one line of newline-delimited JSON as soon as it is known.
+ */
+class NdjsonOutcomeWriter extends NdjsonWriter implements DealOutcomeListener {
+
+    private final boolean includeAccepted;
+    private Long lastLine;
+
+    NdjsonOutcomeWriter(ObjectMapper objectMapper, OutputStream out, boolean includeAccepted) {
+        super(objectMapper, out);
+        this.includeAccepted = includeAccepted;
+    }
+
+    @Override
+    public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+        lastLine = outcome.getLine();
+        if (includeAccepted || outcome.getStatus() != DealOutcome.Status.ACCEPTED) {
+            writeLine(outcome);
+        }
+    }
+
+    /**
+     * For line-oriented input, emits a checkpoint a client can resume from and pushes it out
+     * immediately so it survives a dropped connection. The NDJSON import stops calling this once a
+     * chunk has rolled back, so the last outcome's line is always past committed deals only.
+     */
+    @Override
+    public void onChunkCompleted() {
+        if (lastLine != null) {
+            writeLine(Map.of("lastCommittedLine", lastLine));
+            flush();
+        }
+    }
+}
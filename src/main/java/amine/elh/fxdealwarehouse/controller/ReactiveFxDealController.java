@@ -0,0 +1,109 @@
+package amine.elh.fxdealwarehouse.controller;
+
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.ReactiveFxDealService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ingestion endpoints of the {@code reactive} profile, on the same paths and with the same NDJSON
+ * response lines as {@link FxDealController} so both stacks can be load-tested with one script.
+ * Queries, exports, COPY imports and import jobs are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/v1/deals")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveFxDealController {
+
+    private final ReactiveFxDealService fxDealService;
+    private final FxDealImportProperties importProperties;
+
+    @PostMapping
+    public Mono<ResponseEntity<FxDeal>> importDeal(@Valid @RequestBody Mono<FxDealRequest> request) {
+        return request
+                .flatMap(fxDealService::importDeal)
+                .map(deal -> ResponseEntity.status(HttpStatus.CREATED).body(deal));
+    }
+
+    @PostMapping(value = "/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Object>> importNdjsonDeals(
+            @RequestBody Flux<String> lines,
+            @RequestParam(defaultValue = "0") long resumeAfterLine,
+            @RequestParam(required = false) Integer chunkSize,
+            @RequestParam(defaultValue = "false") boolean includeAccepted) {
+        log.info("Received reactive NDJSON bulk import request (resuming after line {})", resumeAfterLine);
+        int effectiveChunkSize = chunkSize != null ? chunkSize : importProperties.getChunkSize();
+        Flux<List<DealOutcome>> chunks = fxDealService.importNdjsonStream(lines, resumeAfterLine, effectiveChunkSize);
+        // Every chunk is committed when it is emitted, so its last line is a resume point
+        return created(outcomeLines(chunks, includeAccepted, outcomes -> Flux.<Object>just(
+                Map.of("lastCommittedLine", outcomes.get(outcomes.size() - 1).getLine()))));
+    }
+
+    @PostMapping(value = "/bulk/stream",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Object>> streamImportDeals(
+            @RequestBody Flux<JsonNode> deals,
+            @RequestParam(defaultValue = "false") boolean includeAccepted) {
+        log.info("Received reactive streaming bulk import request");
+        Flux<Object> lines = outcomeLines(fxDealService.importDealStream(deals), includeAccepted,
+                outcomes -> Flux.empty());
+        // Malformed JSON ends the import; the deals before it are already stored
+        return created(lines.onErrorResume(ServerWebInputException.class,
+                e -> Mono.just(Map.of("error", "Malformed JSON: " + e.getMostSpecificCause().getMessage()))));
+    }
+
+    @GetMapping("/health")
+    public Mono<String> health() {
+        return Mono.just("FX Deal Warehouse is running (reactive)");
+    }
+
+    private static Flux<Object> outcomeLines(Flux<List<DealOutcome>> chunks, boolean includeAccepted,
+                                             Function<List<DealOutcome>, Flux<Object>> afterChunk) {
+        return Flux.defer(() -> {
+            BulkImportSummary summary = new BulkImportSummary();
+            return chunks
+                    .concatMap(outcomes -> {
+                        outcomes.forEach(summary::record);
+                        Flux<Object> written = Flux.fromIterable(outcomes)
+                                .filter(outcome -> includeAccepted || outcome.getStatus() != DealOutcome.Status.ACCEPTED)
+                                .cast(Object.class);
+                        return written.concatWith(afterChunk.apply(outcomes));
+                    })
+                    .concatWith(Mono.fromSupplier(() -> Map.of("summary", summary)));
+        });
+    }
+
+    private static ResponseEntity<Flux<Object>> created(Flux<Object> body) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
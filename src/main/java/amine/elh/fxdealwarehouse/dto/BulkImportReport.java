@@ -0,0 +1,36 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact answer to a bulk import: the counts, every deal that was not accepted with its status and
+ * reason, and the accepted ids only when asked for. Its size follows the number of rejections, not
+ * the size of the request.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportReport {
+
+    @JsonUnwrapped
+    private final BulkImportSummary summary = new BulkImportSummary();
+    private final List<DealOutcome> rejected = new ArrayList<>();
+    private final List<String> acceptedIds;
+
+    public BulkImportReport(boolean includeAcceptedIds) {
+        this.acceptedIds = includeAcceptedIds ? new ArrayList<>() : null;
+    }
+
+    public void record(DealOutcome outcome) {
+        summary.record(outcome);
+        if (outcome.getStatus() != DealOutcome.Status.ACCEPTED) {
+            rejected.add(outcome);
+        } else if (acceptedIds != null) {
+            acceptedIds.add(outcome.getDealUniqueId());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BulkImportResult {
+
+    private final List<DealOutcome> outcomes;
+    private final List<FxDeal> importedDeals;
+
+    public BulkImportResult(List<DealOutcome> outcomes, List<FxDeal> importedDeals) {
+        this.outcomes = outcomes;
+        this.importedDeals = importedDeals;
+    }
+
+    public int getTotal() {
+        return outcomes.size();
+    }
+
+    public long getAccepted() {
+        return count(DealOutcome.Status.ACCEPTED);
+    }
+
+    public long getDuplicates() {
+        return count(DealOutcome.Status.DUPLICATE);
+    }
+
+    public long getInvalid() {
+        return count(DealOutcome.Status.INVALID);
+    }
+
+    public long getFailed() {
+        return count(DealOutcome.Status.FAILED);
+    }
+
+    private long count(DealOutcome.Status status) {
+        return outcomes.stream().filter(o -> o.getStatus() == status).count();
+    }
+}
@@ -0,0 +1,25 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportSummary {
+    private long total;
+    private long accepted;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private Long lastCommittedLine;
+
+    public void record(DealOutcome outcome) {
+        total++;
+        switch (outcome.getStatus()) {
+            case ACCEPTED -> accepted++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CopyImportResult {
+    private long total;
+    private long inserted;
+    private long duplicates;
+    private long invalid;
+    private List<DealOutcome> rejected;
+}
@@ -0,0 +1,39 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import amine.elh.fxdealwarehouse.exception.InvalidCursorException;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the {@code (dealTimestamp, id)} ordering of deals, handed to clients as an opaque
+ * URL-safe token. The next page starts strictly after this position.
+ */
+public record DealCursor(LocalDateTime dealTimestamp, long id) {
+
+    public static DealCursor after(FxDeal deal) {
+        return new DealCursor(deal.getDealTimestamp(), deal.getId());
+    }
+
+    public static DealCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new DealCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = dealTimestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
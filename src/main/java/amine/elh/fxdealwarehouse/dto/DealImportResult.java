@@ -0,0 +1,36 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+
+/**
+ * Outcome of importing a single deal, returned instead of thrown: the stored deal when it was
+ * accepted, otherwise why it was not.
+ */
+public record DealImportResult(DealOutcome.Status status, String reason, FxDeal deal) {
+
+    public static DealImportResult accepted(FxDeal deal) {
+        return new DealImportResult(DealOutcome.Status.ACCEPTED, null, deal);
+    }
+
+    public static DealImportResult rejected(DealOutcome.Status status, String reason) {
+        return new DealImportResult(status, reason, null);
+    }
+
+    public boolean isAccepted() {
+        return status == DealOutcome.Status.ACCEPTED;
+    }
+
+    /**
+     * @return the stored deal, or the exception {@code GlobalExceptionHandler} maps to the REST status
+     */
+    public FxDeal orElseThrow() {
+        return switch (status) {
+            case ACCEPTED -> deal;
+            case DUPLICATE -> throw new DuplicateDealException(reason);
+            case INVALID -> throw new InvalidDealException(reason);
+            case FAILED -> throw new IllegalStateException(reason);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DealOutcome {
+
+    public enum Status {
+        ACCEPTED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private Long line;
+    private String dealUniqueId;
+    private Status status;
+    private String reason;
+}
@@ -0,0 +1,19 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DealPage {
+
+    private final List<FxDeal> deals;
+
+    /**
+     * Cursor of the last deal on this page, or {@code null} when there are no further deals.
+     */
+    private final DealCursor nextCursor;
+}
@@ -0,0 +1,28 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for deal listings; a {@code null} field does not restrict the result.
+ * The time window is half-open: {@code start <= dealTimestamp < end}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealQuery {
+
+    private String fromCurrencyIsoCode;
+    private String toCurrencyIsoCode;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public static DealQuery unfiltered() {
+        return new DealQuery();
+    }
+}
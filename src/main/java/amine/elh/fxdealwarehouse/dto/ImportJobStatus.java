@@ -0,0 +1,32 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import amine.elh.fxdealwarehouse.model.ImportJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobStatus {
+    private String id;
+    private ImportJob.Status status;
+    private long total;
+    private long processed;
+    private long accepted;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private Double dealsPerSecond;
+    private Long etaSeconds;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,54 @@
+package amine.elh.fxdealwarehouse.dto;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Deals of one currency pair whose {@code dealTimestamp} falls in
+ * {@code [bucketStart, bucketStart + granularity)}.
+ */
+public record VolumeBucket(String fromCurrencyIsoCode,
+                           String toCurrencyIsoCode,
+                           LocalDateTime bucketStart,
+                           long dealCount,
+                           BigDecimal totalAmount,
+                           BigDecimal minAmount,
+                           BigDecimal maxAmount) {
+
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        /**
+         * Start of the bucket containing {@code timestamp}.
+         */
+        public LocalDateTime floor(LocalDateTime timestamp) {
+            return timestamp.truncatedTo(unit);
+        }
+
+        /**
+         * Start of the first bucket at or after {@code timestamp}.
+         */
+        public LocalDateTime ceil(LocalDateTime timestamp) {
+            LocalDateTime floor = floor(timestamp);
+            return floor.equals(timestamp) ? floor : floor.plus(1, unit);
+        }
+
+        public long bucketsBetween(LocalDateTime start, LocalDateTime end) {
+            return unit.between(start, end);
+        }
+
+        public Duration length() {
+            return unit.getDuration();
+        }
+    }
+}
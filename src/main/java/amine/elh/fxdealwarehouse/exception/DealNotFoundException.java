@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class DealNotFoundException extends RuntimeException {
+    public DealNotFoundException(String message) {
+        super(message);
+    }
+}
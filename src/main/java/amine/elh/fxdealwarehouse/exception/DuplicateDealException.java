@@ -1,7 +1,10 @@
 package amine.elh.fxdealwarehouse.exception;
 
+/**
+ * Only thrown to map a rejected deal to its REST status, so it carries no stack trace.
+ */
 public class DuplicateDealException extends RuntimeException {
     public DuplicateDealException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
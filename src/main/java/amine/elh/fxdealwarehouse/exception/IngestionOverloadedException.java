@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class IngestionOverloadedException extends RuntimeException {
+    public IngestionOverloadedException(String message) {
+        super(message);
+    }
+}
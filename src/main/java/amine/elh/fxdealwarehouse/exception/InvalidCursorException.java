@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,11 @@
 package amine.elh.fxdealwarehouse.exception;
 
 
+/**
+ * Only thrown to map a rejected deal or request body to its REST status, so it carries no stack trace.
+ */
 public class InvalidDealException extends RuntimeException {
     public InvalidDealException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
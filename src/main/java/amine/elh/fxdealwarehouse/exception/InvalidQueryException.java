@@ -0,0 +1,7 @@
+package amine.elh.fxdealwarehouse.exception;
+
+public class InvalidQueryException extends RuntimeException {
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
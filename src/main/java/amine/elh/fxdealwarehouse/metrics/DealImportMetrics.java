@@ -0,0 +1,133 @@
+package amine.elh.fxdealwarehouse.metrics;
+
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for each stage of the import pipeline ({@code fxdeal.import.stage}, tagged {@code stage})
+ * and a counter of import outcomes ({@code fxdeal.import.deals}, tagged {@code outcome} and
+ * {@code pair}). The pair tag only takes supported currency codes so that junk input cannot blow
+ * up the number of series; anything else, and COPY merge totals, are counted as {@code unknown}.
+ */
+@Component
+public class DealImportMetrics {
+
+    public enum Stage {
+        /** JSON binding of a request body, or of one element on the streaming paths */
+        BIND,
+        /** Bean validation constraints of {@link FxDealRequest} */
+        BEAN_VALIDATION,
+        /** Business rules of {@link FxDealValidator} */
+        BUSINESS_VALIDATION,
+        /** Duplicate lookup of a chunk, including the in-memory filter */
+        DEDUP,
+        /** Insert statements; for single deals and COPY this includes the duplicate check */
+        INSERT,
+        /** Transaction commit, including the final flush */
+        COMMIT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    static final String UNKNOWN_PAIR = "unknown";
+
+    private final MeterRegistry registry;
+    private final FxDealValidator validator;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<DealOutcome.Status, ConcurrentMap<String, Counter>> outcomeCounters =
+            new EnumMap<>(DealOutcome.Status.class);
+
+    public DealImportMetrics(MeterRegistry registry, FxDealValidator validator) {
+        this.registry = registry;
+        this.validator = validator;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("fxdeal.import.stage")
+                    .tag("stage", stage.tag)
+                    .description("Time spent in one stage of the deal import pipeline")
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (DealOutcome.Status status : DealOutcome.Status.values()) {
+            outcomeCounters.put(status, new ConcurrentHashMap<>());
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        return stageTimers.get(stage).record(work);
+    }
+
+    public void time(Stage stage, Runnable work) {
+        stageTimers.get(stage).record(work);
+    }
+
+    public void record(Stage stage, long startedNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times the commit of the current transaction, if synchronization is active. Call from inside
+     * the transaction; nothing is recorded if it rolls back.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                started = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && started != 0) {
+                    record(Stage.COMMIT, started);
+                }
+            }
+        });
+    }
+
+    public void recordOutcome(DealOutcome.Status status, FxDealRequest request) {
+        counter(status, pair(request)).increment();
+    }
+
+    public void recordOutcomes(DealOutcome.Status status, long count) {
+        if (count > 0) {
+            counter(status, UNKNOWN_PAIR).increment(count);
+        }
+    }
+
+    private Counter counter(DealOutcome.Status status, String pair) {
+        return outcomeCounters.get(status).computeIfAbsent(pair, p -> Counter.builder("fxdeal.import.deals")
+                .tag("outcome", status.name().toLowerCase(Locale.ROOT))
+                .tag("pair", p)
+                .description("Deals processed by the import pipeline")
+                .register(registry));
+    }
+
+    private String pair(FxDealRequest request) {
+        if (request == null
+                || !validator.isSupportedCurrency(request.getFromCurrencyIsoCode())
+                || !validator.isSupportedCurrency(request.getToCurrencyIsoCode())) {
+            return UNKNOWN_PAIR;
+        }
+        return request.getFromCurrencyIsoCode() + "/" + request.getToCurrencyIsoCode();
+    }
+}
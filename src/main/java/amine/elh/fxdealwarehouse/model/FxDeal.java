@@ -1,6 +1,7 @@
 package amine.elh.fxdealwarehouse.model;
 
 
+import amine.elh.fxdealwarehouse.model.id.PooledDealSequence;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,8 +12,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "fx_deals", indexes = {
+        // Not unique on PostgreSQL, where the fx_deal_ids registry enforces it across partitions (see V4)
         @Index(name = "idx_deal_unique_id", columnList = "dealUniqueId", unique = true),
-        @Index(name = "idx_deal_timestamp", columnList = "dealTimestamp")
+        @Index(name = "idx_deal_timestamp", columnList = "dealTimestamp"),
+        // Covering on PostgreSQL via INCLUDE, see V3 migration
+        @Index(name = "idx_deal_pair_timestamp",
+                columnList = "fromCurrencyIsoCode, toCurrencyIsoCode, dealTimestamp, id")
 })
 @Data
 @NoArgsConstructor
@@ -21,7 +26,7 @@ import java.time.LocalDateTime;
 public class FxDeal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledDealSequence(sequenceName = "fx_deals_seq")
     private Long id;
 
     @Column(nullable = false, unique = true, length = 100)
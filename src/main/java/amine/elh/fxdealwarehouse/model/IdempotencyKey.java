@@ -0,0 +1,34 @@
+package amine.elh.fxdealwarehouse.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An {@code Idempotency-Key} whose request stored a deal, with the SHA-256 of that request. Written
+ * in the deal's transaction, so the key exists exactly when the deal does.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    @Id
+    @Column(length = 255)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 32)
+    private byte[] requestHash;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,83 @@
+package amine.elh.fxdealwarehouse.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An asynchronous bulk import. Counters and {@code lastCommittedLine} are updated after every
+ * committed chunk of the spooled NDJSON file, so a job interrupted by a restart resumes after
+ * that line.
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_status", columnList = "status, submittedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false, length = 500)
+    private String spoolFile;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long processed;
+
+    @Column(nullable = false)
+    private long accepted;
+
+    @Column(nullable = false)
+    private long duplicates;
+
+    @Column(nullable = false)
+    private long invalid;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Column(nullable = false)
+    private long lastCommittedLine;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime startedAt;
+
+    /**
+     * Start of the current (or last) run and the progress at that point; throughput is measured
+     * from here so that time spent waiting for a restart does not count.
+     */
+    private LocalDateTime runStartedAt;
+
+    @Column(nullable = false)
+    private long runStartProcessed;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
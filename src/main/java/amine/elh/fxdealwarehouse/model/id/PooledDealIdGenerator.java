@@ -0,0 +1,38 @@
+package amine.elh.fxdealwarehouse.model.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class PooledDealIdGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "fxdeal.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledDealIdGenerator(PooledDealSequence config) {
+        this.sequenceName = config.sequenceName();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object configured = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .get(ALLOCATION_SIZE_SETTING);
+        int allocationSize = configured != null
+                ? Integer.parseInt(configured.toString())
+                : DEFAULT_ALLOCATION_SIZE;
+
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
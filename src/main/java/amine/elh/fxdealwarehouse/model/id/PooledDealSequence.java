@@ -0,0 +1,20 @@
+package amine.elh.fxdealwarehouse.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sequence-backed id with a pooled optimizer whose allocation size comes from configuration
+ * ({@code fxdeal.id.allocation-size}) instead of being fixed in the mapping.
+ */
+@IdGeneratorType(PooledDealIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledDealSequence {
+
+    String sequenceName();
+}
@@ -0,0 +1,30 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.model.FxDeal;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FxDealBulkRepository {
+
+    /**
+     * Persists all deals and flushes them as JDBC batches ({@code hibernate.jdbc.batch_size} rows per
+     * statement), then detaches them. Must run inside a transaction.
+     */
+    List<FxDeal> insertAll(List<FxDeal> deals);
+
+    /**
+     * Inserts the deal unless its {@code dealUniqueId} is already stored, detecting the duplicate and
+     * persisting the row in one statement ({@code INSERT ... RETURNING id}, skipped by the
+     * {@code fx_deal_ids} trigger on PostgreSQL). Returns the stored deal, or empty if the id was taken -
+     * including by a concurrent transaction. Must run inside a transaction.
+     */
+    Optional<FxDeal> insertIfAbsent(FxDeal deal);
+
+    /**
+     * Same as {@link #insertIfAbsent(FxDeal)}, but the statement runs under a savepoint: a failure is
+     * rolled back to the savepoint before it is thrown, so the surrounding transaction can go on and commit the other
+     * deals. Must run inside a transaction.
+     */
+    Optional<FxDeal> insertIfAbsentUnderSavepoint(FxDeal deal);
+}
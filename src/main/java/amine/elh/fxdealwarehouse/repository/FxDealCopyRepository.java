@@ -0,0 +1,185 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.config.FxDealIdProperties;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * PostgreSQL-only bulk path: deals are streamed with {@code COPY ... FROM STDIN} into a
+ * transaction-scoped staging table and merged into {@code fx_deals} with a single
+ * {@code INSERT ... SELECT} that keeps one row per id. The {@code fx_deal_ids} trigger skips ids that
+ * are already registered, including ones committed concurrently (see V8). Ids are taken from
+ * {@code fx_deals_seq} one block of {@code fxdeal.id.allocation-size} at a time rather than one
+ * {@code nextval} per row, which would burn a whole block per deal. Must be called inside a
+ * transaction so the staging table, the COPY and the merge share one connection.
+ */
+@Repository
+public class FxDealCopyRepository {
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE fx_deals_staging ("
+            + "deal_unique_id VARCHAR(100) NOT NULL, "
+            + "from_currency_iso_code VARCHAR(3) NOT NULL, "
+            + "to_currency_iso_code VARCHAR(3) NOT NULL, "
+            + "deal_timestamp TIMESTAMP(6) NOT NULL, "
+            + "deal_amount NUMERIC(19, 4) NOT NULL"
+            + ") ON COMMIT DROP";
+
+    private static final String COPY_STAGING = "COPY fx_deals_staging "
+            + "(deal_unique_id, from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    // One sequence call hands out a block of allocation-size ids: (nextval - size, nextval]
+    private static final String ALLOCATE_BLOCKS = "SELECT nextval('fx_deals_seq') FROM generate_series(1, ?)";
+
+    // Row n (1-based) takes slot (n - 1) % size of block (n - 1) / size + 1
+    private static final String MERGE_STAGING = "INSERT INTO fx_deals "
+            + "(id, deal_unique_id, from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount, imported_at) "
+            + "SELECT b.hi - ? + 1 + (s.n - 1) % ?, s.deal_unique_id, s.from_currency_iso_code, s.to_currency_iso_code, "
+            + "s.deal_timestamp, s.deal_amount, ? "
+            + "FROM (SELECT d.*, row_number() OVER (ORDER BY d.deal_unique_id) AS n "
+            // First occurrence of each id in file order
+            + "FROM (SELECT DISTINCT ON (deal_unique_id) * FROM fx_deals_staging ORDER BY deal_unique_id, ctid) d) s "
+            + "JOIN unnest(?::bigint[]) WITH ORDINALITY AS b(hi, block) ON b.block = (s.n - 1) / ? + 1";
+
+    private static final int FLUSH_THRESHOLD_BYTES = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final int allocationSize;
+    private final SQLExceptionTranslator exceptionTranslator;
+
+    public FxDealCopyRepository(DataSource dataSource, FxDealIdProperties idProperties) {
+        this.dataSource = dataSource;
+        this.allocationSize = idProperties.getAllocationSize();
+        this.exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+    }
+
+    public CopyMergeResult copyAndMerge(Iterator<FxDeal> deals) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("COPY ingestion requires a PostgreSQL datasource");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+
+            long staged = copy(connection.unwrap(PGConnection.class), deals);
+            if (staged == 0) {
+                return new CopyMergeResult(0, 0);
+            }
+
+            Long[] blocks = allocateBlocks(connection, (staged + allocationSize - 1) / allocationSize);
+            try (PreparedStatement merge = connection.prepareStatement(MERGE_STAGING)) {
+                merge.setInt(1, allocationSize);
+                merge.setInt(2, allocationSize);
+                merge.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                merge.setArray(4, connection.createArrayOf("bigint", blocks));
+                merge.setInt(5, allocationSize);
+                long inserted = merge.executeLargeUpdate();
+                return new CopyMergeResult(staged, inserted);
+            }
+        } catch (SQLException e) {
+            // Same exception hierarchy as JdbcTemplate, so constraint violations and outages stay distinguishable
+            DataAccessException translated = exceptionTranslator.translate("COPY ingestion", null, e);
+            throw translated != null ? translated : new UncategorizedSQLException("COPY ingestion", null, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Sized on staged rows, so ids repeated within the request or skipped by the registry leave
+     * their slots unused, as a rolled-back Hibernate batch does.
+     */
+    private static Long[] allocateBlocks(Connection connection, long count) throws SQLException {
+        List<Long> blocks = new ArrayList<>();
+        try (PreparedStatement allocate = connection.prepareStatement(ALLOCATE_BLOCKS)) {
+            allocate.setLong(1, count);
+            try (ResultSet rs = allocate.executeQuery()) {
+                while (rs.next()) {
+                    blocks.add(rs.getLong(1));
+                }
+            }
+        }
+        return blocks.toArray(Long[]::new);
+    }
+
+    private long copy(PGConnection connection, Iterator<FxDeal> deals) throws SQLException, IOException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_STAGING);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD_BYTES + 512);
+            long rows = 0;
+            while (deals.hasNext()) {
+                appendCsvRow(buffer, deals.next());
+                rows++;
+                if (buffer.length() >= FLUSH_THRESHOLD_BYTES) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            copyIn.endCopy();
+            return rows;
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendCsvRow(StringBuilder buffer, FxDeal deal) {
+        appendQuoted(buffer, deal.getDealUniqueId());
+        buffer.append(',').append(deal.getFromCurrencyIsoCode())
+                .append(',').append(deal.getToCurrencyIsoCode())
+                .append(',').append(deal.getDealTimestamp())
+                .append(',').append(deal.getDealAmount().toPlainString())
+                .append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    public record CopyMergeResult(long staged, long inserted) {
+    }
+}
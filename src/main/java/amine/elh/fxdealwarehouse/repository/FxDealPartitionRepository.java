@@ -0,0 +1,90 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL and catalog queries for the monthly partitions of {@code fx_deals} (PostgreSQL only, see V4).
+ * Partitions are named {@code fx_deals_pYYYY_MM} and cover {@code [first day of month, first day of
+ * next month)}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FxDealPartitionRepository {
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("fx_deals_p(\\d{4})_(\\d{2})");
+
+    private static final String IS_PARTITIONED = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p "
+            + "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = 'fx_deals' AND pg_table_is_visible(c.oid))";
+
+    private static final String LIST_PARTITIONS = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'fx_deals'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS, String.class).stream()
+                .map(FxDealPartitionRepository::month)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF fx_deals FOR VALUES FROM ('%s') TO ('%s') "
+                        + "WITH (autovacuum_vacuum_insert_scale_factor = 0.01)",
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Detaches the partition and releases its deal ids from the registry. Call inside a transaction
+     * so the ids only become free once the deals are gone.
+     */
+    public void detachMonthlyPartition(YearMonth month) {
+        deleteRegisteredIds(month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE fx_deals DETACH PARTITION " + partitionName(month));
+    }
+
+    public void dropDetachedPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    /**
+     * Deletes deals older than {@code cutoff} that live outside the monthly partitions; the delete
+     * trigger releases their ids.
+     */
+    public int deleteDefaultPartitionRowsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM fx_deals_default WHERE deal_timestamp < ?", Timestamp.valueOf(cutoff));
+    }
+
+    private void deleteRegisteredIds(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.update("DELETE FROM fx_deal_ids WHERE deal_timestamp >= ? AND deal_timestamp < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format("fx_deals_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static Optional<YearMonth> month(String partitionName) {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
@@ -0,0 +1,18 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+
+import java.util.List;
+
+public interface FxDealQueryRepository {
+
+    /**
+     * Deals matching {@code query} in {@code (dealTimestamp, id)} order, starting strictly after
+     * {@code after} when given. Only the filters that are set become predicates, so each combination
+     * gets a plan of its own: a currency pair is served by {@code idx_deal_pair_timestamp}, a bare
+     * time window by {@code idx_deal_timestamp}.
+     */
+    List<FxDeal> findPage(DealQuery query, DealCursor after, int limit);
+}
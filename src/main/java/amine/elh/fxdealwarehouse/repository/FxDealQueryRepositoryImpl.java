@@ -0,0 +1,59 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class FxDealQueryRepositoryImpl implements FxDealQueryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<FxDeal> findPage(DealQuery query, DealCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FxDeal> criteria = cb.createQuery(FxDeal.class);
+        Root<FxDeal> deal = criteria.from(FxDeal.class);
+        Path<LocalDateTime> timestamp = deal.get("dealTimestamp");
+        Path<Long> id = deal.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getFromCurrencyIsoCode() != null) {
+            predicates.add(cb.equal(deal.get("fromCurrencyIsoCode"), query.getFromCurrencyIsoCode()));
+        }
+        if (query.getToCurrencyIsoCode() != null) {
+            predicates.add(cb.equal(deal.get("toCurrencyIsoCode"), query.getToCurrencyIsoCode()));
+        }
+        if (query.getStart() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(timestamp, query.getStart()));
+        }
+        if (query.getEnd() != null) {
+            predicates.add(cb.lessThan(timestamp, query.getEnd()));
+        }
+        if (after != null) {
+            // The leading >= bound keeps this a range condition on the index rather than an OR
+            predicates.add(cb.greaterThanOrEqualTo(timestamp, after.dealTimestamp()));
+            predicates.add(cb.or(
+                    cb.greaterThan(timestamp, after.dealTimestamp()),
+                    cb.greaterThan(id, after.id())));
+        }
+
+        criteria.select(deal)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(timestamp), cb.asc(id));
+        return entityManager.createQuery(criteria)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -2,11 +2,49 @@ package amine.elh.fxdealwarehouse.repository;
 
 
 import amine.elh.fxdealwarehouse.model.FxDeal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 @Repository
-public interface FxDealRepository extends JpaRepository<FxDeal, Long> {
+public interface FxDealRepository extends JpaRepository<FxDeal, Long>, FxDealBulkRepository,
+        FxDealQueryRepository {
 
     boolean existsByDealUniqueId(String dealUniqueId);
-}
\ No newline at end of file
+
+    Optional<FxDeal> findByDealUniqueId(String dealUniqueId);
+
+    @Query("select d.dealUniqueId from FxDeal d where d.dealUniqueId in :ids")
+    Set<String> findExistingDealUniqueIds(@Param("ids") Collection<String> ids);
+
+    @Query("select d.dealUniqueId from FxDeal d")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    Stream<String> streamAllDealUniqueIds();
+
+    @Query("select d from FxDeal d order by d.dealTimestamp, d.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FxDeal> streamAllOrdered();
+
+    /**
+     * Deals at or after {@code start}, newest first.
+     */
+    @Query("select d from FxDeal d where d.dealTimestamp >= :start order by d.dealTimestamp desc, d.id desc")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FxDeal> streamNewestSince(@Param("start") LocalDateTime start);
+}
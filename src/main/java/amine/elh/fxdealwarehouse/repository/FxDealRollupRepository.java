@@ -0,0 +1,125 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Currency-pair volume rollups (PostgreSQL only, see V6). Inserts into {@code fx_deals} append
+ * per-minute deltas; {@link #fold(int)} moves them into the minute, hour and day rollups.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FxDealRollupRepository {
+
+    // Arbitrary application-wide key: only one instance folds at a time
+    private static final long FOLD_LOCK = 0x6678_726f_6c6cL;
+
+    // Deleting and upserting in one statement keeps a delta from being counted twice or lost; the
+    // upsert runs to completion even though the result only counts the deleted rows
+    private static final String FOLD = """
+            WITH folded AS (
+                DELETE FROM fx_deal_rollup_deltas
+                WHERE ctid = ANY (ARRAY(SELECT ctid FROM fx_deal_rollup_deltas LIMIT ?))
+                RETURNING from_currency_iso_code, to_currency_iso_code, minute_start,
+                          deal_count, amount_sum, amount_min, amount_max
+            ),
+            upserted AS (
+                INSERT INTO fx_deal_rollups AS r (granularity, from_currency_iso_code, to_currency_iso_code,
+                                                  bucket_start, deal_count, amount_sum, amount_min, amount_max)
+                SELECT g.granularity, f.from_currency_iso_code, f.to_currency_iso_code,
+                       date_trunc(lower(g.granularity), f.minute_start),
+                       SUM(f.deal_count), SUM(f.amount_sum), MIN(f.amount_min), MAX(f.amount_max)
+                FROM folded f CROSS JOIN (VALUES ('MINUTE'), ('HOUR'), ('DAY')) AS g (granularity)
+                GROUP BY 1, 2, 3, 4
+                ORDER BY 1, 2, 3, 4
+                ON CONFLICT (granularity, from_currency_iso_code, to_currency_iso_code, bucket_start) DO UPDATE SET
+                    deal_count = r.deal_count + EXCLUDED.deal_count,
+                    amount_sum = r.amount_sum + EXCLUDED.amount_sum,
+                    amount_min = LEAST(r.amount_min, EXCLUDED.amount_min),
+                    amount_max = GREATEST(r.amount_max, EXCLUDED.amount_max)
+            )
+            SELECT COUNT(*) FROM folded
+            """;
+
+    private static final RowMapper<VolumeBucket> BUCKET = (rs, rowNum) -> new VolumeBucket(
+            rs.getString("from_currency_iso_code"),
+            rs.getString("to_currency_iso_code"),
+            rs.getTimestamp("bucket_start").toLocalDateTime(),
+            rs.getLong("deal_count"),
+            rs.getBigDecimal("amount_sum"),
+            rs.getBigDecimal("amount_min"),
+            rs.getBigDecimal("amount_max"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the fold lock until the end of the current transaction.
+     *
+     * @return {@code false} if another transaction holds it
+     */
+    public boolean tryLockFold() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, FOLD_LOCK));
+    }
+
+    /**
+     * Adds up to {@code limit} pending deltas to the rollups and removes them. Run inside a transaction.
+     *
+     * @return the number of deltas folded
+     */
+    public long fold(int limit) {
+        Long folded = jdbcTemplate.queryForObject(FOLD, Long.class, limit);
+        return folded != null ? folded : 0;
+    }
+
+    /**
+     * Buckets in {@code [start, end)}, both aligned to {@code granularity}, including deltas not
+     * folded yet; ordered by bucket, then pair. A null currency matches every currency.
+     */
+    public List<VolumeBucket> findVolume(Granularity granularity, String fromCurrency, String toCurrency,
+                                         LocalDateTime start, LocalDateTime end) {
+        StringBuilder pair = new StringBuilder();
+        List<Object> pairArgs = new ArrayList<>();
+        if (fromCurrency != null) {
+            pair.append(" AND from_currency_iso_code = ?");
+            pairArgs.add(fromCurrency);
+        }
+        if (toCurrency != null) {
+            pair.append(" AND to_currency_iso_code = ?");
+            pairArgs.add(toCurrency);
+        }
+
+        String sql = "SELECT from_currency_iso_code, to_currency_iso_code, bucket_start, "
+                + "SUM(deal_count) AS deal_count, SUM(amount_sum) AS amount_sum, "
+                + "MIN(amount_min) AS amount_min, MAX(amount_max) AS amount_max FROM ("
+                + "SELECT from_currency_iso_code, to_currency_iso_code, bucket_start, "
+                + "deal_count, amount_sum, amount_min, amount_max FROM fx_deal_rollups "
+                + "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?" + pair
+                + " UNION ALL "
+                + "SELECT from_currency_iso_code, to_currency_iso_code, date_trunc(?, minute_start), "
+                + "deal_count, amount_sum, amount_min, amount_max FROM fx_deal_rollup_deltas "
+                + "WHERE minute_start >= ? AND minute_start < ?" + pair
+                + ") buckets GROUP BY 1, 2, 3 ORDER BY 3, 1, 2";
+
+        List<Object> args = new ArrayList<>();
+        args.add(granularity.name());
+        args.add(Timestamp.valueOf(start));
+        args.add(Timestamp.valueOf(end));
+        args.addAll(pairArgs);
+        args.add(granularity.name().toLowerCase(Locale.ROOT));
+        args.add(Timestamp.valueOf(start));
+        args.add(Timestamp.valueOf(end));
+        args.addAll(pairArgs);
+        return jdbcTemplate.query(sql, BUCKET, args.toArray());
+    }
+}
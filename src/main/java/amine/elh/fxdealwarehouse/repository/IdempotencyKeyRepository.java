@@ -0,0 +1,30 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Plain insert in the caller's transaction, so a key already taken fails right away instead of
+     * at commit, as a merge through {@code save} would.
+     */
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, request_hash, created_at) "
+            + "values (:key, :hash, :createdAt)", nativeQuery = true)
+    void insert(@Param("key") String key, @Param("hash") byte[] requestHash,
+                @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,22 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    Optional<ImportJob> findFirstByStatusOrderBySubmittedAtAsc(ImportJob.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("update ImportJob j set j.status = :to where j.status = :from")
+    int updateStatus(@Param("from") ImportJob.Status from, @Param("to") ImportJob.Status to);
+}
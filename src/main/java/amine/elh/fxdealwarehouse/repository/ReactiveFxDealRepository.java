@@ -0,0 +1,54 @@
+package amine.elh.fxdealwarehouse.repository;
+
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC counterpart of {@link FxDealBulkRepository#insertIfAbsent(FxDeal)} for the reactive stack.
+ * It issues the same statements as {@link FxDealBulkRepositoryImpl}, so both stacks apply one
+ * duplicate rule.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveFxDealRepository {
+
+    // One nextval per deal uses up a whole allocation-size block; accepted for single-row inserts
+    private static final String INSERT = "INSERT INTO fx_deals "
+            + "(id, deal_unique_id, from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount, imported_at) "
+            + "VALUES (nextval('fx_deals_seq'), :dealUniqueId, :fromCurrency, :toCurrency, :dealTimestamp, :dealAmount, :importedAt)";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveFxDealRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts the deal in its own statement and emits it with its id, or completes empty when the id
+     * is already registered, including by a concurrent transaction (see V8). On H2, which has no
+     * registry trigger, a duplicate surfaces as a {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    public Mono<FxDeal> insertIfAbsent(FxDeal deal) {
+        LocalDateTime importedAt = LocalDateTime.now();
+        return databaseClient.sql(INSERT)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("dealUniqueId", deal.getDealUniqueId())
+                .bind("fromCurrency", deal.getFromCurrencyIsoCode())
+                .bind("toCurrency", deal.getToCurrencyIsoCode())
+                .bind("dealTimestamp", deal.getDealTimestamp())
+                .bind("dealAmount", deal.getDealAmount())
+                .bind("importedAt", importedAt)
+                .map(row -> row.get(0, Long.class))
+                .first()
+                .map(id -> {
+                    deal.setId(id);
+                    deal.setImportedAt(importedAt);
+                    return deal;
+                });
+    }
+}
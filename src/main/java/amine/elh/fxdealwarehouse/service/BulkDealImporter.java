@@ -0,0 +1,460 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Set-based bulk import engine. Requests are validated in memory a chunk at a time, duplicates are
+ * resolved with one {@code IN} query per chunk and survivors are written as JDBC batches (sent as
+ * multi-row INSERTs by the PostgreSQL driver), so the number of round trips grows with the number
+ * of chunks rather than with the number of deals. Ids the {@link DealIdFilter} rules out are not
+ * looked up at all. Transaction boundaries follow the {@link TransactionStrategy}
+ * ({@code fxdeal.import.transaction-strategy}).
+ */
+@Component
+@Slf4j
+public class BulkDealImporter {
+
+    /**
+     * Where a bulk import commits. Invalid and duplicate deals are reported the same way under all
+     * strategies; they only differ in what a failing write takes down with it.
+     */
+    public enum TransactionStrategy {
+        /**
+         * One transaction per deal, without the set-based lookup and batched insert. A failure only
+         * affects its own deal.
+         */
+        PER_DEAL,
+        /**
+         * One transaction per chunk. If the chunk fails it is rolled back and written again in a
+         * single transaction with a savepoint per deal, so a failing deal is rolled back alone and
+         * the rest of the chunk still commits. Earlier chunks are never rolled back.
+         */
+        CHUNK,
+        /**
+         * One transaction for the whole import. Any write failure, or a broken source, rolls back
+         * every deal, which are then reported as {@code FAILED}. Outcomes are held back until the
+         * commit, so memory grows with the size of the import.
+         */
+        ALL_OR_NOTHING
+    }
+
+    private final FxDealRepository repository;
+    private final FxDealRequestValidator requestValidator;
+    private final DealIdFilter dealIdFilter;
+    private final HotDealStore hotStore;
+    private final DealLookupCache lookupCache;
+    private final DealImportMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final TransactionStrategy transactionStrategy;
+
+    public BulkDealImporter(FxDealRepository repository,
+                            FxDealRequestValidator requestValidator,
+                            DealIdFilter dealIdFilter,
+                            HotDealStore hotStore,
+                            DealLookupCache lookupCache,
+                            DealImportMetrics metrics,
+                            PlatformTransactionManager transactionManager,
+                            FxDealImportProperties properties) {
+        this.repository = repository;
+        this.requestValidator = requestValidator;
+        this.dealIdFilter = dealIdFilter;
+        this.hotStore = hotStore;
+        this.lookupCache = lookupCache;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, properties.getChunkSize());
+        this.transactionStrategy = properties.getTransactionStrategy();
+    }
+
+    public BulkImportResult importAll(List<FxDealRequest> requests) {
+        List<DealOutcome> outcomes = new ArrayList<>(requests.size());
+        List<FxDeal> importedDeals = new ArrayList<>();
+        importAll(requests.iterator(), (outcome, deal) -> {
+            outcomes.add(outcome);
+            if (deal != null) {
+                importedDeals.add(deal);
+            }
+        });
+        return new BulkImportResult(outcomes, importedDeals);
+    }
+
+    /**
+     * Streaming variant: reads {@code chunkSize} requests at a time, so memory stays bounded by the
+     * chunk regardless of how many deals the iterator yields (except with
+     * {@link TransactionStrategy#ALL_OR_NOTHING}). Repeated ids in later chunks are caught by the
+     * set-based lookup, since earlier chunks are already committed. If the iterator fails, the deals
+     * read so far are still imported before the failure propagates.
+     */
+    public void importAll(Iterator<FxDealRequest> requests, DealOutcomeListener listener) {
+        importAll(requests, listener, chunkSize);
+    }
+
+    public void importAll(Iterator<FxDealRequest> requests, DealOutcomeListener listener, int chunkSize) {
+        importAll(requests, listener, chunkSize, transactionStrategy);
+    }
+
+    public void importAll(Iterator<FxDealRequest> requests, DealOutcomeListener listener, int chunkSize,
+                          TransactionStrategy strategy) {
+        chunkSize = Math.max(1, chunkSize);
+        if (strategy == TransactionStrategy.ALL_OR_NOTHING) {
+            importAtomically(requests, listener, chunkSize);
+            return;
+        }
+
+        List<FxDealRequest> requestChunk = new ArrayList<>(chunkSize);
+        int firstIndex = 0;
+        try {
+            while (requests.hasNext()) {
+                requestChunk.add(requests.next());
+                if (requestChunk.size() == chunkSize) {
+                    // Handed over before the write, so a listener that stops the import does not see it again
+                    List<FxDealRequest> full = requestChunk;
+                    requestChunk = new ArrayList<>(chunkSize);
+                    importChunk(full, firstIndex, strategy, listener);
+                    firstIndex += full.size();
+                }
+            }
+        } finally {
+            // Deals read before a broken source still get imported
+            if (!requestChunk.isEmpty()) {
+                importChunk(requestChunk, firstIndex, strategy, listener);
+            }
+        }
+    }
+
+    private void importChunk(List<FxDealRequest> requests, int firstIndex, TransactionStrategy strategy,
+                             DealOutcomeListener listener) {
+        Chunk chunk = validate(requests, firstIndex, new HashSet<>());
+        // Each deal commits on its own with PER_DEAL, so only a chunk write can leave nothing committed
+        boolean committed = true;
+        if (!chunk.pending.isEmpty()) {
+            if (strategy == TransactionStrategy.PER_DEAL) {
+                for (int i : chunk.pending) {
+                    writeSingle(chunk, i);
+                }
+            } else {
+                committed = writeChunk(chunk);
+            }
+        }
+        publish(chunk, listener, committed);
+    }
+
+    /**
+     * Writes the whole import in one transaction. Ids are deduplicated across the whole import in
+     * memory, since deals of earlier chunks are not in the {@link DealIdFilter} before the commit.
+     * If the write fails, deals the source had not yielded yet are still read and reported as failed.
+     */
+    private void importAtomically(Iterator<FxDealRequest> requests, DealOutcomeListener listener, int chunkSize) {
+        List<Chunk> chunks = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        AtomicReference<RuntimeException> sourceFailure = new AtomicReference<>();
+        AtomicInteger nextIndex = new AtomicInteger();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                metrics.timeCommit();
+                List<FxDealRequest> requestChunk = new ArrayList<>(chunkSize);
+                while (true) {
+                    try {
+                        if (!requests.hasNext()) {
+                            break;
+                        }
+                        requestChunk.add(requests.next());
+                    } catch (RuntimeException e) {
+                        sourceFailure.set(e);
+                        throw e;
+                    }
+                    if (requestChunk.size() == chunkSize) {
+                        insertAtomically(chunks, requestChunk, nextIndex, seenIds);
+                        requestChunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!requestChunk.isEmpty()) {
+                    insertAtomically(chunks, requestChunk, nextIndex, seenIds);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("All-or-nothing import of {} chunks rolled back: {}", chunks.size(), e.getMessage());
+            String reason = "Rolled back with the rest of the import: " + e.getMessage();
+            for (Chunk chunk : chunks) {
+                chunk.rollBack(reason);
+                publish(chunk, listener, false);
+            }
+            if (sourceFailure.get() != null) {
+                throw sourceFailure.get();
+            }
+            failUnread(requests, nextIndex.get(), chunkSize, listener, reason);
+            return;
+        }
+        for (Chunk chunk : chunks) {
+            chunk.learnAcceptedDeals();
+            publish(chunk, listener, true);
+        }
+    }
+
+    // The chunk is registered before its write, so a failing write still reports its deals
+    private void insertAtomically(List<Chunk> chunks, List<FxDealRequest> requests, AtomicInteger nextIndex,
+                                  Set<String> seenIds) {
+        Chunk chunk = validate(requests, nextIndex.getAndAdd(requests.size()), seenIds);
+        chunks.add(chunk);
+        if (!chunk.pending.isEmpty()) {
+            insertChunk(chunk);
+        }
+    }
+
+    /**
+     * Reads the rest of a rolled-back import, a chunk at a time, and reports every deal as failed
+     * so that no deal of the request goes without an outcome.
+     */
+    private void failUnread(Iterator<FxDealRequest> requests, int firstIndex, int chunkSize,
+                            DealOutcomeListener listener, String reason) {
+        List<FxDealRequest> requestChunk = new ArrayList<>(chunkSize);
+        try {
+            while (requests.hasNext()) {
+                requestChunk.add(requests.next());
+                if (requestChunk.size() == chunkSize) {
+                    failChunk(requestChunk, firstIndex, listener, reason);
+                    firstIndex += requestChunk.size();
+                    requestChunk.clear();
+                }
+            }
+        } finally {
+            if (!requestChunk.isEmpty()) {
+                failChunk(requestChunk, firstIndex, listener, reason);
+            }
+        }
+    }
+
+    private void failChunk(List<FxDealRequest> requests, int firstIndex, DealOutcomeListener listener,
+                           String reason) {
+        Chunk chunk = new Chunk(new ArrayList<>(requests), firstIndex);
+        for (int i = 0; i < requests.size(); i++) {
+            chunk.outcomes[i] = outcome(firstIndex + i, requests.get(i), DealOutcome.Status.FAILED, reason);
+        }
+        publish(chunk, listener, false);
+    }
+
+    private Chunk validate(List<FxDealRequest> requests, int firstIndex, Set<String> seenIds) {
+        Chunk chunk = new Chunk(new ArrayList<>(requests), firstIndex);
+        for (int i = 0; i < requests.size(); i++) {
+            FxDealRequest request = requests.get(i);
+            String reason = requestValidator.rejectionReason(request);
+            if (reason != null) {
+                chunk.outcomes[i] = outcome(firstIndex + i, request, DealOutcome.Status.INVALID, reason);
+            } else if (!seenIds.add(request.getDealUniqueId())) {
+                chunk.outcomes[i] = outcome(firstIndex + i, request, DealOutcome.Status.DUPLICATE,
+                        "Deal with ID " + request.getDealUniqueId() + " appears more than once in the request");
+            } else {
+                chunk.pending.add(i);
+            }
+        }
+        return chunk;
+    }
+
+    private void publish(Chunk chunk, DealOutcomeListener listener, boolean committed) {
+        for (int i = 0; i < chunk.requests.size(); i++) {
+            metrics.recordOutcome(chunk.outcomes[i].getStatus(), chunk.requests.get(i));
+            listener.onOutcome(chunk.outcomes[i], chunk.saved[i]);
+        }
+        if (committed) {
+            listener.onChunkCompleted();
+        } else {
+            listener.onChunkRolledBack();
+        }
+    }
+
+    /**
+     * Returns whether the chunk committed, directly or through the savepoint retry.
+     */
+    private boolean writeChunk(Chunk chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                metrics.timeCommit();
+                insertChunk(chunk);
+            });
+            chunk.learnAcceptedDeals();
+            return true;
+        } catch (RuntimeException e) {
+            // Typically a concurrent writer inserted one of the ids between our lookup and our INSERT.
+            // The retry queries the database directly, so ids the filter has not seen are still caught.
+            log.warn("Chunk of {} deals failed ({}), retrying deal by deal under savepoints",
+                    chunk.pending.size(), e.getMessage());
+            chunk.clearSaved();
+            return writeWithSavepoints(chunk);
+        }
+    }
+
+    private void insertChunk(Chunk chunk) {
+        Set<String> existing = metrics.time(Stage.DEDUP, () -> {
+            List<String> candidates = chunk.pending.stream()
+                    .map(i -> chunk.requests.get(i).getDealUniqueId())
+                    .filter(dealIdFilter::mightContain)
+                    .toList();
+            Set<String> found = candidates.isEmpty()
+                    ? Set.of()
+                    : repository.findExistingDealUniqueIds(candidates);
+            dealIdFilter.recordFalsePositives(candidates.size() - found.size());
+            return found;
+        });
+
+        List<Integer> fresh = new ArrayList<>(chunk.pending.size());
+        for (int i : chunk.pending) {
+            if (existing.contains(chunk.requests.get(i).getDealUniqueId())) {
+                chunk.outcomes[i] = duplicate(chunk.firstIndex + i, chunk.requests.get(i));
+            } else {
+                fresh.add(i);
+            }
+        }
+
+        List<FxDeal> deals = fresh.stream().map(i -> FxDealMapper.toEntity(chunk.requests.get(i))).toList();
+        List<FxDeal> inserted = metrics.time(Stage.INSERT, () -> repository.insertAll(deals));
+        for (int k = 0; k < fresh.size(); k++) {
+            int i = fresh.get(k);
+            chunk.saved[i] = inserted.get(k);
+            chunk.outcomes[i] = outcome(chunk.firstIndex + i, chunk.requests.get(i), DealOutcome.Status.ACCEPTED, null);
+        }
+    }
+
+    /**
+     * Retries a failed chunk in one transaction, each deal under its own savepoint: a deal that
+     * fails is rolled back to its savepoint and reported on its own, the others commit together.
+     */
+    private boolean writeWithSavepoints(Chunk chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                metrics.timeCommit();
+                for (int i : chunk.pending) {
+                    insertUnderSavepoint(chunk, i);
+                }
+            });
+            chunk.learnAcceptedDeals();
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Deal-by-deal retry of {} deals failed: {}", chunk.pending.size(), e.getMessage());
+            chunk.rollBack(e.getMessage());
+            return false;
+        }
+    }
+
+    private void insertUnderSavepoint(Chunk chunk, int slot) {
+        FxDealRequest request = chunk.requests.get(slot);
+        int index = chunk.firstIndex + slot;
+        try {
+            FxDeal deal = metrics.time(Stage.INSERT, () ->
+                    repository.insertIfAbsentUnderSavepoint(FxDealMapper.toEntity(request)).orElse(null));
+            chunk.saved[slot] = deal;
+            chunk.outcomes[slot] = deal != null
+                    ? outcome(index, request, DealOutcome.Status.ACCEPTED, null)
+                    : duplicate(index, request);
+        } catch (RuntimeException e) {
+            log.error("Failed to import deal {}: {}", request.getDealUniqueId(), e.getMessage());
+            chunk.outcomes[slot] = outcome(index, request, DealOutcome.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void writeSingle(Chunk chunk, int slot) {
+        FxDealRequest request = chunk.requests.get(slot);
+        int index = chunk.firstIndex + slot;
+        try {
+            chunk.saved[slot] = transactionTemplate.execute(status -> {
+                metrics.timeCommit();
+                return metrics.time(Stage.INSERT, () ->
+                        repository.insertIfAbsent(FxDealMapper.toEntity(request)).orElse(null));
+            });
+            if (chunk.saved[slot] == null) {
+                chunk.outcomes[slot] = duplicate(index, request);
+                return;
+            }
+            chunk.outcomes[slot] = outcome(index, request, DealOutcome.Status.ACCEPTED, null);
+            dealIdFilter.put(request.getDealUniqueId());
+            hotStore.add(chunk.saved[slot]);
+            lookupCache.put(chunk.saved[slot]);
+        } catch (RuntimeException e) {
+            log.error("Failed to import deal {}: {}", request.getDealUniqueId(), e.getMessage());
+            chunk.outcomes[slot] = outcome(index, request, DealOutcome.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private static DealOutcome duplicate(int index, FxDealRequest request) {
+        return outcome(index, request, DealOutcome.Status.DUPLICATE,
+                "Deal with ID " + request.getDealUniqueId() + " already exists");
+    }
+
+    private static DealOutcome outcome(int index, FxDealRequest request, DealOutcome.Status status, String reason) {
+        return DealOutcome.builder()
+                .index(index)
+                .dealUniqueId(request != null ? request.getDealUniqueId() : null)
+                .status(status)
+                .reason(reason)
+                .build();
+    }
+
+    /**
+     * One chunk of requests with its outcomes and stored deals, by position in the chunk.
+     * {@code pending} lists the positions that passed validation and still have to be written.
+     */
+    private final class Chunk {
+
+        private final List<FxDealRequest> requests;
+        private final int firstIndex;
+        private final DealOutcome[] outcomes;
+        private final FxDeal[] saved;
+        private final List<Integer> pending;
+
+        private Chunk(List<FxDealRequest> requests, int firstIndex) {
+            this.requests = requests;
+            this.firstIndex = firstIndex;
+            this.outcomes = new DealOutcome[requests.size()];
+            this.saved = new FxDeal[requests.size()];
+            this.pending = new ArrayList<>(requests.size());
+        }
+
+        // Only once the chunk has committed
+        private void learnAcceptedDeals() {
+            for (int i : pending) {
+                if (saved[i] != null) {
+                    dealIdFilter.put(saved[i].getDealUniqueId());
+                    hotStore.add(saved[i]);
+                    lookupCache.put(saved[i]);
+                }
+            }
+        }
+
+        private void clearSaved() {
+            for (int i : pending) {
+                saved[i] = null;
+            }
+        }
+
+        /**
+         * Reports every deal this chunk was going to write as failed; rejections made before the
+         * write are kept.
+         */
+        private void rollBack(String reason) {
+            for (int i : pending) {
+                saved[i] = null;
+                outcomes[i] = outcome(firstIndex + i, requests.get(i), DealOutcome.Status.FAILED, reason);
+            }
+        }
+    }
+}
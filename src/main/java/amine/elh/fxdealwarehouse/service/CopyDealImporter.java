@@ -0,0 +1,127 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.dto.CopyImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealCopyRepository;
+import amine.elh.fxdealwarehouse.repository.FxDealCopyRepository.CopyMergeResult;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Backfill path for very large files: deals are validated as they are read and streamed straight
+ * into PostgreSQL through COPY, then merged in one statement. Only rejected deals are kept in memory;
+ * inserted and duplicate deals are reported as counts. The whole file is one transaction.
+ */
+@Component
+@Slf4j
+public class CopyDealImporter {
+
+    private final FxDealCopyRepository copyRepository;
+    private final FxDealRequestValidator requestValidator;
+    private final DealIdFilter dealIdFilter;
+    private final HotDealStore hotStore;
+    private final DealImportMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public CopyDealImporter(FxDealCopyRepository copyRepository,
+                            FxDealRequestValidator requestValidator,
+                            DealIdFilter dealIdFilter,
+                            HotDealStore hotStore,
+                            DealImportMetrics metrics,
+                            PlatformTransactionManager transactionManager) {
+        this.copyRepository = copyRepository;
+        this.requestValidator = requestValidator;
+        this.dealIdFilter = dealIdFilter;
+        this.hotStore = hotStore;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public CopyImportResult importAll(Iterator<FxDealRequest> requests) {
+        ValidatingIterator valid = new ValidatingIterator(requests);
+        CopyMergeResult merge = transactionTemplate.execute(status -> {
+            metrics.timeCommit();
+            // The COPY pulls deals through the validating iterator, so this also covers their validation
+            return metrics.time(Stage.INSERT, () -> copyRepository.copyAndMerge(valid));
+        });
+        // The merge does not say which deals it inserted
+        if (merge.inserted() > 0) {
+            hotStore.markStale(valid.newestTimestamp);
+        }
+
+        CopyImportResult result = CopyImportResult.builder()
+                .total(valid.index)
+                .inserted(merge.inserted())
+                .duplicates(merge.staged() - merge.inserted())
+                .invalid(valid.rejected.size())
+                .rejected(valid.rejected)
+                .build();
+        metrics.recordOutcomes(DealOutcome.Status.ACCEPTED, result.getInserted());
+        metrics.recordOutcomes(DealOutcome.Status.DUPLICATE, result.getDuplicates());
+        log.info("COPY import finished: {} deals, {} inserted, {} duplicates, {} invalid",
+                result.getTotal(), result.getInserted(), result.getDuplicates(), result.getInvalid());
+        return result;
+    }
+
+    private class ValidatingIterator implements Iterator<FxDeal> {
+
+        private final Iterator<FxDealRequest> source;
+        private final List<DealOutcome> rejected = new ArrayList<>();
+        private FxDeal next;
+        private int index;
+        private LocalDateTime newestTimestamp;
+
+        ValidatingIterator(Iterator<FxDealRequest> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && source.hasNext()) {
+                FxDealRequest request = source.next();
+                String reason = requestValidator.rejectionReason(request);
+                if (reason == null) {
+                    next = FxDealMapper.toEntity(request);
+                    if (newestTimestamp == null || next.getDealTimestamp().isAfter(newestTimestamp)) {
+                        newestTimestamp = next.getDealTimestamp();
+                    }
+                    // Ids that turn out to be duplicates or roll back only cost a false positive later
+                    dealIdFilter.put(next.getDealUniqueId());
+                } else {
+                    metrics.recordOutcome(DealOutcome.Status.INVALID, request);
+                    rejected.add(DealOutcome.builder()
+                            .index(index)
+                            .dealUniqueId(request != null ? request.getDealUniqueId() : null)
+                            .status(DealOutcome.Status.INVALID)
+                            .reason(reason)
+                            .build());
+                }
+                index++;
+            }
+            return next != null;
+        }
+
+        @Override
+        public FxDeal next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FxDeal deal = next;
+            next = null;
+            return deal;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealGroupCommitProperties;
+import amine.elh.fxdealwarehouse.dto.DealImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.IngestionOverloadedException;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter.TransactionStrategy;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Write-behind mode for single-deal imports ({@code fxdeal.group-commit.enabled}). Validated deals
+ * wait in a bounded buffer; one flusher thread writes them through {@link BulkDealImporter} in a
+ * single transaction once {@code max-batch-size} deals are waiting or the oldest has waited
+ * {@code max-delay}. A request returns only after its batch has committed, so an acknowledged deal
+ * is as durable as with one transaction per deal, but thousands of requests share one commit.
+ * A full buffer or a batch that does not commit within {@code ack-timeout} is answered with 503.
+ */
+@Component
+@Slf4j
+public class DealGroupCommitter implements MeterBinder {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final FxDealValidator validator;
+    private final BulkDealImporter bulkImporter;
+    private final DealImportMetrics metrics;
+    private final SampledDealLog dealLog;
+    private final FxDealGroupCommitProperties properties;
+    private final BlockingQueue<PendingDeal> buffer;
+    private final int maxBatchSize;
+    private final Thread flusher;
+    private volatile DistributionSummary batchSizes;
+    private volatile boolean running;
+
+    public DealGroupCommitter(FxDealValidator validator,
+                              BulkDealImporter bulkImporter,
+                              DealImportMetrics metrics,
+                              SampledDealLog dealLog,
+                              FxDealGroupCommitProperties properties) {
+        this.validator = validator;
+        this.bulkImporter = bulkImporter;
+        this.metrics = metrics;
+        this.dealLog = dealLog;
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, properties.getBufferCapacity()));
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.flusher = new Thread(this::flushLoop, "deal-group-commit");
+        if (properties.isEnabled()) {
+            running = true;
+            flusher.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Same contract as {@link FxDealService#importDeal(FxDealRequest)}, but the deal is written with
+     * the other deals buffered at the same time.
+     */
+    public FxDeal importDeal(FxDealRequest request) {
+        return tryImportDeal(request).orElseThrow();
+    }
+
+    /**
+     * Same contract as {@link FxDealService#tryImportDeal(FxDealRequest)}; a full buffer or a missed
+     * acknowledgement is still thrown, as the outcome of the deal is unknown.
+     */
+    public DealImportResult tryImportDeal(FxDealRequest request) {
+        long started = System.nanoTime();
+        DealValidationError error = validator.check(request);
+        metrics.record(Stage.BUSINESS_VALIDATION, started);
+        if (error != null) {
+            metrics.recordOutcome(DealOutcome.Status.INVALID, request);
+            dealLog.outcome(DealOutcome.Status.INVALID, request.getDealUniqueId());
+            return DealImportResult.rejected(DealOutcome.Status.INVALID, error.message(request));
+        }
+
+        PendingDeal pending = new PendingDeal(request);
+        try {
+            if (!running || !buffer.offer(pending, properties.getEnqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IngestionOverloadedException("Ingestion buffer is full, retry later");
+            }
+            DealImportResult result = pending.result().get(properties.getAckTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            dealLog.outcome(result.status(), request.getDealUniqueId());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestionOverloadedException("Interrupted while waiting for deal " + request.getDealUniqueId());
+        } catch (TimeoutException e) {
+            // The batch may still commit; a retry then reports the deal as a duplicate
+            throw new IngestionOverloadedException("Deal " + request.getDealUniqueId()
+                    + " was not committed within " + properties.getAckTimeout().toMillis() + " ms, outcome unknown");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Requests still waiting get their batch written before the connection pool goes away
+        running = false;
+        if (flusher.isAlive()) {
+            flusher.join(properties.getAckTimeout().toMillis());
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingDeal> batch = new ArrayList<>(maxBatchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingDeal first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, System.nanoTime() + properties.getMaxDelay().toNanos());
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(
+                        new IngestionOverloadedException("Group commit stopped")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit of {} deals failed: {}", batch.size(), e.getMessage());
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<PendingDeal> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            buffer.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingDeal next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingDeal> batch) {
+        if (batchSizes != null) {
+            batchSizes.record(batch.size());
+        }
+        List<FxDealRequest> requests = batch.stream().map(PendingDeal::request).toList();
+        // One chunk for the whole batch: a single transaction, with the importer's savepoint retry.
+        // Fixed to CHUNK so one failing deal never fails the batch of unrelated clients.
+        bulkImporter.importAll(requests.iterator(), (outcome, deal) -> {
+            PendingDeal pending = batch.get(outcome.getIndex());
+            switch (outcome.getStatus()) {
+                case ACCEPTED -> pending.result().complete(DealImportResult.accepted(deal));
+                case DUPLICATE -> pending.result().complete(DealImportResult.rejected(DealOutcome.Status.DUPLICATE,
+                        "Deal with ID " + pending.request().getDealUniqueId() + " already exists"));
+                default -> pending.result().complete(
+                        DealImportResult.rejected(outcome.getStatus(), outcome.getReason()));
+            }
+        }, batch.size(), TransactionStrategy.CHUNK);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        batchSizes = DistributionSummary.builder("fxdeal.group.commit.batch.size")
+                .description("Deals written per group commit")
+                .register(registry);
+        Gauge.builder("fxdeal.group.commit.buffer.depth", buffer, BlockingQueue::size)
+                .description("Deals waiting for the next group commit")
+                .register(registry);
+    }
+
+    private record PendingDeal(FxDealRequest request, CompletableFuture<DealImportResult> result) {
+
+        PendingDeal(FxDealRequest request) {
+            this(request, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealDedupProperties;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Probabilistic set of every stored {@code dealUniqueId}, consulted before the duplicate lookup
+ * queries. A "definitely absent" answer skips the database; "maybe present" still goes to it, so a
+ * false positive only costs the query we would have run anyway. Ids are added after every insert and
+ * the filter is warmed from {@code fx_deals} at startup; until warm-up completes every id is treated
+ * as maybe present. Ids written by other application instances are not seen here, which is why the
+ * unique index remains the final arbiter on every write path.
+ */
+@Component
+@Slf4j
+public class DealIdFilter implements MeterBinder {
+
+    private final FxDealRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final ScalableBloomFilter filter;
+    private final LongAdder definitelyAbsent = new LongAdder();
+    private final LongAdder maybePresent = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile boolean warm;
+
+    public DealIdFilter(FxDealRepository repository,
+                        PlatformTransactionManager transactionManager,
+                        FxDealDedupProperties properties) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = properties.isEnabled();
+        this.filter = new ScalableBloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> ids = repository.streamAllDealUniqueIds()) {
+                ids.forEach(filter::put);
+            }
+        });
+        warm = true;
+        log.info("Deal id filter warmed with {} ids in {} ms ({} KB)", filter.approximateSize(),
+                (System.nanoTime() - started) / 1_000_000, filter.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Returns {@code false} only if the id has certainly never been stored.
+     */
+    public boolean mightContain(String dealUniqueId) {
+        if (!enabled || !warm) {
+            return true;
+        }
+        if (filter.mightContain(dealUniqueId)) {
+            maybePresent.increment();
+            return true;
+        }
+        definitelyAbsent.increment();
+        return false;
+    }
+
+    public void put(String dealUniqueId) {
+        if (enabled) {
+            filter.put(dealUniqueId);
+        }
+    }
+
+    public void putAll(Collection<String> dealUniqueIds) {
+        dealUniqueIds.forEach(this::put);
+    }
+
+    /**
+     * Records ids the filter reported as maybe present that the database then did not find.
+     */
+    public void recordFalsePositives(long count) {
+        if (enabled && warm && count > 0) {
+            falsePositives.add(count);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fxdeal.dedup.filter.lookups", definitelyAbsent, LongAdder::sum)
+                .tag("result", "definitely_absent")
+                .description("Deal ids resolved by the filter without a database lookup")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.dedup.filter.lookups", maybePresent, LongAdder::sum)
+                .tag("result", "maybe_present")
+                .description("Deal ids the filter sent on to the database lookup")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.dedup.filter.false.positives", falsePositives, LongAdder::sum)
+                .description("Deal ids reported as maybe present that were not stored")
+                .register(registry);
+        Gauge.builder("fxdeal.dedup.filter.expected.fpp", filter, ScalableBloomFilter::expectedFalsePositiveRate)
+                .description("Estimated false-positive probability at the current fill")
+                .register(registry);
+        Gauge.builder("fxdeal.dedup.filter.target.fpp", filter, ScalableBloomFilter::targetFalsePositiveRate)
+                .description("Configured false-positive rate")
+                .register(registry);
+        Gauge.builder("fxdeal.dedup.filter.size", filter, ScalableBloomFilter::approximateSize)
+                .description("Approximate number of deal ids in the filter")
+                .register(registry);
+        Gauge.builder("fxdeal.dedup.filter.memory", filter, ScalableBloomFilter::sizeInBytes)
+                .baseUnit("bytes")
+                .description("Heap used by the filter bit arrays")
+                .register(registry);
+        Gauge.builder("fxdeal.dedup.filter.stages", filter, ScalableBloomFilter::stageCount)
+                .description("Number of chained filter stages")
+                .register(registry);
+    }
+}
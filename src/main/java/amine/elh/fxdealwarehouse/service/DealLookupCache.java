@@ -0,0 +1,151 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealLookupCacheProperties;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Bounded cache of deals by {@code dealUniqueId} in front of the lookup query. Deals never change
+ * once imported, so a deal is cached when it is inserted, or on its first lookup, and stays valid
+ * until evicted or its partition expires. Eviction is Caffeine's W-TinyLFU: a new deal only displaces
+ * one that is looked up less often, so a large bulk import does not flush the deals reconciliation
+ * keeps asking for. The bound is an estimate of the heap held, in bytes.
+ * <p>
+ * Unknown ids are not cached, since the deal may still be imported, here or by another instance.
+ */
+@Component
+public class DealLookupCache implements MeterBinder {
+
+    // Cache node, FxDeal, boxed id, two currency strings, two LocalDateTimes and a compact BigDecimal
+    static final int DEAL_OVERHEAD_BYTES = 440;
+    // String object and its byte[] header; ids are Latin-1, so one byte per character
+    static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final boolean enabled;
+    private final long maximumBytes;
+    private final Cache<String, FxDeal> cache;
+
+    public DealLookupCache(FxDealLookupCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maximumBytes = properties.getMaximumSize().toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher(DealLookupCache::weigh)
+                .recordStats()
+                .build();
+    }
+
+    static int weigh(String dealUniqueId, FxDeal deal) {
+        return DEAL_OVERHEAD_BYTES + STRING_OVERHEAD_BYTES + ((dealUniqueId.length() + 7) & ~7);
+    }
+
+    public Optional<FxDeal> get(String dealUniqueId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(dealUniqueId));
+    }
+
+    /**
+     * Caches a deal that has been committed, or read back from the database.
+     */
+    public void put(FxDeal deal) {
+        if (enabled) {
+            cache.put(deal.getDealUniqueId(), deal);
+        }
+    }
+
+    /**
+     * Caches the deal once the current transaction commits, or right away outside a transaction.
+     */
+    public void putAfterCommit(FxDeal deal) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(deal);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(deal);
+            }
+        });
+    }
+
+    /**
+     * Drops the deals dated before {@code cutoff}, once the partitions holding them have expired.
+     */
+    public void evictBefore(LocalDateTime cutoff) {
+        if (enabled) {
+            cache.asMap().values().removeIf(deal -> deal.getDealTimestamp().isBefore(cutoff));
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Estimated heap held by the cached deals. Pending evictions run first, so the figure never
+     * exceeds the configured maximum.
+     */
+    public long memoryBytes() {
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fxdeal.lookup.cache.requests", cache, c -> c.stats().hitCount())
+                .tag("result", "hit")
+                .description("Deal lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.lookup.cache.requests", cache, c -> c.stats().missCount())
+                .tag("result", "miss")
+                .description("Deal lookups sent on to the database")
+                .register(registry);
+        Gauge.builder("fxdeal.lookup.cache.hit.ratio", cache, c -> hitRatio(c.stats()))
+                .description("Share of deal lookups served from the cache since startup")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.lookup.cache.evictions", cache, c -> c.stats().evictionCount())
+                .description("Deals evicted to stay within the size limit")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.lookup.cache.evicted", cache, c -> c.stats().evictionWeight())
+                .baseUnit("bytes")
+                .description("Estimated heap released by evictions")
+                .register(registry);
+        Gauge.builder("fxdeal.lookup.cache.size", this, DealLookupCache::size)
+                .description("Approximate number of cached deals")
+                .register(registry);
+        Gauge.builder("fxdeal.lookup.cache.memory", this, DealLookupCache::memoryBytes)
+                .baseUnit("bytes")
+                .description("Estimated heap held by the cached deals")
+                .register(registry);
+        Gauge.builder("fxdeal.lookup.cache.memory.max", this, c -> c.maximumBytes)
+                .baseUnit("bytes")
+                .description("Configured size limit of the cache")
+                .register(registry);
+    }
+
+    // CacheStats.hitRate() is 1.0 before any request, which would read as a perfect cache
+    private static double hitRatio(CacheStats stats) {
+        long requests = stats.requestCount();
+        return requests == 0 ? 0.0 : (double) stats.hitCount() / requests;
+    }
+}
@@ -0,0 +1,30 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+
+/**
+ * Receives per-deal outcomes from {@link BulkDealImporter} once the chunk they belong to has been
+ * resolved, in input order.
+ */
+@FunctionalInterface
+public interface DealOutcomeListener {
+
+    /**
+     * @param importedDeal the persisted deal when the outcome is {@code ACCEPTED}, otherwise {@code null}
+     */
+    void onOutcome(DealOutcome outcome, FxDeal importedDeal);
+
+    /**
+     * Called after the last outcome of a chunk, once that chunk has been committed.
+     */
+    default void onChunkCompleted() {
+    }
+
+    /**
+     * Called after the last outcome of a chunk that did not commit, even after the savepoint retry; its
+     * deals were reported as {@code FAILED}. Throwing stops the import before the next chunk is read.
+     */
+    default void onChunkRolledBack() {
+    }
+}
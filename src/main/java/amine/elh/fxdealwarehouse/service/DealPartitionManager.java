@@ -0,0 +1,107 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealPartitionProperties;
+import amine.elh.fxdealwarehouse.repository.FxDealPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the monthly partitions of {@code fx_deals} ahead of incoming deals and enforces the
+ * retention policy. Runs once at startup and then on {@code fxdeal.partitioning.cron} (daily by
+ * default); each partition is handled in its own transaction so one failure does not block the rest.
+ */
+@Component
+@Slf4j
+public class DealPartitionManager {
+
+    private final FxDealPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FxDealPartitionProperties properties;
+    private final DealLookupCache lookupCache;
+
+    public DealPartitionManager(FxDealPartitionRepository partitionRepository,
+                                PlatformTransactionManager transactionManager,
+                                FxDealPartitionProperties properties,
+                                DealLookupCache lookupCache) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.lookupCache = lookupCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${fxdeal.partitioning.cron:0 30 2 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!partitionRepository.isPartitioned()) {
+            log.warn("fx_deals is not partitioned; skipping partition maintenance");
+            return;
+        }
+        maintain(YearMonth.now());
+    }
+
+    void maintain(YearMonth current) {
+        List<YearMonth> existing = partitionRepository.findMonthlyPartitions();
+        createUpcoming(current, new HashSet<>(existing));
+        if (properties.getRetentionMonths() > 0) {
+            expire(current.minusMonths(properties.getRetentionMonths() - 1L), existing);
+        }
+    }
+
+    private void createUpcoming(YearMonth current, Set<YearMonth> existing) {
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            try {
+                partitionRepository.createMonthlyPartition(month);
+                log.info("Created partition {}", FxDealPartitionRepository.partitionName(month));
+            } catch (DataAccessException e) {
+                log.error("Could not create partition {}: {}",
+                        FxDealPartitionRepository.partitionName(month), e.getMessage());
+            }
+        }
+    }
+
+    private void expire(YearMonth oldestKept, List<YearMonth> existing) {
+        for (YearMonth month : existing) {
+            if (!month.isBefore(oldestKept)) {
+                break;
+            }
+            String name = FxDealPartitionRepository.partitionName(month);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    partitionRepository.detachMonthlyPartition(month);
+                    if (properties.isDropExpired()) {
+                        partitionRepository.dropDetachedPartition(month);
+                    }
+                });
+                log.info("{} expired partition {}", properties.isDropExpired() ? "Dropped" : "Detached", name);
+            } catch (DataAccessException e) {
+                log.error("Could not expire partition {}: {}", name, e.getMessage());
+            }
+        }
+        LocalDateTime cutoff = oldestKept.atDay(1).atStartOfDay();
+        int deleted = transactionTemplate.execute(status ->
+                partitionRepository.deleteDefaultPartitionRowsBefore(cutoff));
+        if (deleted > 0) {
+            log.info("Deleted {} expired deals from the default partition", deleted);
+        }
+        lookupCache.evictBefore(cutoff);
+    }
+}
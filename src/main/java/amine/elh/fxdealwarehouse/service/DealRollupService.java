@@ -0,0 +1,88 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealRollupProperties;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.exception.InvalidQueryException;
+import amine.elh.fxdealwarehouse.repository.FxDealRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serves currency-pair volume from the rollups and keeps them folded. Deltas written by the
+ * {@code fx_deals} trigger are moved into the rollups every {@code fxdeal.rollups.fold-interval},
+ * {@code fold-batch-size} deltas per transaction; queries add the deltas still pending, so results
+ * are exact at any time.
+ */
+@Service
+@Slf4j
+public class DealRollupService {
+
+    private final FxDealRollupRepository repository;
+    private final HotDealStore hotStore;
+    private final TransactionTemplate transactionTemplate;
+    private final FxDealRollupProperties properties;
+
+    public DealRollupService(FxDealRollupRepository repository,
+                             HotDealStore hotStore,
+                             PlatformTransactionManager transactionManager,
+                             FxDealRollupProperties properties) {
+        this.repository = repository;
+        this.hotStore = hotStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${fxdeal.rollups.fold-interval:5s}")
+    public void foldPending() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int batchSize = Math.max(1, properties.getFoldBatchSize());
+        long total = 0;
+        try {
+            long folded;
+            do {
+                // Another instance holding the lock is folding the same deltas; leave them to it
+                Long batch = transactionTemplate.execute(status ->
+                        repository.tryLockFold() ? repository.fold(batchSize) : 0L);
+                folded = batch != null ? batch : 0;
+                total += folded;
+            } while (folded == batchSize);
+        } catch (DataAccessException e) {
+            log.error("Folding rollup deltas failed after {} deltas: {}", total, e.getMessage());
+            return;
+        }
+        if (total > 0) {
+            log.debug("Folded {} rollup deltas", total);
+        }
+    }
+
+    /**
+     * Volume per bucket of {@code granularity} between the bucket containing {@code start} and the
+     * first bucket starting at or after {@code end}. Windows inside the {@link HotDealStore} are
+     * computed from memory.
+     */
+    public List<VolumeBucket> getVolume(Granularity granularity, String fromCurrency, String toCurrency,
+                                        LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new InvalidQueryException("start must be before end");
+        }
+        LocalDateTime first = granularity.floor(start);
+        LocalDateTime last = granularity.ceil(end);
+        long buckets = granularity.bucketsBetween(first, last);
+        if (buckets > properties.getMaxBuckets()) {
+            throw new InvalidQueryException("Time window spans " + buckets + " " + granularity
+                    + " buckets, at most " + properties.getMaxBuckets() + " allowed; use a coarser granularity");
+        }
+        return hotStore.findVolume(granularity, fromCurrency, toCurrency, first, last)
+                .orElseGet(() -> repository.findVolume(granularity, fromCurrency, toCurrency, first, last));
+    }
+}
@@ -0,0 +1,20 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+
+final class FxDealMapper {
+
+    private FxDealMapper() {
+    }
+
+    static FxDeal toEntity(FxDealRequest request) {
+        return FxDeal.builder()
+                .dealUniqueId(request.getDealUniqueId())
+                .fromCurrencyIsoCode(request.getFromCurrencyIsoCode())
+                .toCurrencyIsoCode(request.getToCurrencyIsoCode())
+                .dealTimestamp(request.getDealTimestamp())
+                .dealAmount(request.getDealAmount())
+                .build();
+    }
+}
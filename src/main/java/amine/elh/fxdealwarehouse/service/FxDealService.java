@@ -1,12 +1,56 @@
 package amine.elh.fxdealwarehouse.service;
 
+import amine.elh.fxdealwarehouse.dto.BulkImportReport;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.CopyImportResult;
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealImportResult;
+import amine.elh.fxdealwarehouse.dto.DealPage;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
 import amine.elh.fxdealwarehouse.dto.FxDealRequest;
 import amine.elh.fxdealwarehouse.model.FxDeal;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FxDealService {
     FxDeal importDeal(FxDealRequest request);
+
+    /**
+     * Same as {@link #importDeal(FxDealRequest)}, also recording the idempotency key and request
+     * hash in the deal's transaction. Fails if the key is already taken.
+     */
+    FxDeal importDeal(FxDealRequest request, String idempotencyKey, byte[] requestHash);
+
+    /**
+     * Same as {@link #importDeal(FxDealRequest)}, but duplicates and invalid deals are returned as
+     * results rather than thrown.
+     */
+    DealImportResult tryImportDeal(FxDealRequest request);
+
     List<FxDeal> importDeals(List<FxDealRequest> requests);
-    List<FxDeal> getAllDeals();
-}
\ No newline at end of file
+    BulkImportResult bulkImport(List<FxDealRequest> requests);
+
+    /**
+     * Same import as {@link #bulkImport(List)}, keeping only counts, rejections and optionally the
+     * accepted ids instead of every persisted deal.
+     */
+    BulkImportReport bulkImportReport(List<FxDealRequest> requests, boolean includeAcceptedIds);
+
+    /**
+     * COPY import of a JSON array read element by element, so the request body is never held in memory.
+     */
+    CopyImportResult copyImport(InputStream jsonArray);
+    BulkImportSummary importDealStream(InputStream jsonArray, DealOutcomeListener listener);
+    BulkImportSummary importNdjsonStream(InputStream ndjson, long resumeAfterLine, int chunkSize,
+                                         DealOutcomeListener listener);
+    DealPage getDeals(DealQuery query, DealCursor after, int limit);
+
+    /**
+     * The deal stored under {@code dealUniqueId}, from the lookup cache when it holds it.
+     */
+    FxDeal getDeal(String dealUniqueId);
+    long exportDeals(Consumer<FxDeal> sink);
+}
@@ -1,20 +1,39 @@
 package amine.elh.fxdealwarehouse.service;
 
+import amine.elh.fxdealwarehouse.dto.BulkImportReport;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.CopyImportResult;
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.DealPage;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
 import amine.elh.fxdealwarehouse.dto.FxDealRequest;
-import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.exception.DealNotFoundException;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
 import amine.elh.fxdealwarehouse.model.FxDeal;
 import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.repository.IdempotencyKeyRepository;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
 import amine.elh.fxdealwarehouse.validator.FxDealValidator;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,77 +42,247 @@ public class FxDealServiceImpl implements FxDealService {
 
     private final FxDealRepository repository;
     private final FxDealValidator validator;
-    private final Validator beanValidator;
+    private final DealIdFilter dealIdFilter;
+    private final BulkDealImporter bulkImporter;
+    private final CopyDealImporter copyImporter;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final DealImportMetrics metrics;
+    private final SampledDealLog dealLog;
+    private final HotDealStore hotStore;
+    private final DealLookupCache lookupCache;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
 
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public FxDeal importDeal(FxDealRequest request) {
-        log.info("Importing FX deal: {}", request.getDealUniqueId());
+        return importSingle(request).orElseThrow();
+    }
 
-        validator.validate(request);
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public FxDeal importDeal(FxDealRequest request, String idempotencyKey, byte[] requestHash) {
+        FxDeal deal = importSingle(request).orElseThrow();
+        // Committed together, so a retry finds the key exactly when the deal was stored
+        idempotencyKeyRepository.insert(idempotencyKey, requestHash, LocalDateTime.now());
+        return deal;
+    }
 
-        if (repository.existsByDealUniqueId(request.getDealUniqueId())) {
-            log.warn("Duplicate deal detected: {}", request.getDealUniqueId());
-            throw new DuplicateDealException(
-                    "Deal with ID " + request.getDealUniqueId() + " already exists"
-            );
-        }
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public DealImportResult tryImportDeal(FxDealRequest request) {
+        return importSingle(request);
+    }
 
-        FxDeal deal = mapToDeal(request);
-        FxDeal savedDeal = repository.save(deal);
+    // Shared by both transactional entry points rather than called through the proxy
+    private DealImportResult importSingle(FxDealRequest request) {
+        log.debug("Importing FX deal: {}", request.getDealUniqueId());
 
-        log.info("Successfully imported deal: {}", savedDeal.getDealUniqueId());
-        return savedDeal;
+        long started = System.nanoTime();
+        DealValidationError error = validator.check(request);
+        metrics.record(Stage.BUSINESS_VALIDATION, started);
+        if (error != null) {
+            metrics.recordOutcome(DealOutcome.Status.INVALID, request);
+            dealLog.outcome(DealOutcome.Status.INVALID, request.getDealUniqueId());
+            return DealImportResult.rejected(DealOutcome.Status.INVALID, error.message(request));
+        }
+
+        // One statement both detects the duplicate and persists; a concurrent insert of the same id
+        // surfaces here as "absent" rather than as a constraint violation at commit.
+        metrics.timeCommit();
+        FxDeal savedDeal = metrics.time(Stage.INSERT, () -> repository.insertIfAbsent(FxDealMapper.toEntity(request)))
+                .orElse(null);
+        if (savedDeal == null) {
+            metrics.recordOutcome(DealOutcome.Status.DUPLICATE, request);
+            dealLog.outcome(DealOutcome.Status.DUPLICATE, request.getDealUniqueId());
+            return DealImportResult.rejected(DealOutcome.Status.DUPLICATE,
+                    "Deal with ID " + request.getDealUniqueId() + " already exists");
+        }
+        dealIdFilter.put(savedDeal.getDealUniqueId());
+        hotStore.addAfterCommit(savedDeal);
+        lookupCache.putAfterCommit(savedDeal);
+        metrics.recordOutcome(DealOutcome.Status.ACCEPTED, request);
+        dealLog.outcome(DealOutcome.Status.ACCEPTED, savedDeal.getDealUniqueId());
+        return DealImportResult.accepted(savedDeal);
     }
 
     @Override
     public List<FxDeal> importDeals(List<FxDealRequest> requests) {
+        return bulkImport(requests).getImportedDeals();
+    }
+
+    @Override
+    public BulkImportResult bulkImport(List<FxDealRequest> requests) {
         log.info("Bulk importing {} deals", requests.size());
-        List<FxDeal> importedDeals = new ArrayList<>();
-
-        for (FxDealRequest request : requests) {
-            try {
-                Set<ConstraintViolation<FxDealRequest>> violations =
-                        beanValidator.validate(request);
-
-                if (!violations.isEmpty()) {
-                    String violationMessages = violations.stream()
-                            .map(ConstraintViolation::getMessage)
-                            .reduce((a, b) -> a + ", " + b)
-                            .orElse("Validation failed");
-
-                    log.error("Bean validation failed for deal {}: {}",
-                            request.getDealUniqueId(), violationMessages);
-                    continue;
-                }
 
-                FxDeal deal = importDeal(request);
-                importedDeals.add(deal);
-            } catch (Exception e) {
-                log.error("Failed to import deal {}: {}",
-                        request != null ? request.getDealUniqueId() : "null",
-                        e.getMessage());
+        BulkImportResult result = bulkImporter.importAll(requests);
+
+        result.getOutcomes().forEach(this::logRejection);
+        log.info("Successfully imported {}/{} deals (duplicates: {}, invalid: {}, failed: {})",
+                result.getAccepted(), result.getTotal(),
+                result.getDuplicates(), result.getInvalid(), result.getFailed());
+        return result;
+    }
+
+    @Override
+    public BulkImportReport bulkImportReport(List<FxDealRequest> requests, boolean includeAcceptedIds) {
+        log.info("Bulk importing {} deals (compact report)", requests.size());
+
+        // Persisted deals are dropped as soon as their outcome is recorded
+        BulkImportReport report = new BulkImportReport(includeAcceptedIds);
+        bulkImporter.importAll(requests.iterator(), (outcome, deal) -> {
+            logRejection(outcome);
+            report.record(outcome);
+        });
+
+        BulkImportSummary summary = report.getSummary();
+        log.info("Successfully imported {}/{} deals (duplicates: {}, invalid: {}, failed: {})",
+                summary.getAccepted(), summary.getTotal(),
+                summary.getDuplicates(), summary.getInvalid(), summary.getFailed());
+        return report;
+    }
+
+    // Rejections are normal outcomes returned to the caller; only real failures are errors
+    private void logRejection(DealOutcome outcome) {
+        if (outcome.getStatus() == DealOutcome.Status.FAILED) {
+            log.error("Failed to import deal {}: {}", outcome.getDealUniqueId(), outcome.getReason());
+        } else if (outcome.getStatus() != DealOutcome.Status.ACCEPTED && log.isDebugEnabled()) {
+            log.debug("Rejected deal {} ({}): {}",
+                    outcome.getDealUniqueId(), outcome.getStatus(), outcome.getReason());
+        }
+    }
+
+    @Override
+    public CopyImportResult copyImport(InputStream jsonArray) {
+        JsonArrayDealReader reader;
+        try {
+            reader = new JsonArrayDealReader(objectMapper, jsonArray, metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        CopyImportResult result = copyImporter.importAll(reader);
+        for (DealOutcome rejected : result.getRejected()) {
+            String bindingError = reader.takeBindingError(rejected.getIndex());
+            if (bindingError != null) {
+                rejected.setReason(bindingError);
             }
         }
+        return result;
+    }
+
+    @Override
+    public BulkImportSummary importDealStream(InputStream jsonArray, DealOutcomeListener listener) {
+        JsonArrayDealReader reader;
+        try {
+            reader = new JsonArrayDealReader(objectMapper, jsonArray, metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
-        log.info("Successfully imported {}/{} deals",
-                importedDeals.size(), requests.size());
-        return importedDeals;
+        BulkImportSummary summary = new BulkImportSummary();
+        bulkImporter.importAll(reader, (outcome, deal) -> {
+            String bindingError = reader.takeBindingError(outcome.getIndex());
+            if (bindingError != null) {
+                outcome.setReason(bindingError);
+            }
+            summary.record(outcome);
+            listener.onOutcome(outcome, deal);
+        });
+
+        log.info("Streamed import finished: {}/{} deals imported (duplicates: {}, invalid: {}, failed: {})",
+                summary.getAccepted(), summary.getTotal(),
+                summary.getDuplicates(), summary.getInvalid(), summary.getFailed());
+        return summary;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<FxDeal> getAllDeals() {
-        return repository.findAll();
+    public BulkImportSummary importNdjsonStream(InputStream ndjson, long resumeAfterLine, int chunkSize,
+                                                DealOutcomeListener listener) {
+        NdjsonDealReader reader = new NdjsonDealReader(objectMapper, ndjson, resumeAfterLine, metrics);
+        BulkImportSummary summary = new BulkImportSummary();
+        summary.setLastCommittedLine(resumeAfterLine);
+
+        bulkImporter.importAll(reader, new DealOutcomeListener() {
+            private Long lastLine;
+            private boolean rolledBack;
+
+            @Override
+            public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                lastLine = reader.takeLine();
+                outcome.setLine(lastLine);
+                String bindingError = reader.takeBindingError(outcome.getIndex());
+                if (bindingError != null) {
+                    outcome.setReason(bindingError);
+                }
+                summary.record(outcome);
+                listener.onOutcome(outcome, importedDeal);
+            }
+
+            @Override
+            public void onChunkCompleted() {
+                // A later checkpoint would tell the client to skip the lines of the rolled-back chunk
+                if (!rolledBack) {
+                    summary.setLastCommittedLine(lastLine);
+                    listener.onChunkCompleted();
+                }
+            }
+
+            @Override
+            public void onChunkRolledBack() {
+                rolledBack = true;
+                listener.onChunkRolledBack();
+            }
+        }, chunkSize);
+
+        log.info("NDJSON import finished: {}/{} deals imported (duplicates: {}, invalid: {}, failed: {}), "
+                        + "last committed line {}",
+                summary.getAccepted(), summary.getTotal(), summary.getDuplicates(),
+                summary.getInvalid(), summary.getFailed(), summary.getLastCommittedLine());
+        return summary;
+    }
+
+    @Override
+    public DealPage getDeals(DealQuery query, DealCursor after, int limit) {
+        // One extra row tells us whether another page exists without a count query. Not transactional,
+        // so a page served from memory does not take a connection.
+        List<FxDeal> deals = hotStore.findPage(query, after, limit + 1)
+                .orElseGet(() -> repository.findPage(query, after, limit + 1));
+        if (deals.size() <= limit) {
+            return new DealPage(deals, null);
+        }
+        List<FxDeal> page = deals.subList(0, limit);
+        return new DealPage(page, DealCursor.after(page.get(limit - 1)));
+    }
+
+    @Override
+    public FxDeal getDeal(String dealUniqueId) {
+        // Not transactional either: a cached deal is returned without a connection
+        Optional<FxDeal> cached = lookupCache.get(dealUniqueId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        FxDeal deal = repository.findByDealUniqueId(dealUniqueId)
+                .orElseThrow(() -> new DealNotFoundException("Deal with ID " + dealUniqueId + " not found"));
+        lookupCache.put(deal);
+        return deal;
     }
 
-    private FxDeal mapToDeal(FxDealRequest request) {
-        return FxDeal.builder()
-                .dealUniqueId(request.getDealUniqueId())
-                .fromCurrencyIsoCode(request.getFromCurrencyIsoCode())
-                .toCurrencyIsoCode(request.getToCurrencyIsoCode())
-                .dealTimestamp(request.getDealTimestamp())
-                .dealAmount(request.getDealAmount())
-                .build();
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDeals(Consumer<FxDeal> sink) {
+        long exported = 0;
+        try (Stream<FxDeal> deals = repository.streamAllOrdered()) {
+            Iterator<FxDeal> iterator = deals.iterator();
+            while (iterator.hasNext()) {
+                FxDeal deal = iterator.next();
+                sink.accept(deal);
+                // Keep the persistence context from accumulating every row of the table
+                entityManager.detach(deal);
+                exported++;
+            }
+        }
+        log.info("Exported {} deals", exported);
+        return exported;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,674 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealHotStoreProperties;
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the deals of the last {@code fxdeal.hot-store.window}, by deal timestamp, held
+ * column by column in primitive arrays: currency pairs as packed ints, amounts as longs in units of
+ * 10^-4 and timestamps as epoch microseconds. Listings and volume queries whose window starts inside
+ * the store are answered by scanning these arrays; only the deals of the returned page are turned
+ * into {@link FxDeal} objects. Older windows, and every query while the store is loading, go to the
+ * database, which stays the system of record.
+ * <p>
+ * Deals are added once their transaction has committed and loaded from {@code fx_deals} at startup;
+ * deals that leave the window are dropped every {@code maintenance-interval}. Deals inserted by other
+ * application instances, or directly in the database, are not seen, so the store is off unless
+ * {@code fxdeal.hot-store.enabled} is set on a single-instance deployment.
+ */
+@Component
+@Slf4j
+public class HotDealStore implements MeterBinder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int AMOUNT_SCALE = 4;
+    // Marks an amount too large for a long; the value is in wideAmounts
+    private static final long WIDE_AMOUNT = Long.MIN_VALUE;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int ANY_CURRENCY = -1;
+    private static final int NO_CURRENCY = -2;
+    private static final int CURRENCY_MASK = (1 << 15) - 1;
+
+    private final FxDealRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final FxDealHotStoreProperties properties;
+    private final int maxDeals;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // One slot per deal, in the order deals were added; the first `size` slots are in use
+    private long[] ids = new long[0];
+    private long[] timestamps = new long[0];
+    private int[] pairs = new int[0];
+    private long[] amounts = new long[0];
+    private long[] importedAt = new long[0];
+    private String[] dealUniqueIds = new String[0];
+    private BigDecimal[] wideAmounts;
+    private int size;
+
+    // Every stored deal with a timestamp at or after the horizon is in the columns
+    private long horizon = Long.MAX_VALUE;
+    private boolean ready;
+    // Non-null while loading: deals committed meanwhile, added once the load completes
+    private List<FxDeal> addedWhileLoading;
+    private boolean staleWhileLoading;
+
+    public HotDealStore(FxDealRepository repository,
+                        EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        FxDealHotStoreProperties properties) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.maxDeals = Math.max(1, properties.getMaxDeals());
+    }
+
+    /**
+     * Drops deals that left the window, or loads the store if it is not ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${fxdeal.hot-store.maintenance-interval:1m}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime windowStart = LocalDateTime.now().minus(properties.getWindow());
+        if (isReady()) {
+            evictBefore(windowStart);
+        } else {
+            load(windowStart);
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void evictBefore(LocalDateTime cutoff) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                raiseHorizon(toMicros(cutoff));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a committed deal. Deals older than the window are left to the database.
+     */
+    public void add(FxDeal deal) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (addedWhileLoading != null) {
+                addedWhileLoading.add(deal);
+            } else if (ready) {
+                append(deal, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the deal once the current transaction commits, or right away outside a transaction.
+     */
+    public void addAfterCommit(FxDeal deal) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(deal);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(deal);
+            }
+        });
+    }
+
+    /**
+     * For deals written without passing through {@link #add(FxDeal)}, such as a COPY merge: if any
+     * of them falls inside the store it is dropped, and reloaded on the next maintenance run.
+     */
+    public void markStale(LocalDateTime newestDealTimestamp) {
+        if (!properties.isEnabled() || newestDealTimestamp == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (addedWhileLoading != null) {
+                staleWhileLoading = true;
+            } else if (ready && toMicros(newestDealTimestamp) >= horizon) {
+                log.info("Deals were written around the hot deal store; reloading it on the next maintenance run");
+                clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Same page as {@link FxDealRepository#findPage}, or empty if the store does not hold every deal
+     * from {@code query.start} on.
+     */
+    public Optional<List<FxDeal>> findPage(DealQuery query, DealCursor after, int limit) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        if (query.getStart() == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        long start = toMicros(query.getStart());
+        long end = query.getEnd() != null ? toMicros(query.getEnd()) : Long.MAX_VALUE;
+        int from = currencyFilter(query.getFromCurrencyIsoCode());
+        int to = currencyFilter(query.getToCurrencyIsoCode());
+        long afterTimestamp = after != null ? toMicros(after.dealTimestamp()) : Long.MIN_VALUE;
+        long afterId = after != null ? after.id() : Long.MIN_VALUE;
+
+        lock.readLock().lock();
+        try {
+            if (!ready || start < horizon) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            if (from == NO_CURRENCY || to == NO_CURRENCY || limit <= 0) {
+                return Optional.of(List.of());
+            }
+
+            // Keeps the `limit` first matches in a max-heap, so the scan allocates nothing per deal
+            int[] heap = new int[Math.min(limit, size)];
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                long timestamp = timestamps[row];
+                if (timestamp < start || timestamp >= end || !matches(pairs[row], from, to)) {
+                    continue;
+                }
+                if (timestamp < afterTimestamp || (timestamp == afterTimestamp && ids[row] <= afterId)) {
+                    continue;
+                }
+                if (kept < heap.length) {
+                    heap[kept] = row;
+                    siftUp(heap, kept++);
+                } else if (comesAfter(heap[0], row)) {
+                    heap[0] = row;
+                    siftDown(heap, 0, kept);
+                }
+            }
+            for (int last = kept - 1; last > 0; last--) {
+                swap(heap, 0, last);
+                siftDown(heap, 0, last);
+            }
+
+            List<FxDeal> page = new ArrayList<>(kept);
+            for (int i = 0; i < kept; i++) {
+                page.add(toDeal(heap[i]));
+            }
+            return Optional.of(page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same buckets as {@code FxDealRollupRepository.findVolume}, or empty if the store does not hold
+     * every deal from {@code start} on. {@code start} and {@code end} are aligned to {@code granularity}.
+     */
+    public Optional<List<VolumeBucket>> findVolume(Granularity granularity, String fromCurrency, String toCurrency,
+                                                   LocalDateTime start, LocalDateTime end) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        long startMicros = toMicros(start);
+        long endMicros = toMicros(end);
+        long bucketMicros = granularity.length().toNanos() / 1000;
+        long firstBucket = Math.floorDiv(startMicros, bucketMicros);
+        int from = currencyFilter(fromCurrency);
+        int to = currencyFilter(toCurrency);
+
+        lock.readLock().lock();
+        try {
+            if (!ready || startMicros < horizon) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            if (from == NO_CURRENCY || to == NO_CURRENCY) {
+                return Optional.of(List.of());
+            }
+
+            // Keyed by bucket, then pair, so the key order is the result order. Deals added together
+            // tend to share a key, so the last one is checked before the map.
+            Map<Long, Volume> volumes = new HashMap<>();
+            long lastKey = -1;
+            Volume last = null;
+            for (int row = 0; row < size; row++) {
+                long timestamp = timestamps[row];
+                if (timestamp < startMicros || timestamp >= endMicros || !matches(pairs[row], from, to)) {
+                    continue;
+                }
+                long key = (Math.floorDiv(timestamp, bucketMicros) - firstBucket) << 30 | pairs[row];
+                if (key != lastKey) {
+                    last = volumes.computeIfAbsent(key, k -> new Volume());
+                    lastKey = key;
+                }
+                if (amounts[row] == WIDE_AMOUNT) {
+                    last.addWide(wideAmounts[row]);
+                } else {
+                    last.add(amounts[row]);
+                }
+            }
+
+            long[] keys = volumes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            List<VolumeBucket> buckets = new ArrayList<>(keys.length);
+            for (long key : keys) {
+                int pair = (int) (key & ((1 << 30) - 1));
+                LocalDateTime bucketStart = fromMicros((firstBucket + (key >>> 30)) * bucketMicros);
+                buckets.add(volumes.get(key).toBucket(FxDealValidator.unpack(pair >>> 15),
+                        FxDealValidator.unpack(pair & CURRENCY_MASK), bucketStart));
+            }
+            return Optional.of(buckets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load(LocalDateTime windowStart) {
+        lock.writeLock().lock();
+        try {
+            if (addedWhileLoading != null) {
+                return;
+            }
+            clear();
+            horizon = toMicros(windowStart);
+            addedWhileLoading = new ArrayList<>();
+            staleWhileLoading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<FxDeal> deals = repository.streamNewestSince(windowStart)) {
+                    Iterator<FxDeal> iterator = deals.iterator();
+                    while (iterator.hasNext()) {
+                        FxDeal deal = iterator.next();
+                        // Keep the persistence context from accumulating the whole window
+                        entityManager.detach(deal);
+                        if (!loadOne(deal)) {
+                            break;
+                        }
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                addedWhileLoading = null;
+                clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Loading the hot deal store failed, recent deals are read from the database: {}", e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<FxDeal> pending = addedWhileLoading;
+            addedWhileLoading = null;
+            if (staleWhileLoading) {
+                clear();
+                log.info("Deals were written around the hot deal store while it was loading; reloading it later");
+                return;
+            }
+            // A deal committed just before the load started can be both loaded and added meanwhile
+            Set<Long> pendingIds = new HashSet<>();
+            pending.forEach(deal -> pendingIds.add(deal.getId()));
+            Set<Long> loaded = new HashSet<>();
+            for (int row = 0; !pendingIds.isEmpty() && row < size; row++) {
+                if (pendingIds.contains(ids[row])) {
+                    loaded.add(ids[row]);
+                }
+            }
+            for (FxDeal deal : pending) {
+                if (loaded.add(deal.getId())) {
+                    append(deal, true);
+                }
+            }
+            ready = true;
+            log.info("Hot deal store loaded {} deals since {} in {} ms", size, fromMicros(horizon),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code false} once the store is full; deals come newest first, so the horizon moves
+     *         past the last one taken
+     */
+    private boolean loadOne(FxDeal deal) {
+        lock.writeLock().lock();
+        try {
+            if (size < maxDeals) {
+                append(deal, false);
+                return true;
+            }
+            long oldest = timestamps[size - 1];
+            // Deals sharing the oldest timestamp may not all have been read
+            raiseHorizon(oldest + 1);
+            log.warn("Hot deal store is full at {} deals and only covers deals since {}",
+                    maxDeals, fromMicros(horizon));
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void append(FxDeal deal, boolean shedWhenFull) {
+        long timestamp = toMicros(deal.getDealTimestamp());
+        if (timestamp < horizon) {
+            return;
+        }
+        int from = FxDealValidator.pack(deal.getFromCurrencyIsoCode());
+        int to = FxDealValidator.pack(deal.getToCurrencyIsoCode());
+        if (from < 0 || to < 0) {
+            // Cannot be encoded, so the store no longer covers its timestamp
+            raiseHorizon(timestamp + 1);
+            return;
+        }
+        if (shedWhenFull && size >= maxDeals) {
+            shedOldest();
+            if (timestamp < horizon) {
+                return;
+            }
+        }
+        ensureCapacity(size + 1);
+
+        int row = size++;
+        ids[row] = deal.getId();
+        timestamps[row] = timestamp;
+        pairs[row] = from << 15 | to;
+        dealUniqueIds[row] = deal.getDealUniqueId();
+        importedAt[row] = deal.getImportedAt() != null ? toMicros(deal.getImportedAt()) : NO_TIMESTAMP;
+        try {
+            amounts[row] = deal.getDealAmount().movePointRight(AMOUNT_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            amounts[row] = WIDE_AMOUNT;
+            if (wideAmounts == null) {
+                wideAmounts = new BigDecimal[ids.length];
+            }
+            wideAmounts[row] = deal.getDealAmount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+        }
+    }
+
+    // Drops about the oldest tenth of the deals
+    private void shedOldest() {
+        long[] sorted = Arrays.copyOf(timestamps, size);
+        Arrays.sort(sorted);
+        raiseHorizon(sorted[(size - 1) / 10] + 1);
+        log.warn("Hot deal store is full at {} deals and now only covers deals since {}",
+                maxDeals, fromMicros(horizon));
+    }
+
+    private void raiseHorizon(long newHorizon) {
+        if (newHorizon <= horizon) {
+            return;
+        }
+        horizon = newHorizon;
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (timestamps[row] < newHorizon) {
+                continue;
+            }
+            if (kept != row) {
+                ids[kept] = ids[row];
+                timestamps[kept] = timestamps[row];
+                pairs[kept] = pairs[row];
+                amounts[kept] = amounts[row];
+                importedAt[kept] = importedAt[row];
+                dealUniqueIds[kept] = dealUniqueIds[row];
+                if (wideAmounts != null) {
+                    wideAmounts[kept] = wideAmounts[row];
+                }
+            }
+            kept++;
+        }
+        Arrays.fill(dealUniqueIds, kept, size, null);
+        if (wideAmounts != null) {
+            Arrays.fill(wideAmounts, kept, size, null);
+        }
+        size = kept;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(INITIAL_CAPACITY, ids.length + (ids.length >> 1)));
+        capacity = Math.min(capacity, Math.max(required, maxDeals));
+        ids = Arrays.copyOf(ids, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        pairs = Arrays.copyOf(pairs, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        importedAt = Arrays.copyOf(importedAt, capacity);
+        dealUniqueIds = Arrays.copyOf(dealUniqueIds, capacity);
+        if (wideAmounts != null) {
+            wideAmounts = Arrays.copyOf(wideAmounts, capacity);
+        }
+    }
+
+    private void clear() {
+        ids = new long[0];
+        timestamps = new long[0];
+        pairs = new int[0];
+        amounts = new long[0];
+        importedAt = new long[0];
+        dealUniqueIds = new String[0];
+        wideAmounts = null;
+        size = 0;
+        horizon = Long.MAX_VALUE;
+        ready = false;
+    }
+
+    private FxDeal toDeal(int row) {
+        int pair = pairs[row];
+        return FxDeal.builder()
+                .id(ids[row])
+                .dealUniqueId(dealUniqueIds[row])
+                .fromCurrencyIsoCode(FxDealValidator.unpack(pair >>> 15))
+                .toCurrencyIsoCode(FxDealValidator.unpack(pair & CURRENCY_MASK))
+                .dealTimestamp(fromMicros(timestamps[row]))
+                .dealAmount(amounts[row] == WIDE_AMOUNT
+                        ? wideAmounts[row]
+                        : BigDecimal.valueOf(amounts[row], AMOUNT_SCALE))
+                .importedAt(importedAt[row] != NO_TIMESTAMP ? fromMicros(importedAt[row]) : null)
+                .build();
+    }
+
+    private boolean comesAfter(int row, int other) {
+        return timestamps[row] > timestamps[other]
+                || (timestamps[row] == timestamps[other] && ids[row] > ids[other]);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!comesAfter(heap[index], heap[parent])) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int index, int length) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < length && comesAfter(heap[left], heap[largest])) {
+                largest = left;
+            }
+            if (right < length && comesAfter(heap[right], heap[largest])) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(heap, index, largest);
+            index = largest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int swapped = heap[i];
+        heap[i] = heap[j];
+        heap[j] = swapped;
+    }
+
+    private static boolean matches(int pair, int from, int to) {
+        return (from == ANY_CURRENCY || pair >>> 15 == from) && (to == ANY_CURRENCY || (pair & CURRENCY_MASK) == to);
+    }
+
+    private static int currencyFilter(String isoCode) {
+        if (isoCode == null) {
+            return ANY_CURRENCY;
+        }
+        int packed = FxDealValidator.pack(isoCode);
+        // No stored deal can have a code that does not pack
+        return packed >= 0 ? packed : NO_CURRENCY;
+    }
+
+    // Timestamps are stored rounded to microseconds, like the TIMESTAMP(6) column
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + (timestamp.getNano() + 500) / 1000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fxdeal.hot.store.reads", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Listings and volume queries answered from memory")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.hot.store.reads", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Listings and volume queries sent to the database")
+                .register(registry);
+        Gauge.builder("fxdeal.hot.store.deals", this, HotDealStore::size)
+                .description("Deals held in memory")
+                .register(registry);
+    }
+
+    /**
+     * Count, sum, min and max of one bucket and pair. Sums fall back to BigDecimal past a long.
+     */
+    private static final class Volume {
+
+        private long count;
+        private long units;
+        private BigDecimal carried = BigDecimal.ZERO;
+        private long minUnits = Long.MAX_VALUE;
+        private long maxUnits = Long.MIN_VALUE;
+        private BigDecimal wideMin;
+        private BigDecimal wideMax;
+
+        private void add(long amount) {
+            count++;
+            try {
+                units = Math.addExact(units, amount);
+            } catch (ArithmeticException e) {
+                carried = carried.add(BigDecimal.valueOf(units, AMOUNT_SCALE));
+                units = amount;
+            }
+            minUnits = Math.min(minUnits, amount);
+            maxUnits = Math.max(maxUnits, amount);
+        }
+
+        private void addWide(BigDecimal amount) {
+            count++;
+            carried = carried.add(amount);
+            wideMin = wideMin == null || amount.compareTo(wideMin) < 0 ? amount : wideMin;
+            wideMax = wideMax == null || amount.compareTo(wideMax) > 0 ? amount : wideMax;
+        }
+
+        private VolumeBucket toBucket(String from, String to, LocalDateTime bucketStart) {
+            // Amounts are positive, so any wide amount is above every amount that fits a long
+            return new VolumeBucket(from, to, bucketStart, count,
+                    BigDecimal.valueOf(units, AMOUNT_SCALE).add(carried),
+                    minUnits != Long.MAX_VALUE ? BigDecimal.valueOf(minUnits, AMOUNT_SCALE) : wideMin,
+                    wideMax != null ? wideMax : BigDecimal.valueOf(maxUnits, AMOUNT_SCALE));
+        }
+    }
+}
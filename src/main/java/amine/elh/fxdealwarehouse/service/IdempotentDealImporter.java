@@ -0,0 +1,178 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealIdempotencyProperties;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.exception.IdempotencyKeyReusedException;
+import amine.elh.fxdealwarehouse.exception.InvalidIdempotencyKeyException;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.model.IdempotencyKey;
+import amine.elh.fxdealwarehouse.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-deal imports carrying a client {@code Idempotency-Key}. The first request with a key stores
+ * the deal and the key in one transaction. A retry with the same key and the same deal gets the
+ * stored deal back as a replay instead of a duplicate error; the same key with a different deal is
+ * rejected. Recent keys are answered from a bounded in-memory cache and older ones from
+ * {@code idempotency_keys}, so a retry storm neither re-runs the import nor its duplicate check.
+ */
+@Service
+@Slf4j
+public class IdempotentDealImporter implements MeterBinder {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * The stored deal, and whether it was stored by an earlier request with the same key.
+     */
+    public record Result(FxDeal deal, boolean replayed) {
+    }
+
+    private record StoredKey(byte[] requestHash, FxDeal deal) {
+    }
+
+    private final FxDealService fxDealService;
+    private final IdempotencyKeyRepository repository;
+    private final Duration retention;
+    private final Cache<String, StoredKey> cache;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public IdempotentDealImporter(FxDealService fxDealService,
+                                  IdempotencyKeyRepository repository,
+                                  FxDealIdempotencyProperties properties) {
+        this.fxDealService = fxDealService;
+        this.repository = repository;
+        this.retention = properties.getRetention();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCachedKeys())
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public Result importDeal(String idempotencyKey, FxDealRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        byte[] requestHash = requestHash(request);
+        Optional<Result> replay = replay(idempotencyKey, requestHash, request);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        FxDeal deal;
+        try {
+            deal = fxDealService.importDeal(request, idempotencyKey, requestHash);
+        } catch (DuplicateDealException | DataIntegrityViolationException e) {
+            // A concurrent request with the same key may have won the race; it has committed by now
+            return replay(idempotencyKey, requestHash, request).orElseThrow(() -> e);
+        }
+        cache.put(idempotencyKey, new StoredKey(requestHash, deal));
+        created.increment();
+        return new Result(deal, false);
+    }
+
+    private Optional<Result> replay(String idempotencyKey, byte[] requestHash, FxDealRequest request) {
+        StoredKey stored = cache.getIfPresent(idempotencyKey);
+        if (stored != null) {
+            cacheHits.increment();
+            checkSameRequest(idempotencyKey, stored.requestHash(), requestHash);
+        } else {
+            cacheMisses.increment();
+            Optional<IdempotencyKey> persisted = repository.findById(idempotencyKey);
+            if (persisted.isEmpty()) {
+                return Optional.empty();
+            }
+            checkSameRequest(idempotencyKey, persisted.get().getRequestHash(), requestHash);
+            // Same hash, same deal id: the stored deal is found through the request
+            stored = new StoredKey(requestHash, fxDealService.getDeal(request.getDealUniqueId()));
+            cache.put(idempotencyKey, stored);
+        }
+        replayed.increment();
+        return Optional.of(new Result(stored.deal(), true));
+    }
+
+    private void checkSameRequest(String idempotencyKey, byte[] storedHash, byte[] requestHash) {
+        if (!MessageDigest.isEqual(storedHash, requestHash)) {
+            rejected.increment();
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different deal");
+        }
+    }
+
+    /**
+     * SHA-256 of the deal fields, so a retry that serializes the same deal differently (field order,
+     * whitespace, trailing zeros of the amount) still matches.
+     */
+    static byte[] requestHash(FxDealRequest request) {
+        String canonical = String.join("\n",
+                request.getDealUniqueId(),
+                request.getFromCurrencyIsoCode(),
+                request.getToCurrencyIsoCode(),
+                String.valueOf(request.getDealTimestamp()),
+                request.getDealAmount() != null ? request.getDealAmount().stripTrailingZeros().toPlainString() : null);
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fxdeal.idempotency.purge-interval:1h}",
+            initialDelayString = "${fxdeal.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} idempotency keys older than {}", deleted, retention);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fxdeal.idempotency.requests", created, LongAdder::sum)
+                .tag("result", "created")
+                .description("Keyed imports that stored a new deal")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.idempotency.requests", replayed, LongAdder::sum)
+                .tag("result", "replayed")
+                .description("Keyed imports answered with the deal stored by an earlier request")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.idempotency.requests", rejected, LongAdder::sum)
+                .tag("result", "rejected")
+                .description("Keyed imports whose key was already used for a different deal")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.idempotency.cache.lookups", cacheHits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Idempotency keys resolved from memory")
+                .register(registry);
+        FunctionCounter.builder("fxdeal.idempotency.cache.lookups", cacheMisses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Idempotency keys looked up in the database")
+                .register(registry);
+        Gauge.builder("fxdeal.idempotency.cache.size", cache, Cache::estimatedSize)
+                .description("Approximate number of idempotency keys held in memory")
+                .register(registry);
+    }
+}
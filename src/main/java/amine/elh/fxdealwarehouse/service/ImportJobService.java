@@ -0,0 +1,340 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.config.FxDealJobProperties;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.ImportJobStatus;
+import amine.elh.fxdealwarehouse.exception.ImportJobNotFoundException;
+import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.model.ImportJob;
+import amine.elh.fxdealwarehouse.repository.ImportJobRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous bulk imports. A submission is spooled to disk as NDJSON and recorded as a
+ * {@code QUEUED} job; a fixed pool of workers takes queued jobs oldest first and runs them through
+ * the resumable NDJSON import, saving progress after every committed chunk. Jobs left
+ * {@code RUNNING} by a restart are queued again and resume after their last committed line; a
+ * chunk that committed just before the restart is replayed and its deals then count as duplicates.
+ * A chunk that does not commit fails the job, which keeps its spool file and the line of its last
+ * committed chunk.
+ * Not started with the {@code reactive} profile, which has no job endpoints and must not re-queue or
+ * claim jobs spooled by a servlet instance.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class ImportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ImportJobRepository jobRepository;
+    private final FxDealService fxDealService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Path spoolDir;
+    private final Semaphore freeWorkers;
+    // Not synchronized: dispatch queries the database and would pin a virtual thread to its carrier
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private final ExecutorService workers;
+    private volatile boolean recovered;
+    private volatile boolean stopping;
+
+    public ImportJobService(ImportJobRepository jobRepository,
+                            FxDealService fxDealService,
+                            ObjectMapper objectMapper,
+                            FxDealImportProperties importProperties,
+                            FxDealJobProperties properties) {
+        this.jobRepository = jobRepository;
+        this.fxDealService = fxDealService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = importProperties.getChunkSize();
+        this.spoolDir = Path.of(properties.getSpoolDir());
+        int workerCount = Math.max(1, properties.getWorkers());
+        this.freeWorkers = new Semaphore(workerCount);
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                task -> new Thread(task, "import-job-" + threads.incrementAndGet()));
+    }
+
+    /**
+     * Spools the body and queues it as a job. A JSON array is checked for well-formedness while it
+     * is spooled; deals that cannot be bound are reported as invalid when the job runs.
+     */
+    public ImportJobStatus submit(InputStream body, boolean ndjson) {
+        String id = UUID.randomUUID().toString();
+        Path spoolFile = spoolDir.resolve(id + ".ndjson");
+        long total;
+        try {
+            Files.createDirectories(spoolDir);
+            total = ndjson ? spoolNdjson(body, spoolFile) : spoolJsonArray(body, spoolFile);
+        } catch (IOException e) {
+            deleteSpoolFile(spoolFile);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+
+        ImportJob job = jobRepository.save(ImportJob.builder()
+                .id(id)
+                .status(ImportJob.Status.QUEUED)
+                .spoolFile(spoolFile.toString())
+                .total(total)
+                .submittedAt(LocalDateTime.now())
+                .build());
+        log.info("Queued import job {} with {} deals", id, total);
+        dispatch();
+        return status(job);
+    }
+
+    public ImportJobStatus getStatus(String id) {
+        return jobRepository.findById(id)
+                .map(this::status)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job " + id + " not found"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        int interrupted = jobRepository.updateStatus(ImportJob.Status.RUNNING, ImportJob.Status.QUEUED);
+        if (interrupted > 0) {
+            log.info("Re-queued {} import jobs interrupted by a restart", interrupted);
+        }
+        // Dispatching earlier could claim a job that the re-queue above would then hand out twice
+        recovered = true;
+        dispatch();
+    }
+
+    /**
+     * Hands queued jobs to free workers. Runs after every submission and finished job, and on
+     * {@code fxdeal.jobs.dispatch-interval} to pick up anything missed.
+     */
+    @Scheduled(fixedDelayString = "${fxdeal.jobs.dispatch-interval:5s}")
+    public void dispatch() {
+        dispatchLock.lock();
+        try {
+            dispatchQueued();
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private void dispatchQueued() {
+        while (recovered && !stopping && freeWorkers.tryAcquire()) {
+            Optional<ImportJob> next = jobRepository.findFirstByStatusOrderBySubmittedAtAsc(ImportJob.Status.QUEUED);
+            if (next.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+            ImportJob job = next.get();
+            LocalDateTime now = LocalDateTime.now();
+            job.setStatus(ImportJob.Status.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(now);
+            }
+            job.setRunStartedAt(now);
+            job.setRunStartProcessed(job.getProcessed());
+            ImportJob running = jobRepository.save(job);
+            workers.execute(() -> {
+                try {
+                    run(running);
+                } finally {
+                    freeWorkers.release();
+                    dispatch();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Running jobs stay RUNNING and are re-queued on the next start
+        stopping = true;
+        workers.shutdownNow();
+    }
+
+    private void run(ImportJob job) {
+        log.info("Running import job {} from line {}", job.getId(), job.getLastCommittedLine());
+        Path spoolFile = Path.of(job.getSpoolFile());
+        try (InputStream in = Files.newInputStream(spoolFile)) {
+            fxDealService.importNdjsonStream(in, job.getLastCommittedLine(), chunkSize, new JobProgress(job));
+        } catch (IOException | RuntimeException e) {
+            if (stopping) {
+                return;
+            }
+            log.error("Import job {} failed after {} deals: {}", job.getId(), job.getProcessed(), e.getMessage());
+            String error = String.valueOf(e.getMessage());
+            job.setStatus(ImportJob.Status.FAILED);
+            job.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            return;
+        }
+        job.setStatus(ImportJob.Status.COMPLETED);
+        job.setFinishedAt(LocalDateTime.now());
+        jobRepository.save(job);
+        deleteSpoolFile(spoolFile);
+        log.info("Import job {} completed: {}/{} deals imported (duplicates: {}, invalid: {}, failed: {})",
+                job.getId(), job.getAccepted(), job.getProcessed(), job.getDuplicates(),
+                job.getInvalid(), job.getFailed());
+    }
+
+    private long spoolNdjson(InputStream body, Path spoolFile) throws IOException {
+        long deals = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+             BufferedWriter writer = Files.newBufferedWriter(spoolFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    writer.write(line);
+                    writer.newLine();
+                    deals++;
+                }
+            }
+        }
+        return deals;
+    }
+
+    private long spoolJsonArray(InputStream body, Path spoolFile) throws IOException {
+        long deals = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body);
+             BufferedWriter writer = Files.newBufferedWriter(spoolFile, StandardCharsets.UTF_8)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidDealException("Request body must be a JSON array of deals");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                JsonNode element = parser.readValueAsTree();
+                writer.write(objectMapper.writeValueAsString(element));
+                writer.newLine();
+                deals++;
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidDealException("Malformed JSON after " + deals + " deals: " + e.getOriginalMessage());
+        }
+        return deals;
+    }
+
+    private static void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}: {}", spoolFile, e.getMessage());
+        }
+    }
+
+    private ImportJobStatus status(ImportJob job) {
+        Double dealsPerSecond = null;
+        Long etaSeconds = null;
+        if (job.getRunStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            double seconds = Duration.between(job.getRunStartedAt(), end).toMillis() / 1000.0;
+            long processedThisRun = job.getProcessed() - job.getRunStartProcessed();
+            if (seconds > 0 && processedThisRun > 0) {
+                dealsPerSecond = processedThisRun / seconds;
+                if (job.getStatus() == ImportJob.Status.RUNNING) {
+                    etaSeconds = (long) Math.ceil((job.getTotal() - job.getProcessed()) / dealsPerSecond);
+                }
+            }
+        }
+        return ImportJobStatus.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .accepted(job.getAccepted())
+                .duplicates(job.getDuplicates())
+                .invalid(job.getInvalid())
+                .failed(job.getFailed())
+                .dealsPerSecond(dealsPerSecond)
+                .etaSeconds(etaSeconds)
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
+
+    /**
+     * Counts the outcomes of a chunk into the job and saves it once that chunk has committed, so the
+     * counts always match {@code lastCommittedLine}.
+     */
+    private class JobProgress implements DealOutcomeListener {
+
+        private final ImportJob job;
+        private final Map<DealOutcome.Status, Long> chunkOutcomes = new EnumMap<>(DealOutcome.Status.class);
+        private Long lastLine;
+        private String lastFailure;
+
+        JobProgress(ImportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+            lastLine = outcome.getLine();
+            chunkOutcomes.merge(outcome.getStatus(), 1L, Long::sum);
+            if (outcome.getStatus() == DealOutcome.Status.FAILED) {
+                lastFailure = outcome.getReason();
+            }
+        }
+
+        @Override
+        public void onChunkCompleted() {
+            chunkOutcomes.forEach((status, count) -> {
+                job.setProcessed(job.getProcessed() + count);
+                switch (status) {
+                    case ACCEPTED -> job.setAccepted(job.getAccepted() + count);
+                    case DUPLICATE -> job.setDuplicates(job.getDuplicates() + count);
+                    case INVALID -> job.setInvalid(job.getInvalid() + count);
+                    case FAILED -> job.setFailed(job.getFailed() + count);
+                }
+            });
+            chunkOutcomes.clear();
+            if (lastLine != null) {
+                job.setLastCommittedLine(lastLine);
+            }
+            jobRepository.save(job);
+        }
+
+        @Override
+        public void onChunkRolledBack() {
+            // Going on would move lastCommittedLine past deals that were never stored
+            throw new IllegalStateException("Chunk after line " + job.getLastCommittedLine()
+                    + " did not commit: " + lastFailure);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a top-level JSON array of deals one element at a time with Jackson's streaming parser, so
+ * only the current element is ever materialized. An element that is well-formed JSON but cannot be
+ * bound to {@link FxDealRequest} is yielded as {@code null} and its binding error is kept until
+ * claimed with {@link #takeBindingError(int)}. Malformed JSON ends the stream with an
+ * {@link InvalidDealException}.
+ */
+class JsonArrayDealReader implements Iterator<FxDealRequest> {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final DealImportMetrics metrics;
+    private final Map<Integer, String> bindingErrors = new HashMap<>();
+    private int index;
+    private boolean started;
+    private boolean finished;
+    private boolean ready;
+    private FxDealRequest next;
+
+    JsonArrayDealReader(ObjectMapper objectMapper, InputStream in, DealImportMetrics metrics) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (ready) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            if (!started) {
+                started = true;
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new InvalidDealException("Request body must be a JSON array of deals");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                finished = true;
+                parser.close();
+                return false;
+            }
+            long started = System.nanoTime();
+            JsonNode element = parser.readValueAsTree();
+            try {
+                next = objectMapper.treeToValue(element, FxDealRequest.class);
+            } catch (JsonProcessingException e) {
+                next = null;
+                bindingErrors.put(index, "Unreadable deal: " + e.getOriginalMessage());
+            } finally {
+                metrics.record(Stage.BIND, started);
+            }
+            index++;
+            ready = true;
+            return true;
+        } catch (JsonProcessingException e) {
+            finished = true;
+            String where = e.getLocation() != null
+                    ? " at line " + e.getLocation().getLineNr() + ", column " + e.getLocation().getColumnNr()
+                    : "";
+            throw new InvalidDealException("Malformed JSON after " + index + " deals" + where
+                    + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            finished = true;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public FxDealRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        FxDealRequest request = next;
+        next = null;
+        return request;
+    }
+
+    String takeBindingError(int elementIndex) {
+        return bindingErrors.remove(elementIndex);
+    }
+}
@@ -0,0 +1,102 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads newline-delimited JSON, one {@link FxDealRequest} per line. Blank lines are ignored and
+ * lines up to {@code skipLines} are skipped so a client can resume after its last committed line.
+ * A line that cannot be parsed is yielded as {@code null}; its error is kept until claimed with
+ * {@link #takeBindingError(int)}. Line numbers of yielded deals are queued in order and claimed
+ * with {@link #takeLine()} as their outcomes come back.
+ */
+class NdjsonDealReader implements Iterator<FxDealRequest> {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedReader reader;
+    private final long skipLines;
+    private final DealImportMetrics metrics;
+    private final Deque<Long> pendingLines = new ArrayDeque<>();
+    private final Map<Integer, String> bindingErrors = new HashMap<>();
+    private long lineNumber;
+    private int index;
+    private boolean finished;
+    private boolean ready;
+    private FxDealRequest next;
+
+    NdjsonDealReader(ObjectMapper objectMapper, InputStream in, long skipLines, DealImportMetrics metrics) {
+        this.objectMapper = objectMapper;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.skipLines = skipLines;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!ready && !finished) {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (IOException e) {
+                finished = true;
+                throw new UncheckedIOException(e);
+            }
+            if (line == null) {
+                finished = true;
+                break;
+            }
+            lineNumber++;
+            if (lineNumber <= skipLines || line.isBlank()) {
+                continue;
+            }
+            long started = System.nanoTime();
+            try {
+                next = objectMapper.readValue(line, FxDealRequest.class);
+            } catch (JsonProcessingException e) {
+                next = null;
+                bindingErrors.put(index, "Unreadable deal on line " + lineNumber + ": " + e.getOriginalMessage());
+            } finally {
+                metrics.record(Stage.BIND, started);
+            }
+            pendingLines.addLast(lineNumber);
+            index++;
+            ready = true;
+        }
+        return ready;
+    }
+
+    @Override
+    public FxDealRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        FxDealRequest request = next;
+        next = null;
+        return request;
+    }
+
+    Long takeLine() {
+        return pendingLines.pollFirst();
+    }
+
+    String takeBindingError(int elementIndex) {
+        return bindingErrors.remove(elementIndex);
+    }
+}
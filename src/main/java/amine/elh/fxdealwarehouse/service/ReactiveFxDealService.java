@@ -0,0 +1,21 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import com.fasterxml.jackson.databind.JsonNode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking ingestion for the {@code reactive} profile. The stream imports emit the outcomes of
+ * one chunk at a time, in input order, once every deal of the chunk is written; they request more
+ * input only as chunks complete, so a slow database slows the client down instead of filling memory.
+ */
+public interface ReactiveFxDealService {
+    Mono<FxDeal> importDeal(FxDealRequest request);
+    Flux<List<DealOutcome>> importDealStream(Flux<JsonNode> jsonArrayElements);
+    Flux<List<DealOutcome>> importNdjsonStream(Flux<String> lines, long resumeAfterLine, int chunkSize);
+}
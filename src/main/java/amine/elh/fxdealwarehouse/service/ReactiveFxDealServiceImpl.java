@@ -0,0 +1,218 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.config.FxDealReactiveProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.ReactiveFxDealRepository;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive import pipeline. Deals are validated with the same {@link FxDealValidator} rules as the
+ * servlet stack, then each surviving deal is written by its own {@code INSERT}, which skips ids that
+ * are already registered, with up to {@code fxdeal.reactive.insert-concurrency} statements in flight.
+ * Every deal commits on its own, so a failure never rolls back another deal.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveFxDealServiceImpl implements ReactiveFxDealService {
+
+    private final ReactiveFxDealRepository repository;
+    private final FxDealValidator validator;
+    private final FxDealRequestValidator requestValidator;
+    private final DealIdFilter dealIdFilter;
+    private final HotDealStore hotStore;
+    private final DealImportMetrics metrics;
+    private final SampledDealLog dealLog;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int insertConcurrency;
+
+    public ReactiveFxDealServiceImpl(ReactiveFxDealRepository repository,
+                                     FxDealValidator validator,
+                                     FxDealRequestValidator requestValidator,
+                                     DealIdFilter dealIdFilter,
+                                     HotDealStore hotStore,
+                                     DealImportMetrics metrics,
+                                     SampledDealLog dealLog,
+                                     ObjectMapper objectMapper,
+                                     FxDealImportProperties importProperties,
+                                     FxDealReactiveProperties properties) {
+        this.repository = repository;
+        this.validator = validator;
+        this.requestValidator = requestValidator;
+        this.dealIdFilter = dealIdFilter;
+        this.hotStore = hotStore;
+        this.metrics = metrics;
+        this.dealLog = dealLog;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, importProperties.getChunkSize());
+        this.insertConcurrency = Math.max(1, properties.getInsertConcurrency());
+    }
+
+    @Override
+    public Mono<FxDeal> importDeal(FxDealRequest request) {
+        return Mono.defer(() -> {
+            log.debug("Importing FX deal: {}", request.getDealUniqueId());
+            long started = System.nanoTime();
+            DealValidationError error = validator.check(request);
+            metrics.record(Stage.BUSINESS_VALIDATION, started);
+            if (error != null) {
+                metrics.recordOutcome(DealOutcome.Status.INVALID, request);
+                dealLog.outcome(DealOutcome.Status.INVALID, request.getDealUniqueId());
+                return Mono.error(new InvalidDealException(error.message(request)));
+            }
+            long insertStarted = System.nanoTime();
+            return repository.insertIfAbsent(FxDealMapper.toEntity(request))
+                    .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                    .switchIfEmpty(Mono.error(() -> duplicateDeal(request)))
+                    .doOnNext(saved -> {
+                        metrics.record(Stage.INSERT, insertStarted);
+                        dealIdFilter.put(saved.getDealUniqueId());
+                        hotStore.add(saved);
+                        metrics.recordOutcome(DealOutcome.Status.ACCEPTED, request);
+                        dealLog.outcome(DealOutcome.Status.ACCEPTED, saved.getDealUniqueId());
+                    });
+        });
+    }
+
+    private DuplicateDealException duplicateDeal(FxDealRequest request) {
+        metrics.recordOutcome(DealOutcome.Status.DUPLICATE, request);
+        dealLog.outcome(DealOutcome.Status.DUPLICATE, request.getDealUniqueId());
+        return new DuplicateDealException("Deal with ID " + request.getDealUniqueId() + " already exists");
+    }
+
+    @Override
+    public Flux<List<DealOutcome>> importDealStream(Flux<JsonNode> jsonArrayElements) {
+        Flux<BoundDeal> deals = jsonArrayElements
+                .index()
+                .map(element -> bindElement(element.getT1().intValue(), element.getT2()));
+        return logSummary("Reactive streamed import", importChunks(deals, chunkSize));
+    }
+
+    @Override
+    public Flux<List<DealOutcome>> importNdjsonStream(Flux<String> lines, long resumeAfterLine, int chunkSize) {
+        Flux<BoundDeal> deals = lines
+                .index()
+                .filter(line -> line.getT1() + 1 > resumeAfterLine && !line.getT2().isBlank())
+                .index()
+                .map(element -> bindLine(element.getT1().intValue(), element.getT2().getT1() + 1,
+                        element.getT2().getT2()));
+        return logSummary("Reactive NDJSON import", importChunks(deals, Math.max(1, chunkSize)));
+    }
+
+    private Flux<List<DealOutcome>> importChunks(Flux<BoundDeal> deals, int chunkSize) {
+        // A prefetch of one chunk keeps at most two chunks of the body in memory
+        return deals.buffer(chunkSize).concatMap(this::importChunk, 1);
+    }
+
+    private Mono<List<DealOutcome>> importChunk(List<BoundDeal> chunk) {
+        Set<String> seenIds = new HashSet<>();
+        return Flux.fromIterable(chunk)
+                .map(deal -> importOne(deal, seenIds))
+                .flatMapSequential(outcome -> outcome, insertConcurrency)
+                .collectList();
+    }
+
+    private Mono<DealOutcome> importOne(BoundDeal deal, Set<String> seenIds) {
+        FxDealRequest request = deal.request();
+        String reason = deal.bindingError() != null ? deal.bindingError() : requestValidator.rejectionReason(request);
+        if (reason != null) {
+            return Mono.just(outcome(deal, DealOutcome.Status.INVALID, reason));
+        }
+        if (!seenIds.add(request.getDealUniqueId())) {
+            return Mono.just(outcome(deal, DealOutcome.Status.DUPLICATE,
+                    "Deal with ID " + request.getDealUniqueId() + " appears more than once in the request"));
+        }
+        long started = System.nanoTime();
+        return repository.insertIfAbsent(FxDealMapper.toEntity(request))
+                .map(saved -> {
+                    metrics.record(Stage.INSERT, started);
+                    dealIdFilter.put(saved.getDealUniqueId());
+                    hotStore.add(saved);
+                    return outcome(deal, DealOutcome.Status.ACCEPTED, null);
+                })
+                // Duplicates on H2, which has no registry trigger
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                .switchIfEmpty(Mono.fromSupplier(() -> outcome(deal, DealOutcome.Status.DUPLICATE,
+                        "Deal with ID " + request.getDealUniqueId() + " already exists")))
+                .onErrorResume(e -> {
+                    log.error("Failed to import deal {}: {}", request.getDealUniqueId(), e.getMessage());
+                    return Mono.just(outcome(deal, DealOutcome.Status.FAILED, e.getMessage()));
+                });
+    }
+
+    private BoundDeal bindElement(int index, JsonNode element) {
+        long started = System.nanoTime();
+        try {
+            return new BoundDeal(index, null, objectMapper.treeToValue(element, FxDealRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new BoundDeal(index, null, null, "Unreadable deal: " + e.getOriginalMessage());
+        } finally {
+            metrics.record(Stage.BIND, started);
+        }
+    }
+
+    private BoundDeal bindLine(int index, long line, String json) {
+        long started = System.nanoTime();
+        try {
+            return new BoundDeal(index, line, objectMapper.readValue(json, FxDealRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new BoundDeal(index, line, null,
+                    "Unreadable deal on line " + line + ": " + e.getOriginalMessage());
+        } finally {
+            metrics.record(Stage.BIND, started);
+        }
+    }
+
+    private DealOutcome outcome(BoundDeal deal, DealOutcome.Status status, String reason) {
+        metrics.recordOutcome(status, deal.request());
+        return DealOutcome.builder()
+                .index(deal.index())
+                .line(deal.line())
+                .dealUniqueId(deal.request() != null ? deal.request().getDealUniqueId() : null)
+                .status(status)
+                .reason(reason)
+                .build();
+    }
+
+    private static Flux<List<DealOutcome>> logSummary(String name, Flux<List<DealOutcome>> chunks) {
+        return Flux.defer(() -> {
+            BulkImportSummary summary = new BulkImportSummary();
+            return chunks
+                    .doOnNext(outcomes -> outcomes.forEach(summary::record))
+                    .doOnComplete(() -> log.info("{} finished: {}/{} deals imported "
+                                    + "(duplicates: {}, invalid: {}, failed: {})", name,
+                            summary.getAccepted(), summary.getTotal(), summary.getDuplicates(),
+                            summary.getInvalid(), summary.getFailed()));
+        });
+    }
+
+    /**
+     * One element of a stream import: the bound request, or why it could not be bound.
+     */
+    private record BoundDeal(int index, Long line, FxDealRequest request, String bindingError) {
+    }
+}
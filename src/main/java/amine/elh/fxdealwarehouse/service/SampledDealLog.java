@@ -0,0 +1,70 @@
+package amine.elh.fxdealwarehouse.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealLoggingProperties;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-deal log lines of the single-deal import paths. Every outcome is counted, but only one deal
+ * in {@code fxdeal.logging.sample-every} gets its own line; the counts are logged as one summary
+ * line every {@code fxdeal.logging.summary-interval}. Bulk imports already log one line per request.
+ */
+@Component
+@Slf4j
+public class SampledDealLog {
+
+    private final int sampleEvery;
+    private final Map<DealOutcome.Status, LongAdder> counts = new EnumMap<>(DealOutcome.Status.class);
+
+    public SampledDealLog(FxDealLoggingProperties properties) {
+        this.sampleEvery = Math.max(1, properties.getSampleEvery());
+        for (DealOutcome.Status status : DealOutcome.Status.values()) {
+            counts.put(status, new LongAdder());
+        }
+    }
+
+    public void outcome(DealOutcome.Status status, String dealUniqueId) {
+        counts.get(status).increment();
+        // A random draw rather than a shared counter, so request threads never contend here
+        if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return;
+        }
+        switch (status) {
+            case ACCEPTED -> log.info("Successfully imported deal: {}", dealUniqueId);
+            case DUPLICATE -> log.warn("Duplicate deal detected: {}", dealUniqueId);
+            case INVALID -> log.info("Rejected invalid deal: {}", dealUniqueId);
+            case FAILED -> log.error("Failed to import deal: {}", dealUniqueId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fxdeal.logging.summary-interval:1m}")
+    public void logSummary() {
+        String summary = drainSummary();
+        if (summary != null) {
+            log.info(summary);
+        }
+    }
+
+    /**
+     * @return the counts since the previous call, or {@code null} if no deal was imported since
+     */
+    public String drainSummary() {
+        long accepted = counts.get(DealOutcome.Status.ACCEPTED).sumThenReset();
+        long duplicates = counts.get(DealOutcome.Status.DUPLICATE).sumThenReset();
+        long invalid = counts.get(DealOutcome.Status.INVALID).sumThenReset();
+        long failed = counts.get(DealOutcome.Status.FAILED).sumThenReset();
+        long total = accepted + duplicates + invalid + failed;
+        if (total == 0) {
+            return null;
+        }
+        return "Single-deal imports since last summary: " + accepted + "/" + total
+                + " imported (duplicates: " + duplicates + ", invalid: " + invalid + ", failed: " + failed + ")";
+    }
+}
@@ -0,0 +1,173 @@
+package amine.elh.fxdealwarehouse.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter (Almeida et al.): a chain of plain Bloom filters where each new stage holds
+ * twice as many keys with half the false-positive rate of the previous one, so the compound rate
+ * stays below the configured target however many keys are added. Lookups and inserts are lock-free;
+ * only growing the chain is synchronized.
+ */
+final class ScalableBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+    private final double falsePositiveRate;
+
+    ScalableBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // The stage rates form a geometric series summing to the target rate
+        stages.add(new Stage(expectedInsertions, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1);
+        Stage current = stages.get(stages.size() - 1);
+        if (current.count.get() >= current.capacity) {
+            current = grow(current);
+        }
+        current.put(hash1, hash2);
+    }
+
+    /**
+     * Probability that {@link #mightContain} answers true for a key that was never added, given how
+     * full each stage currently is.
+     */
+    double expectedFalsePositiveRate() {
+        double allNegative = 1;
+        for (Stage stage : stages) {
+            allNegative *= 1 - stage.expectedFalsePositiveRate();
+        }
+        return 1 - allNegative;
+    }
+
+    double targetFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    long approximateSize() {
+        return stages.stream().mapToLong(stage -> stage.count.get()).sum();
+    }
+
+    long sizeInBytes() {
+        return stages.stream().mapToLong(stage -> stage.bits.length() * (long) Long.BYTES).sum();
+    }
+
+    int stageCount() {
+        return stages.size();
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage last = stages.get(stages.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        Stage next = new Stage(full.capacity * GROWTH_FACTOR, full.falsePositiveRate * TIGHTENING_RATIO);
+        stages.add(next);
+        return next;
+    }
+
+    private static long hash(String key) {
+        // 64-bit FNV-1a over the UTF-16 chars; deal ids are short ASCII strings
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        // MurmurHash3 fmix64 finalizer
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashFunctions;
+        private final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64L;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = index(hash1, hash2, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash1, long hash2) {
+            boolean changed = false;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = index(hash1, hash2, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+            // Re-adding a key that is already (probably) present does not consume capacity
+            if (changed) {
+                count.incrementAndGet();
+            }
+        }
+
+        double expectedFalsePositiveRate() {
+            double fill = 1 - Math.exp(-(double) hashFunctions * count.get() / bitCount);
+            return Math.pow(fill, hashFunctions);
+        }
+
+        private long index(long hash1, long hash2, int i) {
+            // Kirsch-Mitzenmacher double hashing
+            return Math.floorMod(hash1 + i * hash2, bitCount);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package amine.elh.fxdealwarehouse.validator;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.StringJoiner;
+
+/**
+ * Why a deal is rejected, returned by the validators instead of an exception. The constraint errors
+ * mirror the bean validation annotations of {@link FxDealRequest} and carry the same messages; the
+ * last three are the business rules of {@link FxDealValidator}. Messages are only built for
+ * rejected deals.
+ */
+public enum DealValidationError {
+
+    DEAL_ID_REQUIRED("Deal unique ID is required"),
+    DEAL_ID_TOO_LONG("Deal unique ID must not exceed 100 characters"),
+    FROM_CURRENCY_REQUIRED("From currency ISO code is required"),
+    FROM_CURRENCY_FORMAT("From currency must be a valid 3-letter ISO code"),
+    TO_CURRENCY_REQUIRED("To currency ISO code is required"),
+    TO_CURRENCY_FORMAT("To currency must be a valid 3-letter ISO code"),
+    TIMESTAMP_REQUIRED("Deal timestamp is required"),
+    TIMESTAMP_IN_FUTURE("Deal timestamp cannot be in the future"),
+    AMOUNT_REQUIRED("Deal amount is required"),
+    AMOUNT_NOT_POSITIVE("Deal amount must be positive"),
+    AMOUNT_FORMAT("Deal amount format is invalid"),
+    FROM_CURRENCY_UNSUPPORTED("Invalid from currency code: "),
+    TO_CURRENCY_UNSUPPORTED("Invalid to currency code: "),
+    SAME_CURRENCY("From and to currencies must be different");
+
+    private static final DealValidationError[] BY_MESSAGE = Arrays.stream(values())
+            .sorted(Comparator.comparing(error -> error.message))
+            .toArray(DealValidationError[]::new);
+
+    private final String message;
+
+    DealValidationError(String message) {
+        this.message = message;
+    }
+
+    /**
+     * This error's flag in the bit sets returned by {@link FxDealRequestValidator#constraintViolations}.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public String message(FxDealRequest request) {
+        return switch (this) {
+            case FROM_CURRENCY_UNSUPPORTED -> message + request.getFromCurrencyIsoCode();
+            case TO_CURRENCY_UNSUPPORTED -> message + request.getToCurrencyIsoCode();
+            default -> message;
+        };
+    }
+
+    /**
+     * Messages of all errors in the bit set, sorted and comma-separated, as bean validation
+     * violations have always been reported.
+     */
+    public static String describe(int errors, FxDealRequest request) {
+        StringJoiner messages = new StringJoiner(", ");
+        for (DealValidationError error : BY_MESSAGE) {
+            if ((errors & error.bit()) != 0) {
+                messages.add(error.message(request));
+            }
+        }
+        return messages.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package amine.elh.fxdealwarehouse.validator;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics.Stage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Checks the bean validation constraints of {@link FxDealRequest} followed by the business rules of
+ * {@link FxDealValidator}, reporting the first failing stage as a reason instead of throwing.
+ * Used by the bulk paths, where an invalid deal is an outcome rather than an error. The constraints
+ * are hand-written equivalents of the annotations, so a valid deal costs no allocation; the
+ * controllers still run the annotations through {@code @Valid}.
+ */
+@Component
+@RequiredArgsConstructor
+public class FxDealRequestValidator {
+
+    private static final int MAX_DEAL_ID_LENGTH = 100;
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.0001");
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 15;
+    private static final int MAX_AMOUNT_FRACTION_DIGITS = 4;
+
+    private final FxDealValidator validator;
+    private final DealImportMetrics metrics;
+
+    /**
+     * @return {@code null} when the request is valid, otherwise a human-readable rejection reason
+     */
+    public String rejectionReason(FxDealRequest request) {
+        if (request == null) {
+            return "Deal is null";
+        }
+        long started = System.nanoTime();
+        int violations = constraintViolations(request);
+        metrics.record(Stage.BEAN_VALIDATION, started);
+        if (violations != 0) {
+            return DealValidationError.describe(violations, request);
+        }
+        started = System.nanoTime();
+        DealValidationError error = validator.check(request);
+        metrics.record(Stage.BUSINESS_VALIDATION, started);
+        return error != null ? error.message(request) : null;
+    }
+
+    /**
+     * Same rules as the annotations on {@link FxDealRequest}: every broken constraint is reported,
+     * as {@link DealValidationError#bit()} flags.
+     *
+     * @return {@code 0} when all constraints hold
+     */
+    public int constraintViolations(FxDealRequest request) {
+        int violations = 0;
+
+        String dealUniqueId = request.getDealUniqueId();
+        if (isBlank(dealUniqueId)) {
+            violations |= DealValidationError.DEAL_ID_REQUIRED.bit();
+        }
+        if (dealUniqueId != null && dealUniqueId.length() > MAX_DEAL_ID_LENGTH) {
+            violations |= DealValidationError.DEAL_ID_TOO_LONG.bit();
+        }
+
+        String from = request.getFromCurrencyIsoCode();
+        if (isBlank(from)) {
+            violations |= DealValidationError.FROM_CURRENCY_REQUIRED.bit();
+        }
+        if (from != null && !isIsoCodeShaped(from)) {
+            violations |= DealValidationError.FROM_CURRENCY_FORMAT.bit();
+        }
+
+        String to = request.getToCurrencyIsoCode();
+        if (isBlank(to)) {
+            violations |= DealValidationError.TO_CURRENCY_REQUIRED.bit();
+        }
+        if (to != null && !isIsoCodeShaped(to)) {
+            violations |= DealValidationError.TO_CURRENCY_FORMAT.bit();
+        }
+
+        LocalDateTime timestamp = request.getDealTimestamp();
+        if (timestamp == null) {
+            violations |= DealValidationError.TIMESTAMP_REQUIRED.bit();
+        } else if (timestamp.isAfter(LocalDateTime.now())) {
+            violations |= DealValidationError.TIMESTAMP_IN_FUTURE.bit();
+        }
+
+        BigDecimal amount = request.getDealAmount();
+        if (amount == null) {
+            violations |= DealValidationError.AMOUNT_REQUIRED.bit();
+        } else {
+            if (amount.compareTo(MIN_AMOUNT) < 0) {
+                violations |= DealValidationError.AMOUNT_NOT_POSITIVE.bit();
+            }
+            if (amount.precision() - amount.scale() > MAX_AMOUNT_INTEGER_DIGITS
+                    || amount.scale() > MAX_AMOUNT_FRACTION_DIGITS) {
+                violations |= DealValidationError.AMOUNT_FORMAT.bit();
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * {@code @NotBlank}: null, empty, or only characters {@link String#trim()} would remove.
+     */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code @Pattern(regexp = "^[A-Z]{3}$")}.
+     */
+    private static boolean isIsoCodeShaped(String value) {
+        if (value.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = value.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -6,48 +6,87 @@ import amine.elh.fxdealwarehouse.dto.FxDealRequest;
 import amine.elh.fxdealwarehouse.exception.InvalidDealException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
 @Component
 @Slf4j
 public class FxDealValidator {
 
-    private static final Set<String> VALID_CURRENCY_CODES = new HashSet<>(Arrays.asList(
+    private static final String[] VALID_CURRENCY_CODES = {
             "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD",
             "SEK", "NOK", "DKK", "PLN", "CZK", "HUF", "RON", "BGN",
             "TRY", "RUB", "INR", "CNY", "HKD", "SGD", "KRW", "THB",
             "MYR", "IDR", "PHP", "MXN", "BRL", "ARS", "CLP", "COP",
             "ZAR", "SAR", "AED", "ILS", "EGP", "NGN", "KES"
-    ));
+    };
+
+    // One bit per possible code: each letter takes 5 bits, so AAA..ZZZ packs into 15 bits
+    private static final long[] SUPPORTED = new long[(1 << 15) / 64];
+
+    static {
+        for (String code : VALID_CURRENCY_CODES) {
+            int packed = pack(code);
+            SUPPORTED[packed >>> 6] |= 1L << packed;
+        }
+    }
 
     public void validate(FxDealRequest request) {
         log.debug("Validating FX deal request: {}", request.getDealUniqueId());
 
-        validateCurrencyCodes(request);
-        validateCurrenciesAreDifferent(request);
+        DealValidationError error = check(request);
+        if (error != null) {
+            throw new InvalidDealException(error.message(request));
+        }
     }
 
-    private void validateCurrencyCodes(FxDealRequest request) {
-        if (!VALID_CURRENCY_CODES.contains(request.getFromCurrencyIsoCode())) {
-            throw new InvalidDealException(
-                    "Invalid from currency code: " + request.getFromCurrencyIsoCode()
-            );
+    /**
+     * Business rules without exceptions or allocation.
+     *
+     * @return {@code null} when the deal passes, otherwise the first rule it breaks
+     */
+    public DealValidationError check(FxDealRequest request) {
+        if (!isSupportedCurrency(request.getFromCurrencyIsoCode())) {
+            return DealValidationError.FROM_CURRENCY_UNSUPPORTED;
         }
-
-        if (!VALID_CURRENCY_CODES.contains(request.getToCurrencyIsoCode())) {
-            throw new InvalidDealException(
-                    "Invalid to currency code: " + request.getToCurrencyIsoCode()
-            );
+        if (!isSupportedCurrency(request.getToCurrencyIsoCode())) {
+            return DealValidationError.TO_CURRENCY_UNSUPPORTED;
+        }
+        if (request.getFromCurrencyIsoCode().equals(request.getToCurrencyIsoCode())) {
+            return DealValidationError.SAME_CURRENCY;
         }
+        return null;
     }
 
-    private void validateCurrenciesAreDifferent(FxDealRequest request) {
-        if (request.getFromCurrencyIsoCode().equals(request.getToCurrencyIsoCode())) {
-            throw new InvalidDealException(
-                    "From and to currencies must be different"
-            );
+    public boolean isSupportedCurrency(String isoCode) {
+        int packed = pack(isoCode);
+        return packed >= 0 && (SUPPORTED[packed >>> 6] & (1L << packed)) != 0;
+    }
+
+    /**
+     * @return the three letters of an upper-case ISO code in 15 bits, or -1 for anything else.
+     *         Packed codes sort like the codes themselves.
+     */
+    public static int pack(String isoCode) {
+        if (isoCode == null || isoCode.length() != 3) {
+            return -1;
         }
+        int packed = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = isoCode.charAt(i) - 'A';
+            if (letter < 0 || letter > 25) {
+                return -1;
+            }
+            packed = packed << 5 | letter;
+        }
+        return packed;
+    }
+
+    /**
+     * Inverse of {@link #pack(String)}.
+     */
+    public static String unpack(int packed) {
+        return new String(new char[]{
+                (char) ('A' + (packed >>> 10 & 31)),
+                (char) ('A' + (packed >>> 5 & 31)),
+                (char) ('A' + (packed & 31))});
     }
-}
\ No newline at end of file
+}
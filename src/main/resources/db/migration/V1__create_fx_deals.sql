@@ -0,0 +1,14 @@
+-- Baseline schema, equivalent to what Hibernate generated with ddl-auto=update.
+-- Databases created that way are baselined at this version and skip this script.
+CREATE TABLE IF NOT EXISTS fx_deals (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    deal_unique_id         VARCHAR(100)   NOT NULL,
+    from_currency_iso_code VARCHAR(3)     NOT NULL,
+    to_currency_iso_code   VARCHAR(3)     NOT NULL,
+    deal_timestamp         TIMESTAMP(6)   NOT NULL,
+    deal_amount            NUMERIC(19, 4) NOT NULL,
+    imported_at            TIMESTAMP(6)   NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_deal_unique_id ON fx_deals (deal_unique_id);
+CREATE INDEX IF NOT EXISTS idx_deal_timestamp ON fx_deals (deal_timestamp);
@@ -0,0 +1,9 @@
+-- Move fx_deals.id from IDENTITY to a pooled sequence so Hibernate can batch inserts.
+-- INCREMENT BY must equal fxdeal.id.allocation-size; Hibernate refuses to start otherwise.
+CREATE SEQUENCE IF NOT EXISTS fx_deals_seq INCREMENT BY ${id_allocation_size};
+
+-- The pooled optimizer hands out (nextval - allocation_size, nextval], so the first value
+-- must be at least MAX(id) + allocation_size to keep new ids clear of existing rows.
+SELECT setval('fx_deals_seq', COALESCE((SELECT MAX(id) FROM fx_deals), 0) + ${id_allocation_size}, false);
+
+ALTER TABLE fx_deals ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,10 @@
+-- Serves filtered queries by currency pair and time window. Rows come back in keyset order
+-- (deal_timestamp, id) within a pair, and INCLUDE carries the remaining columns so the scan never
+-- visits the heap (index-only scan) once the visibility map is current.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_deal_pair_timestamp
+    ON fx_deals (from_currency_iso_code, to_currency_iso_code, deal_timestamp, id)
+    INCLUDE (deal_unique_id, deal_amount, imported_at);
+
+-- fx_deals is append-only, so plain autovacuum rarely runs and the visibility map lags behind;
+-- vacuum after every ~1% of inserted rows to keep index-only scans from falling back to the heap.
+ALTER TABLE fx_deals SET (autovacuum_vacuum_insert_scale_factor = 0.01);
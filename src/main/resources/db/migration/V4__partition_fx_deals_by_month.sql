@@ -0,0 +1,99 @@
+-- Range-partition fx_deals by month on deal_timestamp so retention becomes DROP TABLE and vacuum,
+-- index maintenance and time-window queries only touch the months involved.
+--
+-- PostgreSQL cannot enforce a unique index across partitions unless it contains the partition key,
+-- so uniqueness of deal_unique_id moves to the fx_deal_ids registry, filled by a trigger on every
+-- insert. A duplicate insert fails with unique_violation (23505) on fx_deal_ids_pkey, as it did on
+-- idx_deal_unique_id before.
+--
+-- Existing rows are copied in this (single) transaction; very large tables should be migrated in a
+-- maintenance window.
+
+ALTER TABLE fx_deals RENAME TO fx_deals_unpartitioned;
+ALTER TABLE fx_deals_unpartitioned RENAME CONSTRAINT fx_deals_pkey TO fx_deals_unpartitioned_pkey;
+ALTER INDEX idx_deal_unique_id RENAME TO idx_deal_unique_id_unpartitioned;
+ALTER INDEX idx_deal_timestamp RENAME TO idx_deal_timestamp_unpartitioned;
+ALTER INDEX idx_deal_pair_timestamp RENAME TO idx_deal_pair_timestamp_unpartitioned;
+
+CREATE TABLE fx_deals (
+    id                     BIGINT         NOT NULL,
+    deal_unique_id         VARCHAR(100)   NOT NULL,
+    from_currency_iso_code VARCHAR(3)     NOT NULL,
+    to_currency_iso_code   VARCHAR(3)     NOT NULL,
+    deal_timestamp         TIMESTAMP(6)   NOT NULL,
+    deal_amount            NUMERIC(19, 4) NOT NULL,
+    imported_at            TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id, deal_timestamp)
+) PARTITION BY RANGE (deal_timestamp);
+
+-- Catches deals outside every monthly partition: history older than the first one, and deals dated
+-- beyond the months DealPartitionManager keeps ahead. A month cannot be attached while rows for it
+-- sit here, so keep fxdeal.partitioning.months-ahead wide enough for incoming deals.
+CREATE TABLE fx_deals_default PARTITION OF fx_deals DEFAULT
+    WITH (autovacuum_vacuum_insert_scale_factor = 0.01);
+
+-- Monthly partitions from the oldest stored deal up to three months ahead.
+-- Names follow fx_deals_pYYYY_MM, which DealPartitionManager relies on.
+DO $$
+DECLARE
+    lower_bound DATE := date_trunc('month', COALESCE((SELECT MIN(deal_timestamp) FROM fx_deals_unpartitioned),
+                                                     now()));
+    last_bound  DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    WHILE lower_bound <= last_bound LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF fx_deals FOR VALUES FROM (%L) TO (%L) '
+                           || 'WITH (autovacuum_vacuum_insert_scale_factor = 0.01)',
+                       'fx_deals_p' || to_char(lower_bound, 'YYYY_MM'),
+                       lower_bound, (lower_bound + INTERVAL '1 month')::date);
+        lower_bound := lower_bound + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- Partitioned indexes: each partition gets its own local copy
+CREATE INDEX idx_deal_unique_id ON fx_deals (deal_unique_id);
+CREATE INDEX idx_deal_timestamp ON fx_deals (deal_timestamp);
+CREATE INDEX idx_deal_pair_timestamp
+    ON fx_deals (from_currency_iso_code, to_currency_iso_code, deal_timestamp, id)
+    INCLUDE (deal_unique_id, deal_amount, imported_at);
+
+CREATE TABLE fx_deal_ids (
+    deal_unique_id VARCHAR(100) PRIMARY KEY,
+    -- Lets retention remove the ids of dropped partitions
+    deal_timestamp TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX idx_deal_ids_timestamp ON fx_deal_ids (deal_timestamp);
+
+INSERT INTO fx_deal_ids (deal_unique_id, deal_timestamp)
+SELECT deal_unique_id, deal_timestamp FROM fx_deals_unpartitioned;
+
+INSERT INTO fx_deals (id, deal_unique_id, from_currency_iso_code, to_currency_iso_code,
+                      deal_timestamp, deal_amount, imported_at)
+SELECT id, deal_unique_id, from_currency_iso_code, to_currency_iso_code,
+       deal_timestamp, deal_amount, imported_at
+FROM fx_deals_unpartitioned;
+
+DROP TABLE fx_deals_unpartitioned;
+
+-- BEFORE ROW triggers on partitioned tables need PostgreSQL 13+. Deal ids are never updated;
+-- row deletes release the id again, dropped partitions are cleaned up by DealPartitionManager.
+CREATE FUNCTION fx_deals_register_id() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO fx_deal_ids (deal_unique_id, deal_timestamp) VALUES (NEW.deal_unique_id, NEW.deal_timestamp);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER fx_deals_register_id
+    BEFORE INSERT ON fx_deals
+    FOR EACH ROW EXECUTE FUNCTION fx_deals_register_id();
+
+CREATE FUNCTION fx_deals_release_id() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM fx_deal_ids WHERE deal_unique_id = OLD.deal_unique_id;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER fx_deals_release_id
+    AFTER DELETE ON fx_deals
+    FOR EACH ROW EXECUTE FUNCTION fx_deals_release_id();
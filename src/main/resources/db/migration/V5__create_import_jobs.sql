@@ -0,0 +1,22 @@
+-- Asynchronous bulk import jobs. Progress is written after every committed chunk so a job
+-- interrupted by a restart resumes after last_committed_line of its spooled NDJSON file.
+CREATE TABLE import_jobs (
+    id                  VARCHAR(36)   PRIMARY KEY,
+    status              VARCHAR(16)   NOT NULL,
+    spool_file          VARCHAR(500)  NOT NULL,
+    total               BIGINT        NOT NULL,
+    processed           BIGINT        NOT NULL,
+    accepted            BIGINT        NOT NULL,
+    duplicates          BIGINT        NOT NULL,
+    invalid             BIGINT        NOT NULL,
+    failed              BIGINT        NOT NULL,
+    last_committed_line BIGINT        NOT NULL,
+    submitted_at        TIMESTAMP(6)  NOT NULL,
+    started_at          TIMESTAMP(6),
+    run_started_at      TIMESTAMP(6),
+    run_start_processed BIGINT        NOT NULL,
+    finished_at         TIMESTAMP(6),
+    error               VARCHAR(1000)
+);
+
+CREATE INDEX idx_import_jobs_status ON import_jobs (status, submitted_at);
@@ -0,0 +1,60 @@
+-- Pre-aggregated deal volume per currency pair and minute, hour and day bucket of deal_timestamp,
+-- so dashboards read a few rows instead of scanning fx_deals.
+--
+-- Every INSERT (or COPY) into fx_deals appends one delta row per pair and minute it touched, in the
+-- same transaction, through a statement-level trigger: a deal is counted exactly when it commits,
+-- and concurrent imports never wait on each other's rollup rows. DealRollupService folds the
+-- deltas into fx_deal_rollups every few seconds; reads add the deltas not folded yet.
+--
+-- Rollups are history: deals removed later (row deletes, expired partitions) stay counted.
+
+CREATE TABLE fx_deal_rollups (
+    granularity            VARCHAR(6)     NOT NULL,
+    from_currency_iso_code VARCHAR(3)     NOT NULL,
+    to_currency_iso_code   VARCHAR(3)     NOT NULL,
+    bucket_start           TIMESTAMP(6)   NOT NULL,
+    deal_count             BIGINT         NOT NULL,
+    amount_sum             NUMERIC(38, 4) NOT NULL,
+    amount_min             NUMERIC(19, 4) NOT NULL,
+    amount_max             NUMERIC(19, 4) NOT NULL,
+    PRIMARY KEY (granularity, from_currency_iso_code, to_currency_iso_code, bucket_start)
+);
+
+-- Queries over all pairs
+CREATE INDEX idx_rollups_bucket ON fx_deal_rollups (granularity, bucket_start);
+
+-- Short-lived rows, deleted by every fold: vacuum often so the table stays a few pages
+CREATE TABLE fx_deal_rollup_deltas (
+    from_currency_iso_code VARCHAR(3)     NOT NULL,
+    to_currency_iso_code   VARCHAR(3)     NOT NULL,
+    minute_start           TIMESTAMP(6)   NOT NULL,
+    deal_count             BIGINT         NOT NULL,
+    amount_sum             NUMERIC(38, 4) NOT NULL,
+    amount_min             NUMERIC(19, 4) NOT NULL,
+    amount_max             NUMERIC(19, 4) NOT NULL
+) WITH (autovacuum_vacuum_scale_factor = 0.0, autovacuum_vacuum_threshold = 1000);
+
+-- Deals already stored are rolled up by the first fold
+INSERT INTO fx_deal_rollup_deltas
+SELECT from_currency_iso_code, to_currency_iso_code, date_trunc('minute', deal_timestamp),
+       COUNT(*), SUM(deal_amount), MIN(deal_amount), MAX(deal_amount)
+FROM fx_deals
+GROUP BY 1, 2, 3;
+
+-- One aggregated row per pair and minute per statement, however many deals the statement inserted.
+-- Statement triggers on a partitioned table see the rows of all partitions (PostgreSQL 11+).
+CREATE FUNCTION fx_deals_record_rollup_delta() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO fx_deal_rollup_deltas
+    SELECT from_currency_iso_code, to_currency_iso_code, date_trunc('minute', deal_timestamp),
+           COUNT(*), SUM(deal_amount), MIN(deal_amount), MAX(deal_amount)
+    FROM new_deals
+    GROUP BY 1, 2, 3;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER fx_deals_record_rollup_delta
+    AFTER INSERT ON fx_deals
+    REFERENCING NEW TABLE AS new_deals
+    FOR EACH STATEMENT EXECUTE FUNCTION fx_deals_record_rollup_delta();
@@ -0,0 +1,10 @@
+-- Idempotency-Key of every POST /api/v1/deals that stored a deal, written in the same transaction as
+-- the deal. The deal itself is found through the request, so a key only costs its text, a SHA-256
+-- of the request and a timestamp. Rows older than fxdeal.idempotency.retention are purged.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255)  PRIMARY KEY,
+    request_hash    BYTEA         NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,18 @@
+-- Make the id registry skip duplicates instead of failing: a deal whose id is already registered,
+-- or is being registered by a concurrent transaction, is not inserted. INSERT ... ON CONFLICT on
+-- fx_deal_ids waits for that transaction and only skips once it has committed, so the check and the
+-- insert stay atomic across partitions, the way ON CONFLICT (deal_unique_id) DO NOTHING was before V4.
+--
+-- A skipped row does not count towards the statement's row count and fires no AFTER INSERT triggers
+-- (rollups). Hibernate batch inserts see the missing row count and fail, so the bulk chunk path still
+-- falls back to its per-deal retry.
+CREATE OR REPLACE FUNCTION fx_deals_register_id() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO fx_deal_ids (deal_unique_id, deal_timestamp) VALUES (NEW.deal_unique_id, NEW.deal_timestamp)
+    ON CONFLICT (deal_unique_id) DO NOTHING;
+    IF NOT FOUND THEN
+        RETURN NULL;
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
@@ -13,6 +13,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -490,7 +491,8 @@ class FxDealApiTest {
                 .post("/bulk")
                 .then()
                 .statusCode(201)
-                .body("size()", equalTo(100));
+                .body("size()", equalTo(100))
+                .body("id", everyItem(notNullValue()));
     }
 
     @Test
@@ -556,10 +558,411 @@ class FxDealApiTest {
                 .statusCode(201);
     }
 
+    // ============================================================================
+    // STREAMING IMPORT
+    // ============================================================================
+
+    @Test
+    @Order(23)
+    @DisplayName("Should stream a JSON array and report rejected deals as NDJSON")
+    void testStreamingBulkImport() {
+        String body = "["
+                + "{\"dealUniqueId\":\"DEAL-STREAM-1\",\"fromCurrencyIsoCode\":\"USD\",\"toCurrencyIsoCode\":\"EUR\","
+                + "\"dealTimestamp\":\"2024-01-25T10:30:00\",\"dealAmount\":1000.50},"
+                + "{\"dealUniqueId\":\"DEAL-STREAM-2\",\"fromCurrencyIsoCode\":\"USD\",\"toCurrencyIsoCode\":\"USD\","
+                + "\"dealTimestamp\":\"2024-01-25T10:30:00\",\"dealAmount\":1000.50},"
+                + "{\"dealUniqueId\":\"DEAL-STREAM-3\",\"fromCurrencyIsoCode\":\"USD\",\"toCurrencyIsoCode\":\"EUR\","
+                + "\"dealTimestamp\":\"2024-01-25T10:30:00\",\"dealAmount\":\"not-a-number\"},"
+                + "{\"dealUniqueId\":\"DEAL-STREAM-4\",\"fromCurrencyIsoCode\":\"GBP\",\"toCurrencyIsoCode\":\"JPY\","
+                + "\"dealTimestamp\":\"2024-01-25T10:30:00\",\"dealAmount\":250}"
+                + "]";
+
+        String response = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/bulk/stream")
+                .then()
+                .statusCode(201)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        List<String> lines = response.lines().toList();
+        Assertions.assertEquals(3, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("\"index\":1") && lines.get(0).contains("INVALID"));
+        Assertions.assertTrue(lines.get(1).contains("\"index\":2") && lines.get(1).contains("Unreadable deal"));
+        Assertions.assertTrue(lines.get(2).contains("\"summary\"") && lines.get(2).contains("\"accepted\":2"));
+        Assertions.assertEquals(2, repository.count());
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Should report malformed JSON in a streamed import and keep the deals read before it")
+    void testStreamingBulkImportMalformedJson() {
+        String body = "[{\"dealUniqueId\":\"DEAL-STREAM-OK\",\"fromCurrencyIsoCode\":\"USD\","
+                + "\"toCurrencyIsoCode\":\"EUR\",\"dealTimestamp\":\"2024-01-25T10:30:00\",\"dealAmount\":10},"
+                + "{\"dealUniqueId\": oops";
+
+        String response = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/bulk/stream?includeAccepted=true")
+                .then()
+                .statusCode(201)
+                .extract().asString();
+
+        Assertions.assertTrue(response.contains("\"error\""));
+        Assertions.assertTrue(response.contains("Malformed JSON"));
+        Assertions.assertTrue(response.contains("ACCEPTED"));
+        Assertions.assertTrue(repository.existsByDealUniqueId("DEAL-STREAM-OK"));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Should import NDJSON with line numbers on rejected deals and commit checkpoints")
+    void testNdjsonBulkImport() {
+        String body = ndjsonLine("DEAL-NDJSON-1", "USD", "EUR") + "\n"
+                + "\n"
+                + "{\"dealUniqueId\": oops\n"
+                + ndjsonLine("DEAL-NDJSON-3", "USD", "USD") + "\n"
+                + ndjsonLine("DEAL-NDJSON-4", "GBP", "JPY") + "\n";
+
+        String response = given()
+                .contentType("application/x-ndjson")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/bulk?chunkSize=2")
+                .then()
+                .statusCode(201)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        List<String> lines = response.lines().toList();
+        Assertions.assertTrue(lines.get(0).contains("\"line\":3") && lines.get(0).contains("Unreadable deal"));
+        Assertions.assertTrue(lines.get(1).contains("\"lastCommittedLine\":3"));
+        Assertions.assertTrue(lines.get(2).contains("\"line\":4") && lines.get(2).contains("INVALID"));
+        Assertions.assertTrue(lines.get(3).contains("\"lastCommittedLine\":5"));
+        Assertions.assertTrue(lines.get(4).contains("\"summary\"")
+                && lines.get(4).contains("\"accepted\":2")
+                && lines.get(4).contains("\"lastCommittedLine\":5"));
+        Assertions.assertTrue(repository.existsByDealUniqueId("DEAL-NDJSON-4"));
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Should skip already committed lines when resuming an NDJSON import")
+    void testNdjsonBulkImportResume() {
+        String body = ndjsonLine("DEAL-RESUME-1", "USD", "EUR") + "\n"
+                + ndjsonLine("DEAL-RESUME-2", "USD", "EUR") + "\n"
+                + ndjsonLine("DEAL-RESUME-3", "USD", "EUR");
+
+        String response = given()
+                .contentType("application/x-ndjson")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/bulk?resumeAfterLine=2&includeAccepted=true")
+                .then()
+                .statusCode(201)
+                .extract().asString();
+
+        Assertions.assertTrue(response.contains("\"line\":3"));
+        Assertions.assertTrue(response.contains("\"total\":1"));
+        Assertions.assertTrue(repository.existsByDealUniqueId("DEAL-RESUME-3"));
+        Assertions.assertFalse(repository.existsByDealUniqueId("DEAL-RESUME-1"));
+    }
+
+    // ============================================================================
+    // PAGINATION & EXPORT
+    // ============================================================================
+
+    @Test
+    @Order(27)
+    @DisplayName("Should page through deals with a keyset cursor")
+    void testKeysetPagination() {
+        for (int i = 1; i <= 5; i++) {
+            FxDealRequest request = createValidRequest("DEAL-PAGE-" + i);
+            request.setDealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 0).plusMinutes(i % 3));
+            given().contentType(ContentType.JSON).body(request).when().post().then().statusCode(201);
+        }
+
+        List<String> seen = new java.util.ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = given().queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            var response = request.when().get().then().statusCode(200).extract();
+            seen.addAll(response.jsonPath().getList("dealUniqueId", String.class));
+            cursor = response.header("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(3, pages);
+        Assertions.assertEquals(5, seen.size());
+        Assertions.assertEquals(5, seen.stream().distinct().count());
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("Should reject a malformed pagination cursor")
+    void testInvalidCursor() {
+        given()
+                .queryParam("after", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Cursor"));
+    }
+
+    @Test
+    @Order(29)
+    @DisplayName("Should export every deal as NDJSON")
+    void testExportDeals() {
+        for (int i = 1; i <= 3; i++) {
+            given().contentType(ContentType.JSON).body(createValidRequest("DEAL-EXPORT-" + i))
+                    .when().post().then().statusCode(201);
+        }
+
+        String response = given()
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        Assertions.assertEquals(3, response.lines().count());
+        Assertions.assertTrue(response.contains("DEAL-EXPORT-3"));
+    }
+
+    @Test
+    @Order(30)
+    @DisplayName("Should filter deals by currency pair and half-open time window")
+    void testFilterByPairAndWindow() {
+        String[][] deals = {
+                {"DEAL-Q-1", "USD", "EUR", "2024-01-10T09:00:00"},
+                {"DEAL-Q-2", "USD", "EUR", "2024-01-10T23:59:59"},
+                {"DEAL-Q-3", "USD", "EUR", "2024-01-11T00:00:00"},
+                {"DEAL-Q-4", "GBP", "EUR", "2024-01-10T12:00:00"},
+                {"DEAL-Q-5", "USD", "JPY", "2024-01-10T12:00:00"}
+        };
+        for (String[] deal : deals) {
+            FxDealRequest request = createValidRequest(deal[0]);
+            request.setFromCurrencyIsoCode(deal[1]);
+            request.setToCurrencyIsoCode(deal[2]);
+            request.setDealTimestamp(LocalDateTime.parse(deal[3]));
+            given().contentType(ContentType.JSON).body(request).when().post().then().statusCode(201);
+        }
+
+        given()
+                .queryParam("fromCurrency", "usd")
+                .queryParam("toCurrency", "EUR")
+                .queryParam("start", "2024-01-10T00:00:00")
+                .queryParam("end", "2024-01-11T00:00:00")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("dealUniqueId", contains("DEAL-Q-1", "DEAL-Q-2"));
+    }
+
+    @Test
+    @Order(31)
+    @DisplayName("Should reject an empty or unparseable time window")
+    void testInvalidTimeWindow() {
+        given()
+                .queryParam("start", "2024-01-11T00:00:00")
+                .queryParam("end", "2024-01-10T00:00:00")
+                .when()
+                .get()
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Query"));
+
+        given()
+                .queryParam("start", "yesterday")
+                .when()
+                .get()
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("Invalid Query"));
+    }
+
+    // ============================================================================
+    // COMPACT BULK RESPONSE
+    // ============================================================================
+
+    @Test
+    @Order(32)
+    @DisplayName("Should answer a compact bulk import with counts and the rejected deals only")
+    void testCompactBulkImport() {
+        repository.save(mapToDeal(createValidRequest("DEAL-COMPACT-PRE")));
+        FxDealRequest invalid = createValidRequest("DEAL-COMPACT-INVALID");
+        invalid.setToCurrencyIsoCode("USD");
+
+        List<FxDealRequest> requests = Arrays.asList(
+                createValidRequest("DEAL-COMPACT-1"), createValidRequest("DEAL-COMPACT-PRE"), invalid);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(requests)
+                .when()
+                .post("/bulk?compact=true")
+                .then()
+                .statusCode(201)
+                .body("total", equalTo(3))
+                .body("accepted", equalTo(1))
+                .body("duplicates", equalTo(1))
+                .body("invalid", equalTo(1))
+                .body("failed", equalTo(0))
+                .body("rejected.dealUniqueId", contains("DEAL-COMPACT-PRE", "DEAL-COMPACT-INVALID"))
+                .body("rejected.status", contains("DUPLICATE", "INVALID"))
+                .body("rejected[1].reason", equalTo("From and to currencies must be different"))
+                .body("$", not(hasKey("acceptedIds")));
+
+        Assertions.assertTrue(repository.existsByDealUniqueId("DEAL-COMPACT-1"));
+    }
+
+    @Test
+    @Order(33)
+    @DisplayName("Should list accepted ids in a compact bulk response only when asked")
+    void testCompactBulkImportWithAcceptedIds() {
+        List<FxDealRequest> requests = Arrays.asList(
+                createValidRequest("DEAL-COMPACT-IDS-1"), createValidRequest("DEAL-COMPACT-IDS-2"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(requests)
+                .when()
+                .post("/bulk?compact=true&includeAccepted=true")
+                .then()
+                .statusCode(201)
+                .body("accepted", equalTo(2))
+                .body("rejected", empty())
+                .body("acceptedIds", contains("DEAL-COMPACT-IDS-1", "DEAL-COMPACT-IDS-2"));
+    }
+
+    // ============================================================================
+    // LOOKUP BY DEAL ID
+    // ============================================================================
+
+    @Test
+    @Order(34)
+    @DisplayName("Should look up a deal by its unique id, again from the cache")
+    void testGetDealById() {
+        given().contentType(ContentType.JSON).body(createValidRequest("DEAL-LOOKUP-1"))
+                .when().post().then().statusCode(201);
+
+        for (int i = 0; i < 2; i++) {
+            given()
+                    .when()
+                    .get("/DEAL-LOOKUP-1")
+                    .then()
+                    .statusCode(200)
+                    .body("dealUniqueId", equalTo("DEAL-LOOKUP-1"))
+                    .body("fromCurrencyIsoCode", equalTo("USD"))
+                    .body("id", notNullValue());
+        }
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("Should return 404 for an unknown deal id")
+    void testGetUnknownDeal() {
+        given()
+                .when()
+                .get("/DEAL-LOOKUP-MISSING")
+                .then()
+                .statusCode(404)
+                .body("error", equalTo("Not Found"))
+                .body("message", containsString("DEAL-LOOKUP-MISSING"));
+    }
+
+    // ============================================================================
+    // IDEMPOTENCY KEY
+    // ============================================================================
+
+    @Test
+    @Order(36)
+    @DisplayName("Should replay the original response for a retry with the same Idempotency-Key")
+    void testIdempotentRetryReplaysResponse() {
+        FxDealRequest request = createValidRequest("DEAL-IDEM-1");
+
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", "idem-key-1")
+                .body(request)
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .header("Idempotent-Replayed", "false")
+                .extract().path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", "idem-key-1")
+                .body(request)
+                .when()
+                .post()
+                .then()
+                .statusCode(201)
+                .header("Idempotent-Replayed", "true")
+                .body("id", equalTo(id))
+                .body("dealUniqueId", equalTo("DEAL-IDEM-1"));
+
+        Assertions.assertEquals(1, repository.count());
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("Should reject an Idempotency-Key reused for a different deal")
+    void testIdempotencyKeyReusedForOtherDeal() {
+        given().contentType(ContentType.JSON).header("Idempotency-Key", "idem-key-2")
+                .body(createValidRequest("DEAL-IDEM-2")).when().post().then().statusCode(201);
+
+        given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", "idem-key-2")
+                .body(createValidRequest("DEAL-IDEM-3"))
+                .when()
+                .post()
+                .then()
+                .statusCode(422)
+                .body("error", equalTo("Idempotency Key Reused"));
+    }
+
+    @Test
+    @Order(38)
+    @DisplayName("Should still report a duplicate when another key already stored the deal id")
+    void testIdempotencyKeyForDealStoredByOtherRequest() {
+        given().contentType(ContentType.JSON)
+                .body(createValidRequest("DEAL-IDEM-4")).when().post().then().statusCode(201);
+
+        given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", "idem-key-4")
+                .body(createValidRequest("DEAL-IDEM-4"))
+                .when()
+                .post()
+                .then()
+                .statusCode(409);
+    }
+
     // ============================================================================
     // HELPER METHODS
     // ============================================================================
 
+    private String ndjsonLine(String dealId, String from, String to) {
+        return "{\"dealUniqueId\":\"" + dealId + "\",\"fromCurrencyIsoCode\":\"" + from
+                + "\",\"toCurrencyIsoCode\":\"" + to + "\",\"dealTimestamp\":\"2024-01-25T10:30:00\","
+                + "\"dealAmount\":100}";
+    }
+
     private FxDealRequest createValidRequest(String dealId) {
         return FxDealRequest.builder()
                 .dealUniqueId(dealId)
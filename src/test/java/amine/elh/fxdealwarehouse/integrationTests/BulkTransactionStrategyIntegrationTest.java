@@ -0,0 +1,117 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter.TransactionStrategy;
+import amine.elh.fxdealwarehouse.service.DealIdFilter;
+import amine.elh.fxdealwarehouse.service.DealLookupCache;
+import amine.elh.fxdealwarehouse.service.HotDealStore;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transaction strategies against a real database. A deal stored behind the importer's back (as by
+ * a concurrent writer) is unknown to the id filter, so the batched insert of its chunk fails.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkTransactionStrategyIntegrationTest {
+
+    @Autowired
+    private FxDealRepository repository;
+
+    @Autowired
+    private FxDealRequestValidator requestValidator;
+
+    @Autowired
+    private DealIdFilter dealIdFilter;
+
+    @Autowired
+    private HotDealStore hotStore;
+
+    @Autowired
+    private DealLookupCache lookupCache;
+
+    @Autowired
+    private DealImportMetrics metrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void init() {
+        repository.deleteAll();
+        dealIdFilter.warmUp();
+        jdbcTemplate.update("INSERT INTO fx_deals (id, deal_unique_id, from_currency_iso_code, to_currency_iso_code, "
+                        + "deal_timestamp, deal_amount, imported_at) VALUES (-1, 'TX-2', 'USD', 'EUR', ?, 1000.00, ?)",
+                LocalDateTime.now().minusMinutes(5), LocalDateTime.now());
+    }
+
+    @Test
+    void chunkStrategyIsolatesTheConflictingDealWithSavepoints() {
+        BulkImportResult result = importer(TransactionStrategy.CHUNK).importAll(requests());
+
+        assertThat(result.getOutcomes()).extracting(DealOutcome::getStatus).containsExactly(
+                DealOutcome.Status.ACCEPTED, DealOutcome.Status.DUPLICATE, DealOutcome.Status.ACCEPTED);
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void perDealStrategyCommitsAroundTheConflictingDeal() {
+        BulkImportResult result = importer(TransactionStrategy.PER_DEAL).importAll(requests());
+
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void allOrNothingStrategyRollsBackEveryDeal() {
+        BulkImportResult result = importer(TransactionStrategy.ALL_OR_NOTHING).importAll(requests());
+
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getImportedDeals()).isEmpty();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    private BulkDealImporter importer(TransactionStrategy strategy) {
+        FxDealImportProperties properties = new FxDealImportProperties();
+        properties.setTransactionStrategy(strategy);
+        return new BulkDealImporter(repository, requestValidator, dealIdFilter, hotStore, lookupCache, metrics,
+                transactionManager, properties);
+    }
+
+    private static List<FxDealRequest> requests() {
+        return List.of(request("TX-1"), request("TX-2"), request("TX-3"));
+    }
+
+    private static FxDealRequest request(String id) {
+        return FxDealRequest.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now().minusMinutes(5))
+                .dealAmount(new BigDecimal("1000.00"))
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.service.DealRollupService;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Rollups are maintained by the V6 trigger and fold, so they need the real PostgreSQL schema.
+ */
+@Testcontainers
+@SpringBootTest(properties = "fxdeal.rollups.fold-interval=1h")
+class DealRollupIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> db =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("fxdb_test")
+                    .withUsername("amine")
+                    .withPassword("amine");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+    }
+
+    @Autowired
+    private FxDealService fxDealService;
+
+    @Autowired
+    private DealRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.execute("TRUNCATE fx_deals, fx_deal_ids, fx_deal_rollups, fx_deal_rollup_deltas");
+    }
+
+    @Test
+    void shouldRollUpCommittedDealsPerPairAndBucket() {
+        fxDealService.bulkImport(List.of(
+                request("ROLLUP-1", "USD", "EUR", START.plusHours(10).plusMinutes(15), "100.00"),
+                request("ROLLUP-2", "USD", "EUR", START.plusHours(10).plusMinutes(15).plusSeconds(40), "300.00"),
+                request("ROLLUP-3", "USD", "EUR", START.plusHours(10).plusMinutes(50), "50.00"),
+                request("ROLLUP-4", "GBP", "JPY", START.plusHours(10).plusMinutes(20), "1000.00"),
+                request("ROLLUP-5", "USD", "EUR", START.plusDays(1).plusHours(9), "25.00")));
+        fxDealService.importDeal(request("ROLLUP-6", "USD", "EUR", START.plusHours(11), "75.00"));
+
+        List<VolumeBucket> beforeFold = rollupService.getVolume(
+                Granularity.HOUR, "USD", "EUR", START, START.plusDays(2));
+        rollupService.foldPending();
+        List<VolumeBucket> afterFold = rollupService.getVolume(
+                Granularity.HOUR, "USD", "EUR", START, START.plusDays(2));
+
+        assertThat(beforeFold).isEqualTo(afterFold);
+        assertThat(afterFold).containsExactly(
+                bucket("USD", "EUR", START.plusHours(10), 3, "450.0000", "50.0000", "300.0000"),
+                bucket("USD", "EUR", START.plusHours(11), 1, "75.0000", "75.0000", "75.0000"),
+                bucket("USD", "EUR", START.plusDays(1).plusHours(9), 1, "25.0000", "25.0000", "25.0000"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM fx_deal_rollup_deltas", Long.class))
+                .isZero();
+
+        assertThat(rollupService.getVolume(Granularity.MINUTE, "USD", "EUR", START.plusHours(10).plusMinutes(15),
+                START.plusHours(10).plusMinutes(16)))
+                .containsExactly(bucket("USD", "EUR", START.plusHours(10).plusMinutes(15),
+                        2, "400.0000", "100.0000", "300.0000"));
+        assertThat(rollupService.getVolume(Granularity.DAY, null, null, START, START.plusDays(1)))
+                .extracting(VolumeBucket::fromCurrencyIsoCode, VolumeBucket::dealCount)
+                .containsExactly(tuple("GBP", 1L),
+                        tuple("USD", 4L));
+    }
+
+    @Test
+    void shouldMatchFullScanAcrossFoldsAndIgnoreRejectedDeals() {
+        fxDealService.bulkImport(List.of(
+                request("ROLLUP-A", "EUR", "GBP", START.plusHours(3), "10.00"),
+                request("ROLLUP-B", "EUR", "GBP", START.plusHours(3).plusMinutes(1), "20.00")));
+        rollupService.foldPending();
+        // A duplicate and an invalid deal in the same chunk as a new one: only the new one counts
+        fxDealService.bulkImport(List.of(
+                request("ROLLUP-A", "EUR", "GBP", START.plusHours(3), "10.00"),
+                request("ROLLUP-C", "EUR", "EUR", START.plusHours(3), "99.00"),
+                request("ROLLUP-D", "EUR", "GBP", START.plusHours(3).plusMinutes(59), "5.00")));
+
+        List<VolumeBucket> volume = rollupService.getVolume(Granularity.HOUR, "EUR", "GBP", START, START.plusDays(1));
+
+        BigDecimal scannedSum = jdbcTemplate.queryForObject(
+                "SELECT SUM(deal_amount) FROM fx_deals WHERE from_currency_iso_code = 'EUR' "
+                        + "AND to_currency_iso_code = 'GBP'", BigDecimal.class);
+        assertThat(volume).containsExactly(
+                bucket("EUR", "GBP", START.plusHours(3), 3, "35.0000", "5.0000", "20.0000"));
+        assertThat(volume.get(0).totalAmount()).isEqualByComparingTo(scannedSum);
+    }
+
+    private static VolumeBucket bucket(String from, String to, LocalDateTime start, long count,
+                                       String sum, String min, String max) {
+        return new VolumeBucket(from, to, start, count, new BigDecimal(sum), new BigDecimal(min), new BigDecimal(max));
+    }
+
+    private static FxDealRequest request(String id, String from, String to, LocalDateTime timestamp, String amount) {
+        return FxDealRequest.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(timestamp)
+                .dealAmount(new BigDecimal(amount))
+                .build();
+    }
+}
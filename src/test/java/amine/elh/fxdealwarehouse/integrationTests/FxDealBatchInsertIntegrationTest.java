@@ -0,0 +1,77 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves that bulk imports reach the database as JDBC batches: with IDENTITY ids Hibernate
+ * had to prepare and execute one INSERT per deal.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=20",
+        "fxdeal.import.chunk-size=100",
+        "fxdeal.id.allocation-size=50"
+})
+@ActiveProfiles("test")
+class FxDealBatchInsertIntegrationTest {
+
+    private static final int DEALS = 100;
+
+    @Autowired
+    private BulkDealImporter bulkImporter;
+
+    @Autowired
+    private FxDealRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        repository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bulkImportIsSentAsJdbcBatches() {
+        List<FxDealRequest> requests = new ArrayList<>();
+        for (int i = 0; i < DEALS; i++) {
+            requests.add(FxDealRequest.builder()
+                    .dealUniqueId("BATCH-" + i)
+                    .fromCurrencyIsoCode("USD")
+                    .toCurrencyIsoCode("EUR")
+                    .dealTimestamp(LocalDateTime.now().minusMinutes(5))
+                    .dealAmount(new BigDecimal("1000.00"))
+                    .build());
+        }
+
+        BulkImportResult result = bulkImporter.importAll(requests);
+
+        assertThat(result.getAccepted()).isEqualTo(DEALS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(DEALS);
+        // 1 duplicate lookup + 3 sequence calls (allocation size 50) + 5 insert batches of 20
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+        assertThat(repository.count()).isEqualTo(DEALS);
+    }
+}
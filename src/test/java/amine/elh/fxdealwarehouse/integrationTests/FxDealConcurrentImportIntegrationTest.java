@@ -0,0 +1,84 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent single imports of the same id: exactly one wins, every other request gets the
+ * duplicate error instead of a constraint violation.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FxDealConcurrentImportIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private FxDealService service;
+
+    @Autowired
+    private FxDealRepository repository;
+
+    @BeforeEach
+    void init() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void concurrentImportsOfSameIdYieldOneDealAndDuplicates() throws Exception {
+        FxDealRequest request = FxDealRequest.builder()
+                .dealUniqueId("RACE-001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now().minusMinutes(5))
+                .dealAmount(new BigDecimal("1000.00"))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.importDeal(request);
+                        return "imported";
+                    } catch (DuplicateDealException e) {
+                        return "duplicate";
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<String> outcomes = new ArrayList<>();
+            for (Future<String> result : results) {
+                outcomes.add(result.get());
+            }
+
+            assertThat(outcomes).containsOnlyOnce("imported");
+            assertThat(outcomes).filteredOn("duplicate"::equals).hasSize(THREADS - 1);
+            assertThat(repository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.dto.CopyImportResult;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.CopyDealImporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest
+class FxDealCopyIngestionIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> db =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("fxdb_test")
+                    .withUsername("amine")
+                    .withPassword("amine");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+    }
+
+    @Autowired
+    private CopyDealImporter copyImporter;
+
+    @Autowired
+    private FxDealRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void init() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldCopyNewDealsAndSkipDuplicates() {
+        repository.save(deal("FX-COPY-EXISTING"));
+
+        FxDealRequest invalid = request("FX-COPY-INVALID");
+        invalid.setToCurrencyIsoCode("USD");
+
+        CopyImportResult result = copyImporter.importAll(List.of(
+                request("FX-COPY-1"),
+                request("FX-COPY-\"quoted\",id"),
+                request("FX-COPY-EXISTING"),
+                request("FX-COPY-1"),
+                invalid
+        ).iterator());
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getRejected()).extracting("index").containsExactly(4);
+        assertThat(repository.existsByDealUniqueId("FX-COPY-\"quoted\",id")).isTrue();
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void copyMergeDrawsIdsFromOneSequenceBlock() {
+        Long before = jdbcTemplate.queryForObject("SELECT nextval('fx_deals_seq')", Long.class);
+
+        CopyImportResult result = copyImporter.importAll(List.of(
+                request("FX-BLOCK-1"), request("FX-BLOCK-2"), request("FX-BLOCK-3")).iterator());
+
+        Long after = jdbcTemplate.queryForObject("SELECT nextval('fx_deals_seq')", Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM fx_deals WHERE deal_unique_id LIKE 'FX-BLOCK-%' ORDER BY id", Long.class);
+        assertThat(result.getInserted()).isEqualTo(3);
+        // Allocation size 50: one block for the merge, not one per row
+        assertThat(after - before).isEqualTo(100);
+        assertThat(ids).containsExactly(before + 1, before + 2, before + 3);
+    }
+
+    @Test
+    void copyMergeSkipsIdInsertedByConcurrentSingleImport() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // A single import registers the shared id and holds its transaction open
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Future<?> single = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                assertThat(repository.insertIfAbsent(deal("FX-RACE-SHARED"))).isPresent();
+                inserted.countDown();
+                await(commit);
+            }));
+            await(inserted);
+
+            Future<CopyImportResult> copy = executor.submit(() ->
+                    copyImporter.importAll(List.of(request("FX-RACE-SHARED"), request("FX-RACE-COPY")).iterator()));
+            // The merge waits on the uncommitted fx_deal_ids row instead of checking past it
+            waitForLockWait();
+            commit.countDown();
+            single.get(30, TimeUnit.SECONDS);
+
+            CopyImportResult result = copy.get(30, TimeUnit.SECONDS);
+            assertThat(result.getInserted()).isEqualTo(1);
+            assertThat(result.getDuplicates()).isEqualTo(1);
+            assertThat(repository.existsByDealUniqueId("FX-RACE-COPY")).isTrue();
+            assertThat(repository.count()).isEqualTo(2);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE NOT granted", Integer.class) == 0) {
+            assertThat(System.nanoTime()).as("COPY merge never blocked on the shared id").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FxDealRequest request(String id) {
+        return FxDealRequest.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now().minusHours(1))
+                .dealAmount(new BigDecimal("125000.5000"))
+                .build();
+    }
+
+    private FxDeal deal(String id) {
+        return FxDeal.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now().minusHours(1))
+                .dealAmount(new BigDecimal("125000.5000"))
+                .build();
+    }
+}
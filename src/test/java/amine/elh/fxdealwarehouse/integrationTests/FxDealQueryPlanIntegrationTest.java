@@ -0,0 +1,147 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealPartitionRepository;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the plans behind the filtered deal listing on a realistically sized table. The EXPLAIN
+ * statements mirror the SQL generated by {@code FxDealQueryRepositoryImpl}; if a change to the
+ * query or the indexes makes PostgreSQL fall back to a heap or sequential scan, or a time window
+ * stops pruning the monthly partitions of {@code fx_deals}, these tests fail.
+ */
+@Testcontainers
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FxDealQueryPlanIntegrationTest {
+
+    private static final int DEALS = 200_000;
+
+    private static final String PAIR_WINDOW_QUERY = "SELECT id, deal_amount, deal_timestamp, deal_unique_id, "
+            + "from_currency_iso_code, imported_at, to_currency_iso_code FROM fx_deals "
+            + "WHERE from_currency_iso_code = 'USD' AND to_currency_iso_code = 'EUR' "
+            + "AND deal_timestamp >= '2024-01-10 00:00' AND deal_timestamp < '2024-01-11 00:00' "
+            + "%s ORDER BY deal_timestamp, id LIMIT 101";
+
+    private static final String AFTER_CURSOR = "AND deal_timestamp >= '2024-01-10 12:00' "
+            + "AND (deal_timestamp > '2024-01-10 12:00' OR id > 1000)";
+
+    @Container
+    static final PostgreSQLContainer<?> db =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("fxdb_test")
+                    .withUsername("amine")
+                    .withPassword("amine");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", db::getJdbcUrl);
+        registry.add("spring.datasource.username", db::getUsername);
+        registry.add("spring.datasource.password", db::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FxDealRepository repository;
+
+    @Autowired
+    private FxDealPartitionRepository partitionRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE fx_deals, fx_deal_ids");
+        // The seeded deals predate the partitions created by V4 and would otherwise all land in the default partition
+        for (YearMonth month = YearMonth.of(2024, 1); !month.isAfter(YearMonth.of(2024, 4)); month = month.plusMonths(1)) {
+            partitionRepository.createMonthlyPartition(month);
+        }
+        // 10 currency pairs spread over 100 days
+        jdbcTemplate.update("INSERT INTO fx_deals (id, deal_unique_id, from_currency_iso_code, "
+                + "to_currency_iso_code, deal_timestamp, deal_amount, imported_at) "
+                + "SELECT nextval('fx_deals_seq'), 'PLAN-' || g, "
+                + "(ARRAY['USD','EUR','GBP','JPY','CHF'])[g % 5 + 1], "
+                + "(ARRAY['EUR','USD','JPY','GBP'])[g % 2 + 1 + (g / 5) % 3], "
+                + "TIMESTAMP '2024-01-01' + g * (INTERVAL '100 days' / ?), "
+                + "100 + g % 1000, now() FROM generate_series(1, ?) g", DEALS, DEALS);
+        jdbcTemplate.execute("VACUUM ANALYZE fx_deals");
+    }
+
+    @Test
+    void pairAndWindowQueryIsIndexOnlyScan() {
+        String plan = explain(String.format(PAIR_WINDOW_QUERY, ""));
+
+        // Only the covering pair index can answer this without the heap
+        assertThat(plan).contains("Index Only Scan").contains("fx_deals_p2024_01");
+        assertThat(plan).doesNotContain("Seq Scan").doesNotContain("\"Sort\"");
+    }
+
+    @Test
+    void nextPageOfPairQueryStaysIndexOnly() {
+        String plan = explain(String.format(PAIR_WINDOW_QUERY, AFTER_CURSOR));
+
+        assertThat(plan).contains("Index Only Scan").contains("fx_deals_p2024_01");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void windowOnlyQueryUsesTimestampIndex() {
+        String plan = explain("SELECT * FROM fx_deals WHERE deal_timestamp >= '2024-01-10' "
+                + "AND deal_timestamp < '2024-01-11' ORDER BY deal_timestamp, id LIMIT 101");
+
+        assertThat(plan).contains("fx_deals_p2024_01_deal_timestamp_idx").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void windowQueryTouchesOnlyOverlappingPartitions() {
+        String plan = explain("SELECT * FROM fx_deals WHERE deal_timestamp >= '2024-01-25' "
+                + "AND deal_timestamp < '2024-02-05' ORDER BY deal_timestamp, id LIMIT 101");
+
+        assertThat(plan).contains("fx_deals_p2024_01").contains("fx_deals_p2024_02");
+        assertThat(plan).doesNotContain("fx_deals_p2024_03").doesNotContain("fx_deals_default");
+    }
+
+    @Test
+    void repositoryReturnsPairWindowInKeysetOrder() {
+        DealQuery query = DealQuery.builder()
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .start(LocalDateTime.of(2024, 1, 10, 0, 0))
+                .end(LocalDateTime.of(2024, 1, 11, 0, 0))
+                .build();
+
+        List<FxDeal> first = repository.findPage(query, null, 50);
+        List<FxDeal> second = repository.findPage(query, DealCursor.after(first.get(first.size() - 1)), 50);
+
+        assertThat(first).isNotEmpty();
+        assertThat(first).allMatch(deal -> deal.getFromCurrencyIsoCode().equals("USD")
+                && deal.getToCurrencyIsoCode().equals("EUR"));
+        assertThat(second).noneMatch(first::contains);
+        if (!second.isEmpty()) {
+            assertThat(second.get(0).getDealTimestamp()).isAfterOrEqualTo(first.get(first.size() - 1).getDealTimestamp());
+        }
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (FORMAT JSON) " + sql, String.class));
+    }
+}
@@ -17,6 +17,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -72,6 +73,32 @@ class FxDealRepositoryIntegrationTest {
         assertThat(exists).isTrue();
     }
 
+    @Test
+    void shouldInsertIfAbsentWithSingleStatement() {
+        Optional<FxDeal> inserted = repository.insertIfAbsent(deal);
+
+        assertThat(inserted).isPresent();
+        assertThat(inserted.get().getId()).isNotNull();
+        assertThat(repository.existsByDealUniqueId("FX-TEST-100")).isTrue();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenInsertingExistingDeal() {
+        repository.save(deal);
+        repository.flush();
+
+        Optional<FxDeal> second = repository.insertIfAbsent(FxDeal.builder()
+                .dealUniqueId("FX-TEST-100")
+                .fromCurrencyIsoCode("GBP")
+                .toCurrencyIsoCode("JPY")
+                .dealTimestamp(LocalDateTime.now())
+                .dealAmount(BigDecimal.ONE)
+                .build());
+
+        assertThat(second).isEmpty();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
     @Test
     void shouldSetImportedAtOnPersist() {
         FxDeal saved = repository.save(deal);
@@ -0,0 +1,115 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.dto.ImportJobStatus;
+import amine.elh.fxdealwarehouse.exception.ImportJobNotFoundException;
+import amine.elh.fxdealwarehouse.model.ImportJob;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.repository.ImportJobRepository;
+import amine.elh.fxdealwarehouse.service.ImportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "fxdeal.import.chunk-size=2")
+@ActiveProfiles("test")
+class ImportJobIntegrationTest {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ImportJobRepository jobRepository;
+
+    @Autowired
+    private FxDealRepository dealRepository;
+
+    @BeforeEach
+    void init() {
+        dealRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void submittedJobRunsInBackgroundAndReportsCounts() throws InterruptedException {
+        String body = "[" + deal("JOB-1", "USD", "EUR") + "," + deal("JOB-2", "USD", "USD") + ","
+                + deal("JOB-1", "USD", "EUR") + "," + deal("JOB-3", "GBP", "JPY") + "]";
+
+        ImportJobStatus submitted = importJobService.submit(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), false);
+        ImportJobStatus finished = awaitFinished(submitted.getId());
+
+        assertThat(submitted.getTotal()).isEqualTo(4);
+        assertThat(finished.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(finished.getProcessed()).isEqualTo(4);
+        assertThat(finished.getAccepted()).isEqualTo(2);
+        assertThat(finished.getDuplicates()).isEqualTo(1);
+        assertThat(finished.getInvalid()).isEqualTo(1);
+        assertThat(finished.getDealsPerSecond()).isPositive();
+        assertThat(dealRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void interruptedJobResumesAfterLastCommittedLine() throws IOException, InterruptedException {
+        // A job that committed its first chunk (lines 1-2) before the application stopped
+        String id = UUID.randomUUID().toString();
+        Path spoolFile = Files.createDirectories(Path.of("target/import-jobs")).resolve(id + ".ndjson");
+        Files.write(spoolFile, List.of(deal("RESUME-1", "USD", "EUR"), deal("RESUME-2", "USD", "EUR"),
+                deal("RESUME-3", "USD", "EUR"), deal("RESUME-4", "USD", "EUR")));
+        jobRepository.save(ImportJob.builder()
+                .id(id)
+                .status(ImportJob.Status.RUNNING)
+                .spoolFile(spoolFile.toString())
+                .total(4)
+                .processed(2)
+                .accepted(2)
+                .lastCommittedLine(2)
+                .submittedAt(LocalDateTime.now())
+                .build());
+
+        importJobService.resumeInterrupted();
+        ImportJobStatus finished = awaitFinished(id);
+
+        assertThat(finished.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(finished.getProcessed()).isEqualTo(4);
+        assertThat(finished.getAccepted()).isEqualTo(4);
+        assertThat(dealRepository.findAll()).extracting("dealUniqueId")
+                .containsExactlyInAnyOrder("RESUME-3", "RESUME-4");
+        assertThat(spoolFile).doesNotExist();
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        assertThrows(ImportJobNotFoundException.class, () -> importJobService.getStatus("missing"));
+    }
+
+    private ImportJobStatus awaitFinished(String id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ImportJobStatus status = importJobService.getStatus(id);
+            if (status.getStatus() == ImportJob.Status.COMPLETED || status.getStatus() == ImportJob.Status.FAILED) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import job " + id + " did not finish");
+    }
+
+    private static String deal(String id, String from, String to) {
+        return "{\"dealUniqueId\":\"" + id + "\",\"fromCurrencyIsoCode\":\"" + from + "\","
+                + "\"toCurrencyIsoCode\":\"" + to + "\",\"dealTimestamp\":\"2024-01-15T10:30:00\","
+                + "\"dealAmount\":1000.50}";
+    }
+}
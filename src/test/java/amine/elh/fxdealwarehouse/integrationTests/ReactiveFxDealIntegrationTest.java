@@ -0,0 +1,167 @@
+package amine.elh.fxdealwarehouse.integrationTests;
+
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+// Own in-memory database: closing this context drops its schema, which must not affect the shared testdb
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@ActiveProfiles({"reactive", "test"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReactiveFxDealIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FxDealRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1/deals";
+        repository.deleteAll();
+    }
+
+    @Test
+    void singleDealIsCreatedThenRejectedAsDuplicate() {
+        String deal = deal("RX-1", "USD", "EUR");
+
+        given().contentType(ContentType.JSON).body(deal)
+                .when().post()
+                .then().statusCode(201)
+                .body("id", notNullValue())
+                .body("dealUniqueId", equalTo("RX-1"));
+
+        given().contentType(ContentType.JSON).body(deal)
+                .when().post()
+                .then().statusCode(409)
+                .body("error", equalTo("Duplicate Deal"));
+
+        assertThat(repository.existsByDealUniqueId("RX-1")).isTrue();
+    }
+
+    @Test
+    void invalidDealIsRejectedWithSameErrorsAsServletStack() {
+        given().contentType(ContentType.JSON).body(deal("RX-2", "USD", "USD"))
+                .when().post()
+                .then().statusCode(400)
+                .body("error", equalTo("Invalid Deal"));
+
+        given().contentType(ContentType.JSON).body("{\"dealUniqueId\":\"RX-3\"}")
+                .when().post()
+                .then().statusCode(400)
+                .body("error", equalTo("Validation Failed"));
+    }
+
+    @Test
+    void ndjsonImportStreamsOutcomesCheckpointsAndSummary() throws Exception {
+        String body = String.join("\n",
+                deal("RX-10", "USD", "EUR"),
+                deal("RX-10", "USD", "EUR"),
+                "{not json",
+                deal("RX-11", "GBP", "GBP"),
+                deal("RX-12", "GBP", "JPY")) + "\n";
+
+        List<JsonNode> lines = ndjson(given()
+                .contentType("application/x-ndjson")
+                .accept("application/x-ndjson")
+                .queryParam("chunkSize", 2)
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when().post("/bulk")
+                .then().statusCode(201)
+                .extract().asString());
+
+        assertThat(lines).filteredOn(line -> line.has("status"))
+                .extracting(line -> line.get("line").asLong() + ":" + line.get("status").asText())
+                .containsExactly("2:DUPLICATE", "3:INVALID", "4:INVALID");
+        assertThat(lines).filteredOn(line -> line.has("lastCommittedLine"))
+                .extracting(line -> line.get("lastCommittedLine").asLong())
+                .containsExactly(2L, 4L, 5L);
+        JsonNode summary = lines.get(lines.size() - 1).get("summary");
+        assertThat(summary.get("total").asLong()).isEqualTo(5);
+        assertThat(summary.get("accepted").asLong()).isEqualTo(2);
+        assertThat(summary.get("duplicates").asLong()).isEqualTo(1);
+        assertThat(summary.get("invalid").asLong()).isEqualTo(2);
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void ndjsonImportResumesAfterLine() throws Exception {
+        String body = String.join("\n",
+                deal("RX-20", "USD", "EUR"),
+                deal("RX-21", "USD", "EUR"),
+                deal("RX-22", "USD", "EUR"));
+
+        List<JsonNode> lines = ndjson(given()
+                .contentType("application/x-ndjson")
+                .queryParam("resumeAfterLine", 2)
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when().post("/bulk")
+                .then().statusCode(201)
+                .extract().asString());
+
+        assertThat(lines.get(lines.size() - 1).get("summary").get("accepted").asLong()).isEqualTo(1);
+        assertThat(repository.findAll()).extracting("dealUniqueId").containsExactly("RX-22");
+    }
+
+    @Test
+    void jsonArrayStreamImportReportsDuplicatesAgainstStoredDeals() throws Exception {
+        given().contentType(ContentType.JSON).body(deal("RX-30", "USD", "EUR"))
+                .when().post()
+                .then().statusCode(201);
+
+        List<JsonNode> lines = ndjson(given()
+                .contentType(ContentType.JSON)
+                .queryParam("includeAccepted", true)
+                .body("[" + deal("RX-30", "USD", "EUR") + "," + deal("RX-31", "EUR", "CHF") + "]")
+                .when().post("/bulk/stream")
+                .then().statusCode(201)
+                .extract().asString());
+
+        assertThat(lines).filteredOn(line -> line.has("status"))
+                .extracting(line -> line.get("dealUniqueId").asText() + ":" + line.get("status").asText())
+                .containsExactly("RX-30:DUPLICATE", "RX-31:ACCEPTED");
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    private List<JsonNode> ndjson(String body) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private static String deal(String id, String from, String to) {
+        return "{\"dealUniqueId\":\"" + id + "\",\"fromCurrencyIsoCode\":\"" + from + "\","
+                + "\"toCurrencyIsoCode\":\"" + to + "\",\"dealTimestamp\":\"2024-01-15T10:30:00\","
+                + "\"dealAmount\":1000.50}";
+    }
+}
@@ -0,0 +1,595 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealDedupProperties;
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter.TransactionStrategy;
+import amine.elh.fxdealwarehouse.service.DealIdFilter;
+import amine.elh.fxdealwarehouse.service.DealLookupCache;
+import amine.elh.fxdealwarehouse.service.HotDealStore;
+import amine.elh.fxdealwarehouse.service.DealOutcomeListener;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkDealImporterTest {
+
+    @Mock
+    private FxDealRepository repository;
+
+    @Mock
+    private FxDealValidator validator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private HotDealStore hotStore;
+
+    @Mock
+    private DealLookupCache lookupCache;
+
+    private final FxDealDedupProperties dedupProperties = new FxDealDedupProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BulkDealImporter importer;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        dedupProperties.setEnabled(false);
+        importer = importer(new DealIdFilter(repository, transactionManager, dedupProperties));
+
+        when(repository.findExistingDealUniqueIds(anyCollection())).thenReturn(Set.of());
+        when(repository.insertAll(anyList())).thenAnswer(i -> {
+            List<FxDeal> deals = i.getArgument(0);
+            deals.forEach(deal -> deal.setId(ids.incrementAndGet()));
+            return deals;
+        });
+    }
+
+    @Test
+    void importAll_AllValid_WritesOneInsertPerChunk() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-003"));
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then
+        assertEquals(3, result.getAccepted());
+        assertEquals(3, result.getImportedDeals().size());
+        verify(repository, times(2)).findExistingDealUniqueIds(anyCollection());
+        verify(repository, times(2)).insertAll(anyList());
+        verify(repository, never()).existsByDealUniqueId(anyString());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void importAll_ExistingDeal_ReportedAsDuplicate() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        when(repository.findExistingDealUniqueIds(anyCollection())).thenReturn(Set.of("DEAL-002"));
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(DealOutcome.Status.DUPLICATE, result.getOutcomes().get(1).getStatus());
+        assertEquals("DEAL-001", result.getImportedDeals().get(0).getDealUniqueId());
+    }
+
+    @Test
+    void importAll_RecordsOutcomesByPairAndStageTimings() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        when(repository.findExistingDealUniqueIds(anyCollection())).thenReturn(Set.of("DEAL-002"));
+
+        // When
+        importer.importAll(requests);
+
+        // Then
+        assertEquals(1, meterRegistry.get("fxdeal.import.deals")
+                .tags("outcome", "accepted", "pair", "USD/EUR").counter().count());
+        assertEquals(1, meterRegistry.get("fxdeal.import.deals")
+                .tags("outcome", "duplicate", "pair", "USD/EUR").counter().count());
+        assertEquals(2, meterRegistry.get("fxdeal.import.stage").tag("stage", "bean_validation").timer().count());
+        assertEquals(1, meterRegistry.get("fxdeal.import.stage").tag("stage", "dedup").timer().count());
+        assertEquals(1, meterRegistry.get("fxdeal.import.stage").tag("stage", "insert").timer().count());
+    }
+
+    @Test
+    void importAll_DuplicateWithinChunk_OnlyFirstIsWritten() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-001"), createRequest("DEAL-002"));
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then
+        assertEquals(2, result.getAccepted());
+        assertEquals(DealOutcome.Status.DUPLICATE, result.getOutcomes().get(1).getStatus());
+    }
+
+    @Test
+    void importAll_DuplicateAcrossChunks_CaughtByLookupOfLaterChunk() {
+        // Given - the first chunk is committed before the second one is resolved
+        List<FxDealRequest> requests = Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-001"));
+        when(repository.findExistingDealUniqueIds(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("DEAL-001"));
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then
+        assertEquals(2, result.getAccepted());
+        assertEquals(DealOutcome.Status.DUPLICATE, result.getOutcomes().get(2).getStatus());
+    }
+
+    @Test
+    void importAll_Streaming_EmitsOutcomesInInputOrderChunkByChunk() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-003"));
+        List<Integer> indexes = new ArrayList<>();
+        List<FxDeal> deals = new ArrayList<>();
+
+        // When
+        importer.importAll(requests.iterator(), (outcome, deal) -> {
+            indexes.add(outcome.getIndex());
+            deals.add(deal);
+        });
+
+        // Then
+        assertEquals(List.of(0, 1, 2), indexes);
+        assertTrue(deals.stream().allMatch(deal -> deal != null && deal.getId() != null));
+        verify(repository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void importAll_Streaming_SignalsEachCommittedChunkAfterItsOutcomes() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-003"));
+        List<String> events = new ArrayList<>();
+
+        // When
+        importer.importAll(requests.iterator(), new DealOutcomeListener() {
+            @Override
+            public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                events.add(outcome.getDealUniqueId());
+            }
+
+            @Override
+            public void onChunkCompleted() {
+                events.add("commit");
+            }
+        }, 2);
+
+        // Then
+        assertEquals(List.of("DEAL-001", "DEAL-002", "commit", "DEAL-003", "commit"), events);
+    }
+
+    @Test
+    void importAll_ConstraintViolation_SkipsDealBeforeBusinessRules() {
+        // Given
+        FxDealRequest invalidReq = createRequest("DEAL-001");
+        invalidReq.setDealAmount(null);
+        FxDealRequest validReq = createRequest("DEAL-002");
+
+        // When
+        BulkImportResult result = importer.importAll(Arrays.asList(invalidReq, validReq));
+
+        // Then
+        assertEquals(1, result.getImportedDeals().size());
+        assertEquals("DEAL-002", result.getImportedDeals().get(0).getDealUniqueId());
+        assertEquals(DealOutcome.Status.INVALID, result.getOutcomes().get(0).getStatus());
+        assertEquals("Deal amount is required", result.getOutcomes().get(0).getReason());
+        verify(validator, never()).check(invalidReq);
+    }
+
+    @Test
+    void importAll_BusinessValidationFailure_ReportedAsInvalid() {
+        // Given
+        FxDealRequest validReq = createRequest("DEAL-001");
+        FxDealRequest invalidReq = createRequest("DEAL-002");
+        when(validator.check(invalidReq)).thenReturn(DealValidationError.SAME_CURRENCY);
+
+        // When
+        BulkImportResult result = importer.importAll(Arrays.asList(validReq, invalidReq));
+
+        // Then
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getInvalid());
+        assertEquals("From and to currencies must be different", result.getOutcomes().get(1).getReason());
+    }
+
+    @Test
+    void importAll_AllInvalid_NeverTouchesDatabase() {
+        // Given
+        when(validator.check(any())).thenReturn(DealValidationError.SAME_CURRENCY);
+
+        // When
+        BulkImportResult result = importer.importAll(
+                Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002")));
+
+        // Then
+        assertTrue(result.getImportedDeals().isEmpty());
+        assertEquals(2, result.getInvalid());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void importAll_EmptyList_ReturnsEmptyResult() {
+        // When
+        BulkImportResult result = importer.importAll(List.of());
+
+        // Then
+        assertEquals(0, result.getTotal());
+        assertTrue(result.getImportedDeals().isEmpty());
+        verifyNoInteractions(repository, validator);
+    }
+
+    @Test
+    void importAll_ConstraintViolationInChunk_RetriesDealByDealUnderSavepoints() {
+        // Given - a concurrent writer inserted DEAL-002 after the set-based lookup
+        List<FxDealRequest> requests = Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        when(repository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.insertIfAbsentUnderSavepoint(any(FxDeal.class))).thenAnswer(i -> {
+            FxDeal deal = i.getArgument(0);
+            if (deal.getDealUniqueId().equals("DEAL-002")) {
+                return Optional.empty();
+            }
+            deal.setId(ids.incrementAndGet());
+            return Optional.of(deal);
+        });
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then - both deals are retried in one transaction instead of one each
+        verify(repository, times(2)).insertIfAbsentUnderSavepoint(any(FxDeal.class));
+        verify(repository, never()).insertIfAbsent(any(FxDeal.class));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(repository, never()).existsByDealUniqueId(anyString());
+        assertEquals(DealOutcome.Status.ACCEPTED, result.getOutcomes().get(0).getStatus());
+        assertEquals(DealOutcome.Status.DUPLICATE, result.getOutcomes().get(1).getStatus());
+        assertEquals(1, result.getImportedDeals().size());
+    }
+
+    @Test
+    void importAll_FailingDealInRetriedChunk_FailsAloneAndOthersCommit() {
+        // Given
+        List<FxDealRequest> requests = Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        when(repository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.insertIfAbsentUnderSavepoint(any(FxDeal.class))).thenAnswer(i -> {
+            FxDeal deal = i.getArgument(0);
+            if (deal.getDealUniqueId().equals("DEAL-001")) {
+                throw new DataAccessResourceFailureException("value too long");
+            }
+            deal.setId(ids.incrementAndGet());
+            return Optional.of(deal);
+        });
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then
+        assertEquals(DealOutcome.Status.FAILED, result.getOutcomes().get(0).getStatus());
+        assertEquals("value too long", result.getOutcomes().get(0).getReason());
+        assertEquals(DealOutcome.Status.ACCEPTED, result.getOutcomes().get(1).getStatus());
+        assertEquals("DEAL-002", result.getImportedDeals().get(0).getDealUniqueId());
+    }
+
+    @Test
+    void importAll_PerDealStrategy_CommitsEachDealOnItsOwn() {
+        // Given
+        importer = importer(new DealIdFilter(repository, transactionManager, dedupProperties), TransactionStrategy.PER_DEAL);
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenAnswer(i -> {
+            FxDeal deal = i.getArgument(0);
+            if (deal.getDealUniqueId().equals("DEAL-002")) {
+                return Optional.empty();
+            }
+            deal.setId(ids.incrementAndGet());
+            return Optional.of(deal);
+        });
+
+        // When
+        BulkImportResult result = importer.importAll(Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-003")));
+
+        // Then
+        assertEquals(2, result.getAccepted());
+        assertEquals(DealOutcome.Status.DUPLICATE, result.getOutcomes().get(1).getStatus());
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(repository, never()).insertAll(anyList());
+        verify(repository, never()).findExistingDealUniqueIds(anyCollection());
+    }
+
+    @Test
+    void importAll_PerDealStrategy_OtherConstraintViolationIsFailure() {
+        // Given
+        importer = importer(new DealIdFilter(repository, transactionManager, dedupProperties), TransactionStrategy.PER_DEAL);
+        when(repository.insertIfAbsent(any(FxDeal.class)))
+                .thenThrow(new DataIntegrityViolationException("numeric field overflow"));
+
+        // When
+        BulkImportResult result = importer.importAll(List.of(createRequest("DEAL-001")));
+
+        // Then
+        assertEquals(DealOutcome.Status.FAILED, result.getOutcomes().get(0).getStatus());
+        assertEquals("numeric field overflow", result.getOutcomes().get(0).getReason());
+        assertEquals(0, result.getDuplicates());
+    }
+
+    @Test
+    void importAll_AllOrNothingStrategy_CommitsOnceAndDeduplicatesAcrossChunks() {
+        // Given
+        importer = importer(new DealIdFilter(repository, transactionManager, dedupProperties), TransactionStrategy.ALL_OR_NOTHING);
+        List<String> events = new ArrayList<>();
+
+        // When
+        importer.importAll(Arrays.asList(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-001")).iterator(),
+                new DealOutcomeListener() {
+                    @Override
+                    public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                        events.add(outcome.getDealUniqueId() + ":" + outcome.getStatus());
+                    }
+
+                    @Override
+                    public void onChunkCompleted() {
+                        events.add("commit");
+                    }
+                });
+
+        // Then
+        assertEquals(List.of("DEAL-001:ACCEPTED", "DEAL-002:ACCEPTED", "commit", "DEAL-001:DUPLICATE", "commit"), events);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(repository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void importAll_AllOrNothingStrategy_WriteFailureRollsBackEveryDeal() {
+        // Given
+        importer = importer(new DealIdFilter(repository, transactionManager, dedupProperties), TransactionStrategy.ALL_OR_NOTHING);
+        FxDealRequest invalid = createRequest("DEAL-002");
+        when(validator.check(invalid)).thenReturn(DealValidationError.SAME_CURRENCY);
+        when(repository.insertAll(anyList()))
+                .thenAnswer(i -> i.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        List<String> events = new ArrayList<>();
+
+        // When
+        importer.importAll(Arrays.asList(
+                createRequest("DEAL-001"), invalid, createRequest("DEAL-003")).iterator(),
+                new DealOutcomeListener() {
+                    @Override
+                    public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                        events.add(outcome.getDealUniqueId() + ":" + outcome.getStatus());
+                        assertNull(importedDeal);
+                    }
+
+                    @Override
+                    public void onChunkCompleted() {
+                        events.add("commit");
+                    }
+                });
+
+        // Then - the first chunk was written but is rolled back with the second
+        assertEquals(List.of("DEAL-001:FAILED", "DEAL-002:INVALID", "DEAL-003:FAILED"), events);
+        verify(transactionManager).rollback(any());
+        verify(repository, never()).insertIfAbsentUnderSavepoint(any(FxDeal.class));
+    }
+
+    @Test
+    void importAll_AllOrNothingStrategy_DealsNotYetReadAreReportedFailed() {
+        // Given - the first chunk of two fails, three deals are still unread
+        importer = importer(new DealIdFilter(repository, transactionManager, dedupProperties), TransactionStrategy.ALL_OR_NOTHING);
+        when(repository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("check violation"));
+        List<String> events = new ArrayList<>();
+
+        // When
+        importer.importAll(Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002"),
+                createRequest("DEAL-003"), createRequest("DEAL-004"), createRequest("DEAL-005")).iterator(),
+                new DealOutcomeListener() {
+                    @Override
+                    public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                        events.add(outcome.getIndex() + ":" + outcome.getDealUniqueId() + ":" + outcome.getStatus());
+                    }
+
+                    @Override
+                    public void onChunkCompleted() {
+                        events.add("commit");
+                    }
+                });
+
+        // Then
+        assertEquals(List.of("0:DEAL-001:FAILED", "1:DEAL-002:FAILED", "2:DEAL-003:FAILED",
+                "3:DEAL-004:FAILED", "4:DEAL-005:FAILED"), events);
+        verify(repository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void importAll_SavepointRetryFails_ChunkNotReportedCommitted() {
+        // Given
+        when(repository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.insertIfAbsentUnderSavepoint(any(FxDeal.class))).thenAnswer(i -> Optional.of(i.getArgument(0)));
+        doThrow(new TransactionSystemException("connection lost")).when(transactionManager).commit(any());
+        List<String> events = new ArrayList<>();
+
+        // When
+        importer.importAll(List.of(createRequest("DEAL-001"), createRequest("DEAL-002")).iterator(),
+                new DealOutcomeListener() {
+                    @Override
+                    public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                        events.add(outcome.getDealUniqueId() + ":" + outcome.getStatus());
+                    }
+
+                    @Override
+                    public void onChunkCompleted() {
+                        events.add("commit");
+                    }
+
+                    @Override
+                    public void onChunkRolledBack() {
+                        events.add("rollback");
+                    }
+                });
+
+        // Then
+        assertEquals(List.of("DEAL-001:FAILED", "DEAL-002:FAILED", "rollback"), events);
+    }
+
+    @Test
+    void importAll_ListenerStopsOnRollback_NextChunkNotRead() {
+        // Given
+        when(repository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.insertIfAbsentUnderSavepoint(any(FxDeal.class))).thenAnswer(i -> Optional.of(i.getArgument(0)));
+        doThrow(new TransactionSystemException("connection lost")).when(transactionManager).commit(any());
+        Iterator<FxDealRequest> requests = List.of(
+                createRequest("DEAL-001"), createRequest("DEAL-002"), createRequest("DEAL-003")).iterator();
+
+        // When
+        assertThrows(IllegalStateException.class, () -> importer.importAll(requests, new DealOutcomeListener() {
+            @Override
+            public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+            }
+
+            @Override
+            public void onChunkRolledBack() {
+                throw new IllegalStateException("stop");
+            }
+        }, 2));
+
+        // Then - the failed chunk is not written again on the way out
+        assertTrue(requests.hasNext());
+        verify(repository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    void importAll_PreservesInputOrderInOutcomes() {
+        // Given
+        FxDealRequest invalid = createRequest("DEAL-002");
+        when(validator.check(invalid)).thenReturn(DealValidationError.SAME_CURRENCY);
+        List<FxDealRequest> requests = Arrays.asList(
+                createRequest("DEAL-001"), invalid, createRequest("DEAL-003"), createRequest("DEAL-004"));
+
+        // When
+        BulkImportResult result = importer.importAll(requests);
+
+        // Then
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(i, result.getOutcomes().get(i).getIndex());
+            assertEquals(requests.get(i).getDealUniqueId(), result.getOutcomes().get(i).getDealUniqueId());
+        }
+        verify(repository, times(2)).findExistingDealUniqueIds(argThat((Collection<String> c) -> c.size() <= 2));
+    }
+
+    @Test
+    void importAll_FilterRulesOutAllIds_SkipsLookupAndLearnsInsertedIds() {
+        // Given
+        dedupProperties.setEnabled(true);
+        when(repository.streamAllDealUniqueIds()).thenReturn(Stream.of("DEAL-OLD"));
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, dedupProperties);
+        filter.warmUp();
+        importer = importer(filter);
+
+        // When
+        BulkImportResult result = importer.importAll(
+                Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002")));
+
+        // Then
+        assertEquals(2, result.getAccepted());
+        verify(repository, never()).findExistingDealUniqueIds(anyCollection());
+        assertTrue(filter.mightContain("DEAL-001"));
+        assertTrue(filter.mightContain("DEAL-002"));
+    }
+
+    @Test
+    void importAll_FilterMaybePresent_LooksUpOnlyThoseIds() {
+        // Given
+        dedupProperties.setEnabled(true);
+        when(repository.streamAllDealUniqueIds()).thenReturn(Stream.of("DEAL-001"));
+        when(repository.findExistingDealUniqueIds(anyCollection())).thenReturn(Set.of("DEAL-001"));
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, dedupProperties);
+        filter.warmUp();
+        importer = importer(filter);
+
+        // When
+        BulkImportResult result = importer.importAll(
+                Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002")));
+
+        // Then
+        assertEquals(DealOutcome.Status.DUPLICATE, result.getOutcomes().get(0).getStatus());
+        assertEquals(DealOutcome.Status.ACCEPTED, result.getOutcomes().get(1).getStatus());
+        verify(repository).findExistingDealUniqueIds(List.of("DEAL-001"));
+    }
+
+    private BulkDealImporter importer(DealIdFilter filter) {
+        return importer(filter, TransactionStrategy.CHUNK);
+    }
+
+    private BulkDealImporter importer(DealIdFilter filter, TransactionStrategy strategy) {
+        FxDealImportProperties properties = new FxDealImportProperties();
+        properties.setChunkSize(2);
+        properties.setTransactionStrategy(strategy);
+        DealImportMetrics metrics = new DealImportMetrics(meterRegistry, new FxDealValidator());
+        return new BulkDealImporter(repository, new FxDealRequestValidator(validator, metrics),
+                filter, hotStore, lookupCache, metrics, transactionManager, properties);
+    }
+
+    private FxDealRequest createRequest(String dealId) {
+        return FxDealRequest.builder()
+                .dealUniqueId(dealId)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now())
+                .dealAmount(new BigDecimal("1000.00"))
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealGroupCommitProperties;
+import amine.elh.fxdealwarehouse.config.FxDealLoggingProperties;
+import amine.elh.fxdealwarehouse.dto.DealImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter.TransactionStrategy;
+import amine.elh.fxdealwarehouse.service.DealGroupCommitter;
+import amine.elh.fxdealwarehouse.service.DealOutcomeListener;
+import amine.elh.fxdealwarehouse.service.SampledDealLog;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealGroupCommitterTest {
+
+    @Mock
+    private BulkDealImporter bulkImporter;
+
+    private FxDealGroupCommitProperties properties;
+
+    private DealGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FxDealGroupCommitProperties();
+        properties.setEnabled(true);
+        // Batches are cut by size in these tests, never by time
+        properties.setMaxDelay(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (committer != null) {
+            committer.stop();
+        }
+    }
+
+    @Test
+    void importDeal_ConcurrentRequests_ShareOneCommit() throws Exception {
+        // Given
+        properties.setMaxBatchSize(5);
+        stubImporter();
+        committer = newCommitter();
+        ExecutorService clients = Executors.newFixedThreadPool(5);
+
+        // When
+        List<Future<FxDeal>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            FxDealRequest request = request("DEAL-" + i, "USD", "EUR");
+            results.add(clients.submit(() -> committer.importDeal(request)));
+        }
+
+        // Then
+        for (int i = 0; i < 5; i++) {
+            assertEquals("DEAL-" + i, results.get(i).get(5, TimeUnit.SECONDS).getDealUniqueId());
+        }
+        verify(bulkImporter, times(1)).importAll(any(), any(), eq(5), eq(TransactionStrategy.CHUNK));
+        clients.shutdown();
+    }
+
+    @Test
+    void importDeal_DuplicateOutcome_ThrowsDuplicateDealException() {
+        // Given
+        properties.setMaxBatchSize(1);
+        stubImporter();
+        committer = newCommitter();
+
+        // When & Then
+        assertThrows(DuplicateDealException.class,
+                () -> committer.importDeal(request("DUP-001", "USD", "EUR")));
+    }
+
+    @Test
+    void tryImportDeal_DuplicateOutcome_ReturnedAsResult() {
+        // Given
+        properties.setMaxBatchSize(1);
+        stubImporter();
+        committer = newCommitter();
+
+        // When
+        DealImportResult result = committer.tryImportDeal(request("DUP-001", "USD", "EUR"));
+
+        // Then
+        assertEquals(DealOutcome.Status.DUPLICATE, result.status());
+        assertEquals("Deal with ID DUP-001 already exists", result.reason());
+    }
+
+    @Test
+    void importDeal_InvalidDeal_RejectedBeforeBuffering() {
+        // Given
+        committer = newCommitter();
+
+        // When & Then
+        assertThrows(InvalidDealException.class,
+                () -> committer.importDeal(request("DEAL-001", "USD", "USD")));
+        verifyNoInteractions(bulkImporter);
+    }
+
+    private DealGroupCommitter newCommitter() {
+        FxDealValidator validator = new FxDealValidator();
+        return new DealGroupCommitter(validator, bulkImporter,
+                new DealImportMetrics(new SimpleMeterRegistry(), validator),
+                new SampledDealLog(new FxDealLoggingProperties()), properties);
+    }
+
+    // Accepts every deal except ids starting with DUP, like one chunk of the real importer
+    private void stubImporter() {
+        doAnswer(invocation -> {
+            Iterator<FxDealRequest> requests = invocation.getArgument(0);
+            DealOutcomeListener listener = invocation.getArgument(1);
+            int index = 0;
+            while (requests.hasNext()) {
+                FxDealRequest request = requests.next();
+                boolean duplicate = request.getDealUniqueId().startsWith("DUP");
+                DealOutcome outcome = DealOutcome.builder()
+                        .index(index++)
+                        .dealUniqueId(request.getDealUniqueId())
+                        .status(duplicate ? DealOutcome.Status.DUPLICATE : DealOutcome.Status.ACCEPTED)
+                        .build();
+                listener.onOutcome(outcome, duplicate ? null : FxDeal.builder()
+                        .id((long) index)
+                        .dealUniqueId(request.getDealUniqueId())
+                        .build());
+            }
+            listener.onChunkCompleted();
+            return null;
+        }).when(bulkImporter).importAll(any(), any(), anyInt(), any());
+    }
+
+    private static FxDealRequest request(String id, String from, String to) {
+        return FxDealRequest.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(LocalDateTime.now().minusHours(1))
+                .dealAmount(new BigDecimal("1000.50"))
+                .build();
+    }
+}
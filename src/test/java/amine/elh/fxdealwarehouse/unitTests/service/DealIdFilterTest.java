@@ -0,0 +1,115 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealDedupProperties;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.DealIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealIdFilterTest {
+
+    @Mock
+    private FxDealRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FxDealDedupProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FxDealDedupProperties();
+        properties.setExpectedInsertions(1_000);
+        properties.setFalsePositiveRate(0.01);
+    }
+
+    @Test
+    void mightContain_BeforeWarmUp_AlwaysMaybePresent() {
+        // Given
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, properties);
+
+        // Then
+        assertTrue(filter.mightContain("DEAL-001"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void mightContain_Disabled_AlwaysMaybePresentAndNeverWarms() {
+        // Given
+        properties.setEnabled(false);
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, properties);
+
+        // When
+        filter.warmUp();
+
+        // Then
+        assertTrue(filter.mightContain("DEAL-001"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void warmUp_LoadsStoredIdsWithoutFalseNegatives() {
+        // Given
+        when(repository.streamAllDealUniqueIds())
+                .thenReturn(IntStream.range(0, 5_000).mapToObj(i -> "DEAL-" + i));
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, properties);
+
+        // When
+        filter.warmUp();
+
+        // Then
+        assertTrue(IntStream.range(0, 5_000).allMatch(i -> filter.mightContain("DEAL-" + i)));
+    }
+
+    @Test
+    void mightContain_GrownPastExpectedInsertions_StaysNearTargetFalsePositiveRate() {
+        // Given - five times the sized capacity forces the filter to add stages
+        when(repository.streamAllDealUniqueIds()).thenReturn(Stream.empty());
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, properties);
+        filter.warmUp();
+        IntStream.range(0, 5_000).forEach(i -> filter.put("STORED-" + i));
+
+        // When
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("NEW-" + i))
+                .count();
+
+        // Then
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void bindTo_ExposesLookupsAndFootprint() {
+        // Given
+        when(repository.streamAllDealUniqueIds()).thenReturn(Stream.of("DEAL-001"));
+        DealIdFilter filter = new DealIdFilter(repository, transactionManager, properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        filter.warmUp();
+
+        // When
+        filter.mightContain("DEAL-001");
+        filter.mightContain("DEAL-002");
+        filter.recordFalsePositives(1);
+
+        // Then
+        assertEquals(1.0, registry.get("fxdeal.dedup.filter.lookups")
+                .tag("result", "maybe_present").functionCounter().count());
+        assertEquals(1.0, registry.get("fxdeal.dedup.filter.false.positives").functionCounter().count());
+        assertEquals(1.0, registry.get("fxdeal.dedup.filter.size").gauge().value());
+        assertTrue(registry.get("fxdeal.dedup.filter.memory").gauge().value() > 0);
+        assertEquals(0.01, registry.get("fxdeal.dedup.filter.target.fpp").gauge().value());
+    }
+}
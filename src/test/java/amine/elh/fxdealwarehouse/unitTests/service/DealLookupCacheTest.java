@@ -0,0 +1,141 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealLookupCacheProperties;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.service.DealLookupCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealLookupCacheTest {
+
+    private FxDealLookupCacheProperties properties;
+
+    private DealLookupCache cache;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        properties = new FxDealLookupCacheProperties();
+        cache = new DealLookupCache(properties);
+    }
+
+    @Test
+    void get_AfterPut_ReturnsCachedDeal() {
+        // Given
+        FxDeal deal = deal("DEAL-1", now);
+        cache.put(deal);
+
+        // When
+        Optional<FxDeal> cached = cache.get("DEAL-1");
+
+        // Then
+        assertSame(deal, cached.orElseThrow());
+        assertTrue(cache.get("DEAL-2").isEmpty());
+    }
+
+    @Test
+    void get_Disabled_AlwaysMisses() {
+        // Given
+        properties.setEnabled(false);
+        cache = new DealLookupCache(properties);
+
+        // When
+        cache.put(deal("DEAL-1", now));
+
+        // Then
+        assertTrue(cache.get("DEAL-1").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_BeyondSizeLimit_EvictsToStayWithinBytes() {
+        // Given
+        properties.setMaximumSize(DataSize.ofKilobytes(10));
+        cache = new DealLookupCache(properties);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.put(deal("DEAL-" + i, now));
+        }
+
+        // Then
+        assertTrue(cache.memoryBytes() <= 10 * 1024);
+        assertTrue(cache.size() < 100);
+        assertTrue(cache.size() > 0);
+    }
+
+    @Test
+    void putAfterCommit_InTransaction_CachedOnlyOnceCommitted() {
+        // Given
+        FxDeal deal = deal("DEAL-1", now);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            cache.putAfterCommit(deal);
+
+            // Then
+            assertTrue(cache.get("DEAL-1").isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertSame(deal, cache.get("DEAL-1").orElseThrow());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictBefore_DropsDealsOfExpiredPartitions() {
+        // Given
+        cache.put(deal("OLD", now.minusMonths(14)));
+        cache.put(deal("RECENT", now));
+
+        // When
+        cache.evictBefore(now.minusMonths(12));
+
+        // Then
+        assertTrue(cache.get("OLD").isEmpty());
+        assertTrue(cache.get("RECENT").isPresent());
+    }
+
+    @Test
+    void bindTo_ReportsHitsMissesAndMemory() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put(deal("DEAL-1", now));
+
+        // When
+        cache.get("DEAL-1");
+        cache.get("DEAL-1");
+        cache.get("DEAL-2");
+
+        // Then
+        assertEquals(2.0, registry.get("fxdeal.lookup.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("fxdeal.lookup.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(2.0 / 3, registry.get("fxdeal.lookup.cache.hit.ratio").gauge().value(), 1e-9);
+        assertTrue(registry.get("fxdeal.lookup.cache.memory").gauge().value() > 0);
+        assertEquals(64.0 * 1024 * 1024, registry.get("fxdeal.lookup.cache.memory.max").gauge().value());
+    }
+
+    private static FxDeal deal(String dealUniqueId, LocalDateTime timestamp) {
+        return FxDeal.builder()
+                .id(1L)
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(timestamp)
+                .dealAmount(new BigDecimal("1000.0000"))
+                .importedAt(timestamp)
+                .build();
+    }
+}
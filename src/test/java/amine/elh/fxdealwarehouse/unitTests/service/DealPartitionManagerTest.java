@@ -0,0 +1,141 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealPartitionProperties;
+import amine.elh.fxdealwarehouse.repository.FxDealPartitionRepository;
+import amine.elh.fxdealwarehouse.service.DealLookupCache;
+import amine.elh.fxdealwarehouse.service.DealPartitionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealPartitionManagerTest {
+
+    @Mock
+    private FxDealPartitionRepository partitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DealLookupCache lookupCache;
+
+    private FxDealPartitionProperties properties;
+
+    private DealPartitionManager manager;
+
+    private final YearMonth current = YearMonth.now();
+
+    @BeforeEach
+    void setUp() {
+        properties = new FxDealPartitionProperties();
+        properties.setMonthsAhead(2);
+        manager = new DealPartitionManager(partitionRepository, transactionManager, properties, lookupCache);
+    }
+
+    @Test
+    void maintain_Disabled_DoesNotTouchDatabase() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        manager.maintain();
+
+        // Then
+        verifyNoInteractions(partitionRepository);
+    }
+
+    @Test
+    void maintain_TableNotPartitioned_SkipsMaintenance() {
+        // Given
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        // When
+        manager.maintain();
+
+        // Then
+        verify(partitionRepository, never()).findMonthlyPartitions();
+        verify(partitionRepository, never()).createMonthlyPartition(any());
+    }
+
+    @Test
+    void maintain_CreatesOnlyMissingUpcomingPartitions() {
+        // Given
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthlyPartitions()).thenReturn(List.of(current));
+
+        // When
+        manager.maintain();
+
+        // Then
+        verify(partitionRepository).createMonthlyPartition(current.plusMonths(1));
+        verify(partitionRepository).createMonthlyPartition(current.plusMonths(2));
+        verify(partitionRepository, never()).createMonthlyPartition(current);
+        verify(partitionRepository, never()).detachMonthlyPartition(any());
+    }
+
+    @Test
+    void maintain_CreateFails_ContinuesWithNextMonth() {
+        // Given
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthlyPartitions()).thenReturn(List.of());
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+                .when(partitionRepository).createMonthlyPartition(current);
+
+        // When
+        manager.maintain();
+
+        // Then
+        verify(partitionRepository).createMonthlyPartition(current.plusMonths(1));
+        verify(partitionRepository).createMonthlyPartition(current.plusMonths(2));
+    }
+
+    @Test
+    void maintain_RetentionSet_DropsPartitionsOutsideWindow() {
+        // Given
+        properties.setRetentionMonths(2);
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthlyPartitions()).thenReturn(List.of(
+                current.minusMonths(3), current.minusMonths(2), current.minusMonths(1), current,
+                current.plusMonths(1), current.plusMonths(2)));
+
+        // When
+        manager.maintain();
+
+        // Then
+        verify(partitionRepository).detachMonthlyPartition(current.minusMonths(3));
+        verify(partitionRepository).dropDetachedPartition(current.minusMonths(3));
+        verify(partitionRepository).detachMonthlyPartition(current.minusMonths(2));
+        verify(partitionRepository).dropDetachedPartition(current.minusMonths(2));
+        verify(partitionRepository, never()).detachMonthlyPartition(current.minusMonths(1));
+        verify(partitionRepository).deleteDefaultPartitionRowsBefore(current.minusMonths(1).atDay(1).atStartOfDay());
+        verify(lookupCache).evictBefore(current.minusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Test
+    void maintain_DropDisabled_OnlyDetachesExpiredPartitions() {
+        // Given
+        properties.setRetentionMonths(1);
+        properties.setDropExpired(false);
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthlyPartitions()).thenReturn(List.of(
+                current.minusMonths(1), current, current.plusMonths(1), current.plusMonths(2)));
+
+        // When
+        manager.maintain();
+
+        // Then
+        verify(partitionRepository).detachMonthlyPartition(current.minusMonths(1));
+        verify(partitionRepository, never()).dropDetachedPartition(any());
+    }
+}
@@ -0,0 +1,147 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealRollupProperties;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.exception.InvalidQueryException;
+import amine.elh.fxdealwarehouse.repository.FxDealRollupRepository;
+import amine.elh.fxdealwarehouse.service.DealRollupService;
+import amine.elh.fxdealwarehouse.service.HotDealStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealRollupServiceTest {
+
+    @Mock
+    private FxDealRollupRepository rollupRepository;
+
+    @Mock
+    private HotDealStore hotStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FxDealRollupProperties properties;
+
+    private DealRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FxDealRollupProperties();
+        properties.setFoldBatchSize(100);
+        properties.setMaxBuckets(48);
+        service = new DealRollupService(rollupRepository, hotStore, transactionManager, properties);
+    }
+
+    @Test
+    void foldPending_Disabled_DoesNotTouchDatabase() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        service.foldPending();
+
+        // Then
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void foldPending_FoldsBatchesUntilOneIsNotFull() {
+        // Given
+        when(rollupRepository.tryLockFold()).thenReturn(true);
+        when(rollupRepository.fold(100)).thenReturn(100L, 100L, 7L);
+
+        // When
+        service.foldPending();
+
+        // Then
+        verify(rollupRepository, times(3)).fold(100);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void foldPending_LockHeldElsewhere_SkipsFold() {
+        // Given
+        when(rollupRepository.tryLockFold()).thenReturn(false);
+
+        // When
+        service.foldPending();
+
+        // Then
+        verify(rollupRepository, never()).fold(anyInt());
+    }
+
+    @Test
+    void foldPending_DatabaseError_IsLoggedNotThrown() {
+        // Given
+        when(rollupRepository.tryLockFold()).thenReturn(true);
+        when(rollupRepository.fold(100)).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        // When
+        service.foldPending();
+
+        // Then
+        verify(rollupRepository).fold(100);
+    }
+
+    @Test
+    void getVolume_AlignsWindowToBuckets() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 10, 42, 7);
+        LocalDateTime end = LocalDateTime.of(2024, 3, 1, 13, 0, 1);
+
+        // When
+        service.getVolume(Granularity.HOUR, "USD", null, start, end);
+
+        // Then
+        verify(rollupRepository).findVolume(Granularity.HOUR, "USD", null,
+                LocalDateTime.of(2024, 3, 1, 10, 0), LocalDateTime.of(2024, 3, 1, 14, 0));
+    }
+
+    @Test
+    void getVolume_AlignedEnd_IsKeptExclusive() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 3, 3, 0, 0);
+
+        // When
+        service.getVolume(Granularity.DAY, null, null, start, end);
+
+        // Then
+        verify(rollupRepository).findVolume(Granularity.DAY, null, null, start, end);
+    }
+
+    @Test
+    void getVolume_TooManyBuckets_ThrowsInvalidQuery() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        // When & Then
+        assertThrows(InvalidQueryException.class,
+                () -> service.getVolume(Granularity.HOUR, null, null, start, start.plusHours(49)));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void getVolume_EmptyWindow_ThrowsInvalidQuery() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        // When & Then
+        assertThrows(InvalidQueryException.class,
+                () -> service.getVolume(Granularity.MINUTE, null, null, start, start));
+        verifyNoInteractions(rollupRepository);
+    }
+}
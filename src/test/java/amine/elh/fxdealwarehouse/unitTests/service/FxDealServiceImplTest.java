@@ -1,29 +1,59 @@
 package amine.elh.fxdealwarehouse.unitTests.service;
 
+import amine.elh.fxdealwarehouse.config.FxDealLoggingProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportReport;
+import amine.elh.fxdealwarehouse.dto.BulkImportResult;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.CopyImportResult;
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealImportResult;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.dto.DealPage;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
 import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.DealNotFoundException;
 import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
 import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
 import amine.elh.fxdealwarehouse.model.FxDeal;
 import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.repository.IdempotencyKeyRepository;
+import amine.elh.fxdealwarehouse.service.BulkDealImporter;
+import amine.elh.fxdealwarehouse.service.CopyDealImporter;
+import amine.elh.fxdealwarehouse.service.DealIdFilter;
+import amine.elh.fxdealwarehouse.service.DealLookupCache;
+import amine.elh.fxdealwarehouse.service.DealOutcomeListener;
 import amine.elh.fxdealwarehouse.service.FxDealServiceImpl;
+import amine.elh.fxdealwarehouse.service.HotDealStore;
+import amine.elh.fxdealwarehouse.service.SampledDealLog;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
 import amine.elh.fxdealwarehouse.validator.FxDealValidator;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +66,34 @@ class FxDealServiceImplTest {
     private FxDealValidator validator;
 
     @Mock
-    private Validator beanValidator; // Add the missing mock
+    private BulkDealImporter bulkImporter;
+
+    @Mock
+    private CopyDealImporter copyImporter;
+
+    @Mock
+    private DealIdFilter dealIdFilter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private HotDealStore hotStore;
+
+    @Mock
+    private DealLookupCache lookupCache;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private DealImportMetrics metrics = new DealImportMetrics(new SimpleMeterRegistry(), new FxDealValidator());
+
+    @Spy
+    private SampledDealLog dealLog = new SampledDealLog(new FxDealLoggingProperties());
 
     @InjectMocks
     private FxDealServiceImpl service;
@@ -57,13 +114,11 @@ class FxDealServiceImplTest {
     @Test
     void importDeal_Success() {
         // Given
-        when(repository.existsByDealUniqueId(anyString())).thenReturn(false);
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenAnswer(i -> {
             FxDeal deal = i.getArgument(0);
             deal.setId(1L);
-            return deal;
+            return Optional.of(deal);
         });
-        doNothing().when(validator).validate(any());
 
         // When
         FxDeal result = service.importDeal(validRequest);
@@ -72,260 +127,239 @@ class FxDealServiceImplTest {
         assertNotNull(result);
         assertEquals("DEAL-001", result.getDealUniqueId());
         assertEquals("USD", result.getFromCurrencyIsoCode());
-        verify(repository).save(any(FxDeal.class));
+        verify(repository).insertIfAbsent(any(FxDeal.class));
+        verify(repository, never()).existsByDealUniqueId(anyString());
+        verify(dealIdFilter).put("DEAL-001");
+        verify(hotStore).addAfterCommit(result);
+        verify(lookupCache).putAfterCommit(result);
     }
 
     @Test
     void importDeal_DuplicateThrowsException() {
         // Given
-        when(repository.existsByDealUniqueId("DEAL-001")).thenReturn(true);
-        doNothing().when(validator).validate(any());
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(DuplicateDealException.class, () ->
+        DuplicateDealException e = assertThrows(DuplicateDealException.class, () ->
                 service.importDeal(validRequest)
         );
+        assertEquals(0, e.getStackTrace().length);
         verify(repository, never()).save(any());
+        verify(dealIdFilter, never()).put(anyString());
+        verify(metrics).recordOutcome(DealOutcome.Status.DUPLICATE, validRequest);
     }
 
     @Test
     void importDeal_InvalidDealThrowsException() {
         // Given
-        doThrow(new InvalidDealException("Invalid currency"))
-                .when(validator).validate(any());
+        when(validator.check(any())).thenReturn(DealValidationError.FROM_CURRENCY_UNSUPPORTED);
 
         // When & Then
         assertThrows(InvalidDealException.class, () ->
                 service.importDeal(validRequest)
         );
         verify(repository, never()).save(any());
+        verify(metrics).recordOutcome(DealOutcome.Status.INVALID, validRequest);
     }
 
     @Test
-    void importDeals_BulkImport() {
+    void tryImportDeal_Success_ReturnsAcceptedDeal() {
         // Given
-        FxDealRequest req1 = createRequest("DEAL-001");
-        FxDealRequest req2 = createRequest("DEAL-002");
-        List<FxDealRequest> requests = Arrays.asList(req1, req2);
-
-        // Mock bean validator to return no violations
-        when(beanValidator.validate(any(FxDealRequest.class)))
-                .thenReturn(Collections.emptySet());
-
-        when(repository.existsByDealUniqueId(anyString())).thenReturn(false);
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
-            FxDeal deal = i.getArgument(0);
-            deal.setId(1L);
-            return deal;
-        });
-        doNothing().when(validator).validate(any());
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenAnswer(i -> Optional.of(i.getArgument(0)));
 
         // When
-        List<FxDeal> results = service.importDeals(requests);
+        DealImportResult result = service.tryImportDeal(validRequest);
 
         // Then
-        assertEquals(2, results.size());
-        verify(repository, times(2)).save(any(FxDeal.class));
-        verify(beanValidator, times(2)).validate(any(FxDealRequest.class));
+        assertTrue(result.isAccepted());
+        assertEquals("DEAL-001", result.deal().getDealUniqueId());
+        assertNull(result.reason());
+        verify(dealIdFilter).put("DEAL-001");
     }
 
     @Test
-    void importDeals_PartialSuccess() {
+    void tryImportDeal_Duplicate_ReturnsRejectionInsteadOfThrowing() {
         // Given
-        FxDealRequest validReq = createRequest("DEAL-001");
-        FxDealRequest duplicateReq = createRequest("DEAL-002");
-        List<FxDealRequest> requests = Arrays.asList(validReq, duplicateReq);
-
-        // Mock bean validator to return no violations
-        when(beanValidator.validate(any(FxDealRequest.class)))
-                .thenReturn(Collections.emptySet());
-
-        when(repository.existsByDealUniqueId("DEAL-001")).thenReturn(false);
-        when(repository.existsByDealUniqueId("DEAL-002")).thenReturn(true);
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
-            FxDeal deal = i.getArgument(0);
-            deal.setId(1L);
-            return deal;
-        });
-        doNothing().when(validator).validate(any());
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenReturn(Optional.empty());
 
         // When
-        List<FxDeal> results = service.importDeals(requests);
+        DealImportResult result = service.tryImportDeal(validRequest);
 
         // Then
-        assertEquals(1, results.size());
-        verify(repository, times(1)).save(any(FxDeal.class));
+        assertEquals(DealOutcome.Status.DUPLICATE, result.status());
+        assertEquals("Deal with ID DEAL-001 already exists", result.reason());
+        assertNull(result.deal());
+        verify(metrics).recordOutcome(DealOutcome.Status.DUPLICATE, validRequest);
     }
 
     @Test
-    void importDeals_WithBeanValidationFailure_SkipsDeal() {
+    void tryImportDeal_Invalid_ReturnsReasonWithoutInserting() {
         // Given
-        FxDealRequest invalidReq = createRequest("DEAL-001");
-        FxDealRequest validReq = createRequest("DEAL-002");
-        List<FxDealRequest> requests = Arrays.asList(invalidReq, validReq);
+        validRequest.setToCurrencyIsoCode("XXX");
+        when(validator.check(validRequest)).thenReturn(DealValidationError.TO_CURRENCY_UNSUPPORTED);
 
-        // Mock bean validator to return violations for first request
-        @SuppressWarnings("unchecked")
-        ConstraintViolation<FxDealRequest> violation = mock(ConstraintViolation.class);
-        when(violation.getMessage()).thenReturn("Invalid field");
+        // When
+        DealImportResult result = service.tryImportDeal(validRequest);
 
-        when(beanValidator.validate(invalidReq)).thenReturn(Set.of(violation));
-        when(beanValidator.validate(validReq)).thenReturn(Collections.emptySet());
+        // Then
+        assertEquals(DealOutcome.Status.INVALID, result.status());
+        assertEquals("Invalid to currency code: XXX", result.reason());
+        verify(repository, never()).insertIfAbsent(any());
+        verify(metrics).recordOutcome(DealOutcome.Status.INVALID, validRequest);
+    }
 
-        when(repository.existsByDealUniqueId("DEAL-002")).thenReturn(false);
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
-            FxDeal deal = i.getArgument(0);
-            deal.setId(1L);
-            return deal;
-        });
-        doNothing().when(validator).validate(any());
+    @Test
+    void getDeals_FirstPage_ReturnsCursorOfLastDealWhenMoreExist() {
+        // Given
+        FxDeal deal1 = createDeal("DEAL-001");
+        FxDeal deal2 = createDeal("DEAL-002");
+        deal2.setId(2L);
+        when(repository.findPage(DealQuery.unfiltered(), null, 2)).thenReturn(Arrays.asList(deal1, deal2));
 
         // When
-        List<FxDeal> results = service.importDeals(requests);
+        DealPage page = service.getDeals(DealQuery.unfiltered(), null, 1);
 
         // Then
-        assertEquals(1, results.size());
-        assertEquals("DEAL-002", results.get(0).getDealUniqueId());
-        verify(repository, times(1)).save(any(FxDeal.class));
+        assertEquals(List.of(deal1), page.getDeals());
+        assertEquals(DealCursor.after(deal1), page.getNextCursor());
     }
 
-    private FxDealRequest createRequest(String dealId) {
-        return FxDealRequest.builder()
-                .dealUniqueId(dealId)
-                .fromCurrencyIsoCode("USD")
-                .toCurrencyIsoCode("EUR")
-                .dealTimestamp(LocalDateTime.now())
-                .dealAmount(new BigDecimal("1000.00"))
-                .build();
+    @Test
+    void getDeals_AfterCursor_SeeksPastCursorAndEndsWithoutNextCursor() {
+        // Given
+        DealCursor cursor = new DealCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 7L);
+        DealQuery query = DealQuery.builder().fromCurrencyIsoCode("USD").toCurrencyIsoCode("EUR").build();
+        FxDeal deal = createDeal("DEAL-008");
+        when(repository.findPage(query, cursor, 11)).thenReturn(List.of(deal));
+
+        // When
+        DealPage page = service.getDeals(query, cursor, 10);
+
+        // Then
+        assertEquals(List.of(deal), page.getDeals());
+        assertNull(page.getNextCursor());
+        verify(repository, never()).findAll();
     }
 
     @Test
-    void getAllDeals_ReturnsAllDeals() {
+    void getDeals_WindowInHotStore_DoesNotQueryDatabase() {
         // Given
-        FxDeal deal1 = createDeal("DEAL-001");
-        FxDeal deal2 = createDeal("DEAL-002");
-        when(repository.findAll()).thenReturn(Arrays.asList(deal1, deal2));
+        DealQuery query = DealQuery.builder().start(LocalDateTime.now().minusHours(1)).build();
+        FxDeal deal = createDeal("DEAL-001");
+        when(hotStore.findPage(query, null, 11)).thenReturn(Optional.of(List.of(deal)));
 
         // When
-        List<FxDeal> results = service.getAllDeals();
+        DealPage page = service.getDeals(query, null, 10);
 
         // Then
-        assertEquals(2, results.size());
-        verify(repository).findAll();
+        assertEquals(List.of(deal), page.getDeals());
+        verify(repository, never()).findPage(any(), any(), anyInt());
     }
 
     @Test
-    void getAllDeals_ReturnsEmptyList() {
+    void importDeal_WithIdempotencyKey_RecordsKeyWithDeal() {
         // Given
-        when(repository.findAll()).thenReturn(List.of());
+        byte[] requestHash = {1, 2, 3};
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenAnswer(i -> Optional.of(i.getArgument(0)));
 
         // When
-        List<FxDeal> results = service.getAllDeals();
+        FxDeal result = service.importDeal(validRequest, "key-1", requestHash);
 
         // Then
-        assertTrue(results.isEmpty());
-        verify(repository).findAll();
+        assertEquals("DEAL-001", result.getDealUniqueId());
+        verify(idempotencyKeyRepository).insert(eq("key-1"), eq(requestHash), any(LocalDateTime.class));
     }
 
     @Test
-    void importDeal_ValidatesBeforeCheckingDuplicate() {
+    void importDeal_WithIdempotencyKey_DuplicateDoesNotRecordKey() {
         // Given
-        doThrow(new InvalidDealException("Invalid amount"))
-                .when(validator).validate(any());
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(InvalidDealException.class, () ->
-                service.importDeal(validRequest)
-        );
-        verify(validator).validate(any());
-        verify(repository, never()).existsByDealUniqueId(anyString());
-        verify(repository, never()).save(any());
+        assertThrows(DuplicateDealException.class,
+                () -> service.importDeal(validRequest, "key-1", new byte[]{1}));
+        verifyNoInteractions(idempotencyKeyRepository);
     }
 
     @Test
-    void importDeal_WithNullRequest_ThrowsException() {
-        // When & Then
-        assertThrows(NullPointerException.class, () ->
-                service.importDeal(null)
-        );
+    void getDeal_Cached_DoesNotQueryDatabase() {
+        // Given
+        FxDeal deal = createDeal("DEAL-001");
+        when(lookupCache.get("DEAL-001")).thenReturn(Optional.of(deal));
+
+        // When
+        FxDeal result = service.getDeal("DEAL-001");
+
+        // Then
+        assertSame(deal, result);
+        verify(repository, never()).findByDealUniqueId(any());
     }
 
     @Test
-    void importDeals_WithEmptyList_ReturnsEmptyList() {
+    void getDeal_NotCached_LoadsAndCachesDeal() {
         // Given
-        List<FxDealRequest> emptyList = List.of();
+        FxDeal deal = createDeal("DEAL-001");
+        when(lookupCache.get("DEAL-001")).thenReturn(Optional.empty());
+        when(repository.findByDealUniqueId("DEAL-001")).thenReturn(Optional.of(deal));
 
         // When
-        List<FxDeal> results = service.importDeals(emptyList);
+        FxDeal result = service.getDeal("DEAL-001");
 
         // Then
-        assertTrue(results.isEmpty());
-        verify(repository, never()).save(any());
-        verify(beanValidator, never()).validate(any());
+        assertSame(deal, result);
+        verify(lookupCache).put(deal);
     }
 
     @Test
-    void importDeals_WithAllInvalidDeals_ReturnsEmptyList() {
+    void getDeal_Unknown_ThrowsNotFoundWithoutCaching() {
         // Given
-        FxDealRequest req1 = createRequest("DEAL-001");
-        FxDealRequest req2 = createRequest("DEAL-002");
-        List<FxDealRequest> requests = Arrays.asList(req1, req2);
+        when(lookupCache.get("DEAL-404")).thenReturn(Optional.empty());
+        when(repository.findByDealUniqueId("DEAL-404")).thenReturn(Optional.empty());
 
-        // Mock bean validator to return no violations
-        when(beanValidator.validate(any(FxDealRequest.class)))
-                .thenReturn(Collections.emptySet());
+        // When & Then
+        DealNotFoundException exception = assertThrows(DealNotFoundException.class,
+                () -> service.getDeal("DEAL-404"));
+        assertTrue(exception.getMessage().contains("DEAL-404"));
+        verify(lookupCache, never()).put(any());
+    }
 
-        doThrow(new InvalidDealException("Invalid"))
-                .when(validator).validate(any());
+    @Test
+    void exportDeals_StreamsAndDetachesEachDeal() {
+        // Given
+        FxDeal deal1 = createDeal("DEAL-001");
+        FxDeal deal2 = createDeal("DEAL-002");
+        when(repository.streamAllOrdered()).thenReturn(Stream.of(deal1, deal2));
+        List<FxDeal> exported = new ArrayList<>();
 
         // When
-        List<FxDeal> results = service.importDeals(requests);
+        long count = service.exportDeals(exported::add);
 
         // Then
-        assertTrue(results.isEmpty());
-        verify(repository, never()).save(any());
+        assertEquals(2, count);
+        assertEquals(List.of(deal1, deal2), exported);
+        verify(entityManager).detach(deal1);
+        verify(entityManager).detach(deal2);
     }
 
     @Test
-    void importDeals_WithValidationAndDuplicateErrors_HandlesGracefully() {
+    void importDeal_ValidatesBeforeCheckingDuplicate() {
         // Given
-        FxDealRequest validReq = createRequest("DEAL-001");
-        FxDealRequest invalidReq = createRequest("DEAL-002");
-        FxDealRequest duplicateReq = createRequest("DEAL-003");
-        List<FxDealRequest> requests = Arrays.asList(validReq, invalidReq, duplicateReq);
-
-        // Mock bean validator - all pass bean validation
-        when(beanValidator.validate(any(FxDealRequest.class)))
-                .thenReturn(Collections.emptySet());
-
-        // Valid deal succeeds
-        doNothing().when(validator).validate(argThat(req ->
-                "DEAL-001".equals(req.getDealUniqueId())));
-        when(repository.existsByDealUniqueId("DEAL-001")).thenReturn(false);
-
-        // Invalid deal fails validation
-        doThrow(new InvalidDealException("Invalid currency"))
-                .when(validator).validate(argThat(req ->
-                        "DEAL-002".equals(req.getDealUniqueId())));
-
-        // Duplicate deal fails
-        doNothing().when(validator).validate(argThat(req ->
-                "DEAL-003".equals(req.getDealUniqueId())));
-        when(repository.existsByDealUniqueId("DEAL-003")).thenReturn(true);
-
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
-            FxDeal deal = i.getArgument(0);
-            deal.setId(1L);
-            return deal;
-        });
+        when(validator.check(any())).thenReturn(DealValidationError.SAME_CURRENCY);
 
-        // When
-        List<FxDeal> results = service.importDeals(requests);
+        // When & Then
+        assertThrows(InvalidDealException.class, () ->
+                service.importDeal(validRequest)
+        );
+        verify(validator).check(any());
+        verify(repository, never()).insertIfAbsent(any());
+    }
 
-        // Then
-        assertEquals(1, results.size());
-        assertEquals("DEAL-001", results.get(0).getDealUniqueId());
-        verify(repository, times(1)).save(any(FxDeal.class));
+    @Test
+    void importDeal_WithNullRequest_ThrowsException() {
+        // When & Then
+        assertThrows(NullPointerException.class, () ->
+                service.importDeal(null)
+        );
     }
 
     @Test
@@ -339,13 +373,11 @@ class FxDealServiceImplTest {
         validRequest.setFromCurrencyIsoCode("GBP");
         validRequest.setToCurrencyIsoCode("JPY");
 
-        when(repository.existsByDealUniqueId(anyString())).thenReturn(false);
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
+        when(repository.insertIfAbsent(any(FxDeal.class))).thenAnswer(i -> {
             FxDeal deal = i.getArgument(0);
             deal.setId(1L);
-            return deal;
+            return Optional.of(deal);
         });
-        doNothing().when(validator).validate(any());
 
         // When
         FxDeal result = service.importDeal(validRequest);
@@ -361,10 +393,8 @@ class FxDealServiceImplTest {
     @Test
     void importDeal_WithRepositoryException_ThrowsException() {
         // Given
-        when(repository.existsByDealUniqueId(anyString())).thenReturn(false);
-        when(repository.save(any(FxDeal.class)))
+        when(repository.insertIfAbsent(any(FxDeal.class)))
                 .thenThrow(new RuntimeException("Database error"));
-        doNothing().when(validator).validate(any());
 
         // When & Then
         assertThrows(RuntimeException.class, () ->
@@ -373,29 +403,178 @@ class FxDealServiceImplTest {
     }
 
     @Test
-    void importDeals_WithSingleDeal_ImportsSuccessfully() {
+    void importDeals_DelegatesToBulkImporterAndReturnsImportedDeals() {
         // Given
-        List<FxDealRequest> requests = List.of(validRequest);
+        List<FxDealRequest> requests = Arrays.asList(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        FxDeal imported = createDeal("DEAL-001");
+        BulkImportResult result = new BulkImportResult(
+                List.of(outcome(0, "DEAL-001", DealOutcome.Status.ACCEPTED),
+                        outcome(1, "DEAL-002", DealOutcome.Status.DUPLICATE)),
+                List.of(imported));
+        when(bulkImporter.importAll(requests)).thenReturn(result);
 
-        // Mock bean validator to return no violations
-        when(beanValidator.validate(any(FxDealRequest.class)))
-                .thenReturn(Collections.emptySet());
+        // When
+        List<FxDeal> results = service.importDeals(requests);
 
-        when(repository.existsByDealUniqueId(anyString())).thenReturn(false);
-        when(repository.save(any(FxDeal.class))).thenAnswer(i -> {
-            FxDeal deal = i.getArgument(0);
-            deal.setId(1L);
-            return deal;
+        // Then
+        assertEquals(List.of(imported), results);
+        verify(bulkImporter).importAll(requests);
+        verify(repository, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void bulkImport_ReturnsPerDealOutcomes() {
+        // Given
+        List<FxDealRequest> requests = List.of(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        BulkImportResult result = new BulkImportResult(
+                List.of(outcome(0, "DEAL-001", DealOutcome.Status.ACCEPTED),
+                        outcome(1, "DEAL-002", DealOutcome.Status.INVALID)),
+                List.of(createDeal("DEAL-001")));
+        when(bulkImporter.importAll(requests)).thenReturn(result);
+
+        // When
+        BulkImportResult actual = service.bulkImport(requests);
+
+        // Then
+        assertEquals(2, actual.getTotal());
+        assertEquals(1, actual.getAccepted());
+        assertEquals(1, actual.getInvalid());
+        assertEquals(0, actual.getDuplicates());
+    }
+
+    @Test
+    void bulkImportReport_KeepsRejectionsAndOptionallyAcceptedIds() {
+        // Given
+        List<FxDealRequest> requests = List.of(createRequest("DEAL-001"), createRequest("DEAL-002"));
+        doAnswer(invocation -> {
+            DealOutcomeListener listener = invocation.getArgument(1);
+            listener.onOutcome(outcome(0, "DEAL-001", DealOutcome.Status.ACCEPTED), createDeal("DEAL-001"));
+            listener.onOutcome(outcome(1, "DEAL-002", DealOutcome.Status.DUPLICATE), null);
+            return null;
+        }).when(bulkImporter).importAll(any(Iterator.class), any(DealOutcomeListener.class));
+
+        // When
+        BulkImportReport report = service.bulkImportReport(requests, true);
+
+        // Then
+        assertEquals(2, report.getSummary().getTotal());
+        assertEquals(1, report.getSummary().getAccepted());
+        assertEquals(1, report.getSummary().getDuplicates());
+        assertEquals(List.of("DEAL-002"), report.getRejected().stream().map(DealOutcome::getDealUniqueId).toList());
+        assertEquals(List.of("DEAL-001"), report.getAcceptedIds());
+        verify(bulkImporter, never()).importAll(requests);
+    }
+
+    @Test
+    void copyImport_StreamsRequestsToCopyImporter() {
+        // Given
+        byte[] body = "[{\"dealUniqueId\":\"DEAL-001\"},{\"dealUniqueId\":\"DEAL-002\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+        CopyImportResult expected = CopyImportResult.builder()
+                .total(2).inserted(1).duplicates(1).invalid(0).rejected(List.of())
+                .build();
+        List<String> streamed = new ArrayList<>();
+        when(copyImporter.importAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterator<FxDealRequest>>getArgument(0)
+                    .forEachRemaining(request -> streamed.add(request.getDealUniqueId()));
+            return expected;
         });
-        doNothing().when(validator).validate(any());
 
         // When
-        List<FxDeal> results = service.importDeals(requests);
+        CopyImportResult result = service.copyImport(new ByteArrayInputStream(body));
+
+        // Then
+        assertEquals(expected, result);
+        assertEquals(List.of("DEAL-001", "DEAL-002"), streamed);
+        verify(bulkImporter, never()).importAll(any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void copyImport_UnreadableDealReportsBindingError() {
+        // Given
+        byte[] body = "[{\"dealUniqueId\":\"DEAL-001\"},{\"dealAmount\":\"not a number\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+        when(copyImporter.importAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterator<FxDealRequest>>getArgument(0).forEachRemaining(request -> { });
+            return CopyImportResult.builder()
+                    .total(2).inserted(1).duplicates(0).invalid(1)
+                    .rejected(List.of(DealOutcome.builder()
+                            .index(1).status(DealOutcome.Status.INVALID).reason("Deal is null").build()))
+                    .build();
+        });
+
+        // When
+        CopyImportResult result = service.copyImport(new ByteArrayInputStream(body));
 
         // Then
-        assertEquals(1, results.size());
-        verify(repository).save(any(FxDeal.class));
-        verify(beanValidator).validate(any(FxDealRequest.class));
+        assertTrue(result.getRejected().get(0).getReason().startsWith("Unreadable deal"));
+    }
+
+    @Test
+    void importNdjsonStream_FailedMiddleChunk_NoCheckpointPastIt() {
+        // Given - three one-line chunks, the second does not commit
+        byte[] body = "{\"dealUniqueId\":\"DEAL-001\"}\n{\"dealUniqueId\":\"DEAL-002\"}\n{\"dealUniqueId\":\"DEAL-003\"}\n"
+                .getBytes(StandardCharsets.UTF_8);
+        doAnswer(invocation -> {
+            Iterator<FxDealRequest> requests = invocation.getArgument(0);
+            DealOutcomeListener listener = invocation.getArgument(1);
+            for (int index = 0; requests.hasNext(); index++) {
+                FxDealRequest request = requests.next();
+                boolean committed = index != 1;
+                listener.onOutcome(DealOutcome.builder()
+                        .index(index)
+                        .dealUniqueId(request.getDealUniqueId())
+                        .status(committed ? DealOutcome.Status.ACCEPTED : DealOutcome.Status.FAILED)
+                        .build(), null);
+                if (committed) {
+                    listener.onChunkCompleted();
+                } else {
+                    listener.onChunkRolledBack();
+                }
+            }
+            return null;
+        }).when(bulkImporter).importAll(any(), any(), eq(1));
+        List<String> events = new ArrayList<>();
+
+        // When
+        BulkImportSummary summary = service.importNdjsonStream(new ByteArrayInputStream(body), 0, 1,
+                new DealOutcomeListener() {
+                    @Override
+                    public void onOutcome(DealOutcome outcome, FxDeal importedDeal) {
+                        events.add(outcome.getLine() + ":" + outcome.getStatus());
+                    }
+
+                    @Override
+                    public void onChunkCompleted() {
+                        events.add("checkpoint");
+                    }
+
+                    @Override
+                    public void onChunkRolledBack() {
+                        events.add("rollback");
+                    }
+                });
+
+        // Then
+        assertEquals(List.of("1:ACCEPTED", "checkpoint", "2:FAILED", "rollback", "3:ACCEPTED"), events);
+        assertEquals(1L, summary.getLastCommittedLine());
+        assertEquals(2, summary.getAccepted());
+        assertEquals(1, summary.getFailed());
+    }
+
+    private FxDealRequest createRequest(String dealId) {
+        return FxDealRequest.builder()
+                .dealUniqueId(dealId)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now())
+                .dealAmount(new BigDecimal("1000.00"))
+                .build();
+    }
+
+    private DealOutcome outcome(int index, String dealId, DealOutcome.Status status) {
+        return DealOutcome.builder().index(index).dealUniqueId(dealId).status(status).build();
     }
 
     private FxDeal createDeal(String dealId) {
@@ -408,4 +587,4 @@ class FxDealServiceImplTest {
                 .dealAmount(new BigDecimal("1000.00"))
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,252 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealHotStoreProperties;
+import amine.elh.fxdealwarehouse.dto.DealCursor;
+import amine.elh.fxdealwarehouse.dto.DealQuery;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket;
+import amine.elh.fxdealwarehouse.dto.VolumeBucket.Granularity;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.repository.FxDealRepository;
+import amine.elh.fxdealwarehouse.service.HotDealStore;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotDealStoreTest {
+
+    @Mock
+    private FxDealRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FxDealHotStoreProperties properties;
+
+    private HotDealStore store;
+
+    private final LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(2);
+
+    @BeforeEach
+    void setUp() {
+        properties = new FxDealHotStoreProperties();
+        properties.setEnabled(true);
+        store = new HotDealStore(repository, entityManager, transactionManager, properties);
+    }
+
+    @Test
+    void maintain_Disabled_DoesNotTouchDatabase() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        store.maintain();
+        store.add(deal(1, "USD", "EUR", hour, "10.00"));
+
+        // Then
+        verifyNoInteractions(repository);
+        assertEquals(Optional.empty(), store.findPage(query(null, null, hour), null, 10));
+    }
+
+    @Test
+    void findPage_BeforeLoad_LeftToDatabase() {
+        // When
+        Optional<List<FxDeal>> page = store.findPage(query(null, null, hour), null, 10);
+
+        // Then
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    void findPage_LoadedAndAddedDeals_InTimestampAndIdOrder() {
+        // Given
+        FxDeal loaded = deal(5, "USD", "EUR", hour.plusMinutes(30), "100.00");
+        when(repository.streamNewestSince(any())).thenReturn(Stream.of(loaded));
+        store.maintain();
+        FxDeal sameTimestamp = deal(3, "USD", "EUR", hour.plusMinutes(30), "200.00");
+        FxDeal earlier = deal(9, "USD", "EUR", hour.plusMinutes(10), "300.00");
+        FxDeal otherPair = deal(7, "GBP", "JPY", hour.plusMinutes(20), "400.00");
+        store.add(sameTimestamp);
+        store.add(earlier);
+        store.add(otherPair);
+
+        // When
+        List<FxDeal> page = store.findPage(query("USD", "EUR", hour), null, 10).orElseThrow();
+
+        // Then
+        assertEquals(List.of(9L, 3L, 5L), page.stream().map(FxDeal::getId).toList());
+        assertEquals(new BigDecimal("300.0000"), page.get(0).getDealAmount());
+        assertEquals("USD", page.get(0).getFromCurrencyIsoCode());
+        assertEquals(hour.plusMinutes(10), page.get(0).getDealTimestamp());
+        verify(entityManager).detach(loaded);
+    }
+
+    @Test
+    void findPage_WithCursorAndLimit_ReturnsNextDealsOnly() {
+        // Given
+        load();
+        for (long id = 1; id <= 5; id++) {
+            store.add(deal(id, "USD", "EUR", hour.plusMinutes(id), "10.00"));
+        }
+        DealCursor cursor = new DealCursor(hour.plusMinutes(2), 2);
+
+        // When
+        List<FxDeal> page = store.findPage(query(null, null, hour), cursor, 2).orElseThrow();
+
+        // Then
+        assertEquals(List.of(3L, 4L), page.stream().map(FxDeal::getId).toList());
+    }
+
+    @Test
+    void findPage_WindowStartsBeforeStore_LeftToDatabase() {
+        // Given
+        load();
+
+        // When
+        Optional<List<FxDeal>> page = store.findPage(query(null, null, LocalDateTime.now().minusDays(2)), null, 10);
+
+        // Then
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    void evictBefore_DropsOlderDealsAndNarrowsWindow() {
+        // Given
+        load();
+        store.add(deal(1, "USD", "EUR", hour, "10.00"));
+        store.add(deal(2, "USD", "EUR", hour.plusHours(1), "10.00"));
+
+        // When
+        store.evictBefore(hour.plusMinutes(30));
+
+        // Then
+        assertEquals(1, store.size());
+        assertTrue(store.findPage(query(null, null, hour), null, 10).isEmpty());
+        assertEquals(1, store.findPage(query(null, null, hour.plusMinutes(30)), null, 10).orElseThrow().size());
+    }
+
+    @Test
+    void add_DealOlderThanWindow_LeftToDatabase() {
+        // Given
+        load();
+
+        // When
+        store.add(deal(1, "USD", "EUR", LocalDateTime.now().minusDays(3), "10.00"));
+
+        // Then
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void add_StoreFull_DropsOldestDeals() {
+        // Given
+        properties.setMaxDeals(10);
+        store = new HotDealStore(repository, entityManager, transactionManager, properties);
+        load();
+        for (long id = 1; id <= 10; id++) {
+            store.add(deal(id, "USD", "EUR", hour.plusMinutes(id), "10.00"));
+        }
+
+        // When
+        store.add(deal(11, "USD", "EUR", hour.plusMinutes(11), "10.00"));
+
+        // Then
+        assertEquals(10, store.size());
+        assertTrue(store.findPage(query(null, null, hour.plusMinutes(1)), null, 20).isEmpty());
+        assertEquals(10, store.findPage(query(null, null, hour.plusMinutes(2)), null, 20).orElseThrow().size());
+    }
+
+    @Test
+    void findVolume_AggregatesPerBucketAndPair() {
+        // Given
+        load();
+        store.add(deal(1, "USD", "EUR", hour.plusMinutes(5), "100.00"));
+        store.add(deal(2, "USD", "EUR", hour.plusMinutes(50), "300.00"));
+        store.add(deal(3, "GBP", "JPY", hour.plusMinutes(15), "999999999999999.9999"));
+        store.add(deal(4, "USD", "EUR", hour.plusHours(1), "50.00"));
+
+        // When
+        List<VolumeBucket> volume = store.findVolume(Granularity.HOUR, null, null, hour, hour.plusHours(2))
+                .orElseThrow();
+
+        // Then
+        assertEquals(List.of(
+                new VolumeBucket("GBP", "JPY", hour, 1, new BigDecimal("999999999999999.9999"),
+                        new BigDecimal("999999999999999.9999"), new BigDecimal("999999999999999.9999")),
+                new VolumeBucket("USD", "EUR", hour, 2, new BigDecimal("400.0000"),
+                        new BigDecimal("100.0000"), new BigDecimal("300.0000")),
+                new VolumeBucket("USD", "EUR", hour.plusHours(1), 1, new BigDecimal("50.0000"),
+                        new BigDecimal("50.0000"), new BigDecimal("50.0000"))), volume);
+    }
+
+    @Test
+    void markStale_DealsWrittenAroundStore_ReloadedOnNextMaintenance() {
+        // Given
+        load();
+        store.add(deal(1, "USD", "EUR", hour, "10.00"));
+
+        // When
+        store.markStale(hour);
+
+        // Then
+        assertFalse(store.isReady());
+        assertTrue(store.findPage(query(null, null, hour), null, 10).isEmpty());
+        store.maintain();
+        assertTrue(store.isReady());
+        verify(repository, times(2)).streamNewestSince(any());
+    }
+
+    @Test
+    void maintain_LoadFails_StaysOnDatabase() {
+        // Given
+        when(repository.streamNewestSince(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        store.maintain();
+
+        // Then
+        assertFalse(store.isReady());
+        store.add(deal(1, "USD", "EUR", hour, "10.00"));
+        assertEquals(0, store.size());
+    }
+
+    private void load() {
+        when(repository.streamNewestSince(any())).thenAnswer(i -> Stream.empty());
+        store.maintain();
+    }
+
+    private static DealQuery query(String from, String to, LocalDateTime start) {
+        return DealQuery.builder().fromCurrencyIsoCode(from).toCurrencyIsoCode(to).start(start).build();
+    }
+
+    private static FxDeal deal(long id, String from, String to, LocalDateTime timestamp, String amount) {
+        return FxDeal.builder()
+                .id(id)
+                .dealUniqueId("DEAL-" + id)
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(timestamp)
+                .dealAmount(new BigDecimal(amount))
+                .importedAt(timestamp)
+                .build();
+    }
+}
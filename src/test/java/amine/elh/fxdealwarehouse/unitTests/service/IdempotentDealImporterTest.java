@@ -0,0 +1,207 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealIdempotencyProperties;
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.exception.DuplicateDealException;
+import amine.elh.fxdealwarehouse.exception.IdempotencyKeyReusedException;
+import amine.elh.fxdealwarehouse.exception.InvalidIdempotencyKeyException;
+import amine.elh.fxdealwarehouse.model.FxDeal;
+import amine.elh.fxdealwarehouse.model.IdempotencyKey;
+import amine.elh.fxdealwarehouse.repository.IdempotencyKeyRepository;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import amine.elh.fxdealwarehouse.service.IdempotentDealImporter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentDealImporterTest {
+
+    @Mock
+    private FxDealService fxDealService;
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private IdempotentDealImporter importer;
+
+    private FxDealRequest request;
+
+    private FxDeal deal;
+
+    @BeforeEach
+    void setUp() {
+        importer = new IdempotentDealImporter(fxDealService, repository, new FxDealIdempotencyProperties());
+        request = request("1000.50");
+        deal = FxDeal.builder()
+                .id(1L)
+                .dealUniqueId("DEAL-001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(request.getDealTimestamp())
+                .dealAmount(request.getDealAmount())
+                .build();
+    }
+
+    @Test
+    void importDeal_NewKey_ImportsDealWithKey() {
+        // Given
+        when(repository.findById("key-1")).thenReturn(Optional.empty());
+        when(fxDealService.importDeal(eq(request), eq("key-1"), any())).thenReturn(deal);
+
+        // When
+        IdempotentDealImporter.Result result = importer.importDeal("key-1", request);
+
+        // Then
+        assertSame(deal, result.deal());
+        assertFalse(result.replayed());
+    }
+
+    @Test
+    void importDeal_RetryWithSameDeal_ReplayedFromMemory() {
+        // Given
+        when(repository.findById("key-1")).thenReturn(Optional.empty());
+        when(fxDealService.importDeal(eq(request), eq("key-1"), any())).thenReturn(deal);
+        importer.importDeal("key-1", request);
+
+        // When
+        IdempotentDealImporter.Result result = importer.importDeal("key-1", request("1000.5"));
+
+        // Then
+        assertSame(deal, result.deal());
+        assertTrue(result.replayed());
+        verify(fxDealService, times(1)).importDeal(any(), any(), any());
+        verify(repository, times(1)).findById("key-1");
+    }
+
+    @Test
+    void importDeal_RetryAfterRestart_ReplayedFromTable() {
+        // Given
+        ArgumentCaptor<byte[]> hash = ArgumentCaptor.forClass(byte[].class);
+        when(repository.findById("key-1")).thenReturn(Optional.empty());
+        when(fxDealService.importDeal(eq(request), eq("key-1"), hash.capture())).thenReturn(deal);
+        importer.importDeal("key-1", request);
+        IdempotentDealImporter restarted =
+                new IdempotentDealImporter(fxDealService, repository, new FxDealIdempotencyProperties());
+        when(repository.findById("key-1"))
+                .thenReturn(Optional.of(new IdempotencyKey("key-1", hash.getValue(), LocalDateTime.now())));
+        when(fxDealService.getDeal("DEAL-001")).thenReturn(deal);
+
+        // When
+        IdempotentDealImporter.Result result = restarted.importDeal("key-1", request);
+
+        // Then
+        assertSame(deal, result.deal());
+        assertTrue(result.replayed());
+        verify(fxDealService, times(1)).importDeal(any(), any(), any());
+    }
+
+    @Test
+    void importDeal_KeyReusedForOtherDeal_Rejected() {
+        // Given
+        when(repository.findById("key-1")).thenReturn(Optional.empty());
+        when(fxDealService.importDeal(eq(request), eq("key-1"), any())).thenReturn(deal);
+        importer.importDeal("key-1", request);
+
+        // When & Then
+        assertThrows(IdempotencyKeyReusedException.class, () -> importer.importDeal("key-1", request("99.00")));
+        verify(fxDealService, times(1)).importDeal(any(), any(), any());
+    }
+
+    @Test
+    void importDeal_ConcurrentRetryWonRace_Replayed() {
+        // Given
+        ArgumentCaptor<byte[]> hash = ArgumentCaptor.forClass(byte[].class);
+        when(fxDealService.importDeal(eq(request), eq("key-1"), hash.capture()))
+                .thenThrow(new DuplicateDealException("Deal with ID DEAL-001 already exists"));
+        when(repository.findById("key-1")).thenAnswer(i -> hash.getAllValues().isEmpty()
+                ? Optional.empty()
+                : Optional.of(new IdempotencyKey("key-1", hash.getValue(), LocalDateTime.now())));
+        when(fxDealService.getDeal("DEAL-001")).thenReturn(deal);
+
+        // When
+        IdempotentDealImporter.Result result = importer.importDeal("key-1", request);
+
+        // Then
+        assertSame(deal, result.deal());
+        assertTrue(result.replayed());
+    }
+
+    @Test
+    void importDeal_DuplicateWithoutKey_StillConflict() {
+        // Given
+        when(repository.findById("key-2")).thenReturn(Optional.empty());
+        when(fxDealService.importDeal(eq(request), eq("key-2"), any()))
+                .thenThrow(new DuplicateDealException("Deal with ID DEAL-001 already exists"));
+
+        // When & Then
+        assertThrows(DuplicateDealException.class, () -> importer.importDeal("key-2", request));
+    }
+
+    @Test
+    void importDeal_BlankOrOversizedKey_Rejected() {
+        // When & Then
+        assertThrows(InvalidIdempotencyKeyException.class, () -> importer.importDeal(" ", request));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> importer.importDeal("k".repeat(IdempotentDealImporter.MAX_KEY_LENGTH + 1), request));
+        verifyNoInteractions(fxDealService, repository);
+    }
+
+    @Test
+    void bindTo_CountsCreatedReplayedAndRejected() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        importer.bindTo(registry);
+        when(repository.findById("key-1")).thenReturn(Optional.empty());
+        when(fxDealService.importDeal(eq(request), eq("key-1"), any())).thenReturn(deal);
+
+        // When
+        importer.importDeal("key-1", request);
+        importer.importDeal("key-1", request);
+        assertThrows(IdempotencyKeyReusedException.class, () -> importer.importDeal("key-1", request("1.00")));
+
+        // Then
+        assertEquals(1.0, registry.get("fxdeal.idempotency.requests").tag("result", "created").functionCounter().count());
+        assertEquals(1.0, registry.get("fxdeal.idempotency.requests").tag("result", "replayed").functionCounter().count());
+        assertEquals(1.0, registry.get("fxdeal.idempotency.requests").tag("result", "rejected").functionCounter().count());
+        assertEquals(2.0, registry.get("fxdeal.idempotency.cache.lookups").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void purgeExpired_DeletesKeysOlderThanRetention() {
+        // Given
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+        // When
+        importer.purgeExpired();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteCreatedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    private static FxDealRequest request(String amount) {
+        return FxDealRequest.builder()
+                .dealUniqueId("DEAL-001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.of(2024, 1, 10, 9, 30))
+                .dealAmount(new BigDecimal(amount))
+                .build();
+    }
+}
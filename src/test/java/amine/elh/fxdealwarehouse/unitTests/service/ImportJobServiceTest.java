@@ -0,0 +1,114 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealImportProperties;
+import amine.elh.fxdealwarehouse.config.FxDealJobProperties;
+import amine.elh.fxdealwarehouse.dto.BulkImportSummary;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.model.ImportJob;
+import amine.elh.fxdealwarehouse.repository.ImportJobRepository;
+import amine.elh.fxdealwarehouse.service.DealOutcomeListener;
+import amine.elh.fxdealwarehouse.service.FxDealService;
+import amine.elh.fxdealwarehouse.service.ImportJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository jobRepository;
+
+    @Mock
+    private FxDealService fxDealService;
+
+    @TempDir
+    private Path spoolDir;
+
+    private ImportJobService service;
+
+    @BeforeEach
+    void setUp() {
+        FxDealJobProperties jobProperties = new FxDealJobProperties();
+        jobProperties.setSpoolDir(spoolDir.toString());
+        jobProperties.setWorkers(1);
+        service = new ImportJobService(jobRepository, fxDealService, new ObjectMapper(),
+                new FxDealImportProperties(), jobProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void chunkThatDoesNotCommit_FailsJobAtLastCommittedChunk() throws IOException {
+        // Given - lines 1-2 commit, lines 3-4 roll back, lines 5-6 would commit
+        Path spoolFile = Files.writeString(spoolDir.resolve("job.ndjson"), "{}\n".repeat(6));
+        ImportJob job = ImportJob.builder()
+                .id("job")
+                .status(ImportJob.Status.QUEUED)
+                .spoolFile(spoolFile.toString())
+                .total(6)
+                .submittedAt(LocalDateTime.now())
+                .build();
+        when(jobRepository.findFirstByStatusOrderBySubmittedAtAsc(ImportJob.Status.QUEUED))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(jobRepository.save(any(ImportJob.class))).thenAnswer(i -> i.getArgument(0));
+        when(fxDealService.importNdjsonStream(any(), eq(0L), anyInt(), any())).thenAnswer(i -> {
+            DealOutcomeListener listener = i.getArgument(3);
+            listener.onOutcome(outcome(1, DealOutcome.Status.ACCEPTED, null), null);
+            listener.onOutcome(outcome(2, DealOutcome.Status.DUPLICATE, null), null);
+            listener.onChunkCompleted();
+            listener.onOutcome(outcome(3, DealOutcome.Status.FAILED, "connection refused"), null);
+            listener.onOutcome(outcome(4, DealOutcome.Status.FAILED, "connection refused"), null);
+            listener.onChunkRolledBack();
+            listener.onOutcome(outcome(5, DealOutcome.Status.ACCEPTED, null), null);
+            listener.onOutcome(outcome(6, DealOutcome.Status.ACCEPTED, null), null);
+            listener.onChunkCompleted();
+            return new BulkImportSummary();
+        });
+
+        // When
+        service.resumeInterrupted();
+
+        // Then
+        verify(jobRepository, timeout(5000).atLeastOnce()).save(argThat(saved -> saved.getFinishedAt() != null));
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertEquals(2, job.getLastCommittedLine());
+        assertEquals(2, job.getProcessed());
+        assertEquals(1, job.getAccepted());
+        assertEquals(1, job.getDuplicates());
+        assertEquals(0, job.getFailed());
+        assertTrue(job.getError().contains("connection refused"));
+        assertTrue(Files.exists(spoolFile));
+    }
+
+    private static DealOutcome outcome(long line, DealOutcome.Status status, String reason) {
+        return DealOutcome.builder()
+                .index((int) line - 1)
+                .line(line)
+                .dealUniqueId("DEAL-" + line)
+                .status(status)
+                .reason(reason)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package amine.elh.fxdealwarehouse.unitTests.service;
+
+import amine.elh.fxdealwarehouse.config.FxDealLoggingProperties;
+import amine.elh.fxdealwarehouse.dto.DealOutcome;
+import amine.elh.fxdealwarehouse.service.SampledDealLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledDealLogTest {
+
+    @Test
+    void drainSummary_CountsEveryOutcomeWhateverTheSampling() {
+        // Given
+        FxDealLoggingProperties properties = new FxDealLoggingProperties();
+        properties.setSampleEvery(1000);
+        SampledDealLog dealLog = new SampledDealLog(properties);
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            dealLog.outcome(DealOutcome.Status.ACCEPTED, "DEAL-" + i);
+        }
+        dealLog.outcome(DealOutcome.Status.DUPLICATE, "DEAL-0");
+        dealLog.outcome(DealOutcome.Status.INVALID, "DEAL-X");
+
+        // Then
+        assertEquals("Single-deal imports since last summary: 7/9 imported "
+                + "(duplicates: 1, invalid: 1, failed: 0)", dealLog.drainSummary());
+    }
+
+    @Test
+    void drainSummary_ResetsCountsAndStaysQuietWhenIdle() {
+        // Given
+        SampledDealLog dealLog = new SampledDealLog(new FxDealLoggingProperties());
+        dealLog.outcome(DealOutcome.Status.ACCEPTED, "DEAL-001");
+
+        // When
+        dealLog.drainSummary();
+
+        // Then
+        assertNull(dealLog.drainSummary());
+    }
+}
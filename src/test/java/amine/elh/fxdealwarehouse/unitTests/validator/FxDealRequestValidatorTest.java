@@ -0,0 +1,129 @@
+package amine.elh.fxdealwarehouse.unitTests.validator;
+
+import amine.elh.fxdealwarehouse.dto.FxDealRequest;
+import amine.elh.fxdealwarehouse.metrics.DealImportMetrics;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
+import amine.elh.fxdealwarehouse.validator.FxDealRequestValidator;
+import amine.elh.fxdealwarehouse.validator.FxDealValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxDealRequestValidatorTest {
+
+    private static final List<String> DEAL_IDS = Arrays.asList(
+            null, "", "   ", " \t", "DEAL-001", "x".repeat(100), "x".repeat(101), " ".repeat(101));
+
+    private static final List<String> CURRENCIES = Arrays.asList(
+            null, "", " ", "USD", "XXX", "usd", "US", "USDD", "U1D", "ÄBC", "ABC\n", " USD");
+
+    private static final List<LocalDateTime> TIMESTAMPS = Arrays.asList(
+            null, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+
+    private static final List<BigDecimal> AMOUNTS = Arrays.asList(
+            null, BigDecimal.ZERO, new BigDecimal("-5"), new BigDecimal("0.0001"), new BigDecimal("0.00009"),
+            new BigDecimal("0.00010"), new BigDecimal("1000.50"), new BigDecimal("1E+15"), new BigDecimal("1E+14"),
+            new BigDecimal("999999999999999.9999"), new BigDecimal("1234567890123456"));
+
+    private static ValidatorFactory validatorFactory;
+
+    private static Validator beanValidator;
+
+    private FxDealRequestValidator validator;
+
+    @BeforeAll
+    static void startBeanValidation() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void stopBeanValidation() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        FxDealValidator businessValidator = new FxDealValidator();
+        validator = new FxDealRequestValidator(businessValidator,
+                new DealImportMetrics(new SimpleMeterRegistry(), businessValidator));
+    }
+
+    @Test
+    void constraintViolations_MatchBeanValidationAnnotations() {
+        for (String dealId : DEAL_IDS) {
+            for (String currency : CURRENCIES) {
+                for (LocalDateTime timestamp : TIMESTAMPS) {
+                    for (BigDecimal amount : AMOUNTS) {
+                        assertSameAsAnnotations(new FxDealRequest(dealId, currency, "EUR", timestamp, amount));
+                        assertSameAsAnnotations(new FxDealRequest(dealId, "EUR", currency, timestamp, amount));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectionReason_ValidDeal_ReturnsNull() {
+        assertNull(validator.rejectionReason(request("USD", "EUR", new BigDecimal("1000.50"))));
+    }
+
+    @Test
+    void rejectionReason_ConstraintViolations_JoinedInMessageOrder() {
+        // Given
+        FxDealRequest request = request("us", "EUR", new BigDecimal("0.00001"));
+
+        // When
+        String reason = validator.rejectionReason(request);
+
+        // Then
+        assertEquals("Deal amount format is invalid, Deal amount must be positive, "
+                + "From currency must be a valid 3-letter ISO code", reason);
+    }
+
+    @Test
+    void rejectionReason_ConstraintsHold_ReportsFirstBusinessRule() {
+        assertEquals("Invalid from currency code: XXX",
+                validator.rejectionReason(request("XXX", "YYY", BigDecimal.TEN)));
+        assertEquals("From and to currencies must be different",
+                validator.rejectionReason(request("USD", "USD", BigDecimal.TEN)));
+    }
+
+    @Test
+    void rejectionReason_NullRequest_Rejected() {
+        assertEquals("Deal is null", validator.rejectionReason(null));
+    }
+
+    private void assertSameAsAnnotations(FxDealRequest request) {
+        String expected = beanValidator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        assertEquals(expected, DealValidationError.describe(validator.constraintViolations(request), request),
+                () -> "Different result for " + request);
+    }
+
+    private static FxDealRequest request(String from, String to, BigDecimal amount) {
+        return FxDealRequest.builder()
+                .dealUniqueId("DEAL-001")
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(LocalDateTime.now().minusHours(1))
+                .dealAmount(amount)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package amine.elh.fxdealwarehouse.unitTests.validator;
 
 import amine.elh.fxdealwarehouse.dto.FxDealRequest;
 import amine.elh.fxdealwarehouse.exception.InvalidDealException;
+import amine.elh.fxdealwarehouse.validator.DealValidationError;
 import amine.elh.fxdealwarehouse.validator.FxDealValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -179,6 +181,39 @@ class FxDealValidatorTest {
         }
     }
 
+    @Test
+    void check_ReturnsErrorCodesInsteadOfThrowing() {
+        assertNull(validator.check(createValidRequest("USD", "EUR")));
+        assertEquals(DealValidationError.FROM_CURRENCY_UNSUPPORTED, validator.check(createValidRequest("XXX", "YYY")));
+        assertEquals(DealValidationError.TO_CURRENCY_UNSUPPORTED, validator.check(createValidRequest("USD", "usd")));
+        assertEquals(DealValidationError.SAME_CURRENCY, validator.check(createValidRequest("EUR", "EUR")));
+    }
+
+    @Test
+    void isSupportedCurrency_MatchesCurrencyListForEveryThreeLetterCode() {
+        // Given
+        Set<String> supported = Set.of(
+                "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD",
+                "SEK", "NOK", "DKK", "PLN", "CZK", "HUF", "RON", "BGN",
+                "TRY", "RUB", "INR", "CNY", "HKD", "SGD", "KRW", "THB",
+                "MYR", "IDR", "PHP", "MXN", "BRL", "ARS", "CLP", "COP",
+                "ZAR", "SAR", "AED", "ILS", "EGP", "NGN", "KES");
+
+        // When & Then
+        for (char a = 'A'; a <= 'Z'; a++) {
+            for (char b = 'A'; b <= 'Z'; b++) {
+                for (char c = 'A'; c <= 'Z'; c++) {
+                    String code = new String(new char[]{a, b, c});
+                    assertEquals(supported.contains(code), validator.isSupportedCurrency(code), code);
+                }
+            }
+        }
+        assertFalse(validator.isSupportedCurrency(null));
+        assertFalse(validator.isSupportedCurrency("usd"));
+        assertFalse(validator.isSupportedCurrency("USDD"));
+        assertFalse(validator.isSupportedCurrency("U[D"));
+    }
+
     private FxDealRequest createValidRequest(String fromCurrency, String toCurrency) {
         FxDealRequest request = new FxDealRequest();
         request.setDealUniqueId("DEAL-001");